@@ -0,0 +1,129 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.repository.EmployeeRepository;
+import com.company.calendar.repository.RevokedTokenRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 已認證請求路徑的基準測試
+ * <p>
+ * {@code legacyFilterPath} 重現原本過濾器對每個請求所做的工作：兩次重建金鑰並驗證簽章，
+ * 再以用戶名載入用戶詳情。這裡以記憶體查找代替資料庫查詢，因此只是舊路徑的成本下限。
+ * {@code accessTokenPath} 量測短效存取令牌經 {@link AuthServiceImpl#getPrincipalFromToken} 還原身分，
+ * {@code accessTokenFirstUse} 則停用驗證快取，代表每個新存取令牌第一次出現時的成本。
+ * 兩條新路徑在穩定狀態下都不接觸資料庫，替身儲存庫只在載入時被呼叫。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticatedPathBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyNeedsToBeAtLeast32BytesLong";
+
+    private String legacyToken;
+    private String accessToken;
+    private UserDetails legacyUser;
+    private AuthServiceImpl cachedAuthService;
+    private AuthServiceImpl uncachedAuthService;
+
+    @Setup
+    public void setUp() {
+        Employee employee = new Employee("alice", "x", "Alice", "alice@example.com", "Finance", SecurityLevel.LEVEL_2);
+        employee.setId(42L);
+        EmployeeRepository employeeRepository = stub(EmployeeRepository.class, method -> switch (method) {
+            case "findByUsername" -> Optional.of(employee);
+            case "findActiveTokenVersion" -> Optional.of(employee.getTokenVersion());
+            default -> throw new UnsupportedOperationException(method);
+        });
+        RevokedTokenRepository revokedTokenRepository = stub(RevokedTokenRepository.class, method -> switch (method) {
+            case "findUnexpiredTokenIds" -> Collections.emptyList();
+            case "existsById" -> false;
+            default -> throw new UnsupportedOperationException(method);
+        });
+
+        cachedAuthService = authService(employeeRepository, revokedTokenRepository, new TokenVerifier(SECRET, 10000));
+        uncachedAuthService = authService(employeeRepository, revokedTokenRepository, new TokenVerifier(SECRET, 0));
+        accessToken = cachedAuthService.createToken("alice");
+
+        ReflectionTestUtils.setField(cachedAuthService, "jwtExpirationMs", 86_400_000L);
+        legacyToken = cachedAuthService.createToken("alice");
+        ReflectionTestUtils.setField(cachedAuthService, "jwtExpirationMs", 900_000L);
+        legacyUser = User.withUsername("alice").password("x").authorities("ROLE_LEVEL_2").build();
+    }
+
+    @Benchmark
+    public UserDetails legacyFilterPath() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(legacyToken);
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(legacyToken).getBody();
+        return loadLegacyUser(claims.getSubject());
+    }
+
+    @Benchmark
+    public CalendarPrincipal accessTokenPath() {
+        return cachedAuthService.getPrincipalFromToken(accessToken);
+    }
+
+    @Benchmark
+    public CalendarPrincipal accessTokenFirstUse() {
+        return uncachedAuthService.getPrincipalFromToken(accessToken);
+    }
+
+    private UserDetails loadLegacyUser(String username) {
+        return username.equals(legacyUser.getUsername()) ? User.withUserDetails(legacyUser).build() : null;
+    }
+
+    private static AuthServiceImpl authService(EmployeeRepository employeeRepository,
+                                               RevokedTokenRepository revokedTokenRepository,
+                                               TokenVerifier tokenVerifier) {
+        TokenRevocationStore revocationStore = new TokenRevocationStore(revokedTokenRepository, 100000);
+        revocationStore.load();
+        AuthServiceImpl authService = new AuthServiceImpl(null, null, employeeRepository,
+                new TokenVersionRegistry(employeeRepository), tokenVerifier, revocationStore, null, null);
+        ReflectionTestUtils.setField(authService, "jwtExpirationMs", 900_000L);
+        return authService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Function<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answers.apply(method.getName()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.calendar.service.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT令牌驗證基準測試
+ * <p>
+ * {@code legacyValidateThenParse} 重現過濾器原本的做法：{@code validateToken} 與
+ * {@code getUsernameFromToken} 各自重建金鑰與解析器並各驗證一次簽章。
+ * 另外兩項分別量測 {@link TokenVerifier} 停用快取與快取命中時的單次驗證。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerifierBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyNeedsToBeAtLeast32BytesLong";
+
+    private String token;
+    private TokenVerifier uncached;
+    private TokenVerifier cached;
+
+    @Setup
+    public void setUp() {
+        uncached = new TokenVerifier(SECRET, 0);
+        cached = new TokenVerifier(SECRET, 10000);
+        token = Jwts.builder()
+                    .setSubject("alice")
+                    .claim("eid", 42L)
+                    .claim("lvl", "LEVEL_2")
+                    .claim("dept", "Finance")
+                    .claim("ver", 0)
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                    .signWith(uncached.getSigningKey(), SignatureAlgorithm.HS256)
+                    .compact();
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        return uncached.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return cached.verify(token).getSubject();
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.service.calendar.EventSearchSegment.Document;
+import com.company.calendar.util.SearchTokenizer;
+import com.company.calendar.util.SearchTokenizer.QueryTerm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件全文搜索基準測試
+ * <p>
+ * 以一百萬筆合成的中英文事件建立 {@link EventSearchSegment}，量測罕見詞與常見詞的排序搜索，
+ * 以及常見詞的第一頁分頁搜索。標題由詞表隨機組合，每個詞約出現在5%的標題中。
+ * 事件平均分佈在四個安全等級，查詢者為 LEVEL_3 的員工，約一半的命中可見。
+ * 只量測記憶體中的比對與排序，不含依ID取回事件的資料庫查詢。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EventSearchBenchmark {
+
+    private static final int EVENT_COUNT = 1_000_000;
+
+    private static final String[] WORDS = {
+        "部門", "週會", "預算", "審查", "客戶", "拜訪", "專案", "進度", "教育", "訓練",
+        "面試", "招募", "季度", "報告", "產品", "發表", "系統", "上線", "年度", "規劃",
+        "review", "sync", "planning", "demo", "standup", "retro", "kickoff", "onboarding",
+        "launch", "audit", "workshop", "training", "budget", "hiring", "roadmap", "release",
+        "design", "interview", "offsite", "quarterly"
+    };
+
+    private static final String[] ROOMS = {"大會議室", "小會議室", "三樓訓練教室", "Room 301", "Online"};
+
+    private static final SecurityLevel[] LEVELS = SecurityLevel.values();
+    private static final long VIEWER_ID = 1L;
+
+    private EventSearchSegment segment;
+    private List<QueryTerm> rareTerms;
+    private List<QueryTerm> commonTerms;
+    private List<QueryTerm> twoTerms;
+
+    @Setup
+    public void setUp() {
+        segment = new EventSearchSegment();
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 9, 0);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + WORDS[random.nextInt(WORDS.length)];
+            String description = "討論" + WORDS[random.nextInt(WORDS.length)] + "與"
+                    + WORDS[random.nextInt(WORDS.length)] + "相關事項 #" + i;
+            segment.add(new Document(i + 1L, base.plusMinutes(i * 7L), i % 5000, LEVELS[i % LEVELS.length],
+                                     i % 100 == 0 ? Set.of(VIEWER_ID) : Set.of(), title,
+                                     ROOMS[random.nextInt(ROOMS.length)], description));
+        }
+        rareTerms = SearchTokenizer.queryTerms("面試 招募");
+        commonTerms = SearchTokenizer.queryTerms("會議");
+        twoTerms = SearchTokenizer.queryTerms("專案 進度");
+    }
+
+    @Benchmark
+    public List<Long> rankedRareTerms() {
+        return segment.search(rareTerms, VIEWER_ID, SecurityLevel.LEVEL_3);
+    }
+
+    @Benchmark
+    public List<Long> rankedTwoWords() {
+        return segment.search(twoTerms, VIEWER_ID, SecurityLevel.LEVEL_3);
+    }
+
+    @Benchmark
+    public List<Long> firstPageCommonTerm() {
+        return segment.searchAfter(commonTerms, VIEWER_ID, SecurityLevel.LEVEL_3, null, null, 50);
+    }
+}
@@ -2,6 +2,8 @@ package com.company.calendar;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 行事曆系統主應用程式類
@@ -15,6 +17,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2025-03-24
  */
 @SpringBootApplication
+@EnableScheduling
+@EnableAsync
 public class CalendarApplication {
 
     /**
@@ -0,0 +1,59 @@
+package com.company.calendar.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 條件式GET的指標攔截器
+ * <p>
+ * 對帶有ETag的GET回應計數，依URI樣板與結果（{@code not_modified} 或 {@code full}）分類，
+ * 指標名稱為 {@code http.conditional.get}，兩者相除即為各端點的 304 比例。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class ConditionalGetMetricsInterceptor implements HandlerInterceptor {
+
+    /**
+     * 指標註冊表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 構造函數
+     *
+     * @param meterRegistry 指標註冊表
+     */
+    public ConditionalGetMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!"GET".equals(request.getMethod()) || response.getHeader(HttpHeaders.ETAG) == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        boolean notModified = response.getStatus() == HttpStatus.NOT_MODIFIED.value();
+        Counter.builder("http.conditional.get")
+               .description("帶ETag的GET回應次數")
+               .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+               .tag("result", notModified ? "not_modified" : "full")
+               .register(meterRegistry)
+               .increment();
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.calendar.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 請求執行模式回報
+ * <p>
+ * {@code spring.threads.virtual.enabled} 只在Java 21以上生效，於較舊的Java版本會被靜默忽略。
+ * 啟動時記錄實際使用的執行緒模式與資料庫連線池上限，設定了虛擬執行緒卻未生效時發出警告。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class ExecutionModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeReporter.class);
+
+    /**
+     * 應用程式環境
+     */
+    private final Environment environment;
+
+    /**
+     * 資料來源
+     */
+    private final DataSource dataSource;
+
+    /**
+     * 構造函數
+     *
+     * @param environment 應用程式環境
+     * @param dataSource 資料來源
+     */
+    public ExecutionModeReporter(Environment environment, DataSource dataSource) {
+        this.environment = environment;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 應用程式啟動後記錄執行緒模式
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean active = Threading.VIRTUAL.isActive(environment);
+        if (requested && !active) {
+            logger.warn("已設定虛擬執行緒模式，但目前的Java {} 不支援，仍使用平台執行緒",
+                        Runtime.version().feature());
+        }
+        Object poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : "未知";
+        logger.info("請求執行緒模式：{}，資料庫連線池上限：{}", active ? "虛擬執行緒" : "平台執行緒", poolSize);
+    }
+}
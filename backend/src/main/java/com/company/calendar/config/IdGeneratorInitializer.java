@@ -0,0 +1,101 @@
+package com.company.calendar.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * ID產生器初始化
+ * <p>
+ * 事件與事件查看權限原本使用資料庫自動遞增ID，改為由 id_generators 表配置ID區段以支援批次插入。
+ * 既有資料庫中的ID不會反映在新表中，因此啟動時將各產生器的下一個值推進到現有最大ID之後，
+ * 避免新配置的ID與舊資料衝突。
+ * </p>
+ * <p>
+ * 推進在所有單例建立完成後、內嵌伺服器啟動前執行：此時 EntityManagerFactory 已建立資料表，
+ * 而伺服器尚未接受請求，不會有新增或批次插入在推進前取得尚未對齊的ID。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorInitializer.class);
+
+    /**
+     * 產生器名稱與其對應的資料表，需與實體上的 @TableGenerator 設定一致
+     */
+    private static final Map<String, String> GENERATORS = Map.of(
+            "events", "events",
+            "event_view_permissions", "event_view_permissions");
+
+    /**
+     * 每次配置的ID區段大小，需與實體上的 allocationSize 一致
+     */
+    private static final long ALLOCATION_SIZE = 50;
+
+    /**
+     * JDBC操作工具
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 構造函數
+     *
+     * @param jdbcTemplate JDBC操作工具
+     */
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 所有單例建立完成後、伺服器啟動前推進產生器
+     */
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        alignWithExistingIds();
+    }
+
+    /**
+     * 將各產生器推進到現有最大ID之後
+     */
+    @Transactional
+    public void alignWithExistingIds() {
+        GENERATORS.forEach(this::align);
+    }
+
+    /**
+     * 確保產生器的下一個值足以跳過資料表中的現有ID
+     *
+     * @param generator 產生器名稱
+     * @param table 資料表名稱
+     */
+    void align(String generator, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long floor = maxId + ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update(
+                "UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                floor, generator, floor);
+        if (updated == 0) {
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_generators WHERE sequence_name = ?", Long.class, generator);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)",
+                                    generator, floor);
+                updated = 1;
+            }
+        }
+        if (updated > 0) {
+            logger.info("ID產生器 {} 已推進至 {}", generator, floor);
+        }
+    }
+}
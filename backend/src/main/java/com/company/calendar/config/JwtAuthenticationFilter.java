@@ -1,6 +1,7 @@
 package com.company.calendar.config;
 
 import com.company.calendar.service.auth.AuthService;
+import com.company.calendar.service.auth.CalendarPrincipal;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,19 +12,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 /**
  * JWT認證過濾器
  * <p>
  * 攔截每個HTTP請求，檢查請求頭中是否包含有效的JWT令牌，並設置Spring Security上下文。
+ * 身分直接由令牌聲明還原為 {@link CalendarPrincipal}，不查詢資料庫。
  * </p>
  * 
  * @author YourName
@@ -38,21 +39,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private final ApplicationContext applicationContext;
     
-    /**
-     * 用戶詳情服務
-     */
-    private final UserDetailsService userDetailsService;
-    
     /**
      * 構造函數
      * 
      * @param applicationContext Spring應用上下文
-     * @param userDetailsService 用戶詳情服務
      */
     @Autowired
-    public JwtAuthenticationFilter(ApplicationContext applicationContext, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
-        this.userDetailsService = userDetailsService;
     }
     
     /**
@@ -79,12 +73,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && getAuthService().validateToken(jwt)) {
-                String username = getAuthService().getUsernameFromToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            CalendarPrincipal principal = jwt != null ? getAuthService().getPrincipalFromToken(jwt) : null;
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    principal, null, Collections.emptyList());
                 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
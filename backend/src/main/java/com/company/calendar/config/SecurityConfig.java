@@ -1,6 +1,7 @@
 package com.company.calendar.config;
 
 import com.company.calendar.repository.EmployeeRepository;
+import com.company.calendar.service.auth.UserDetailsCache;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -45,14 +47,21 @@ public class SecurityConfig {
      */
     private final EmployeeRepository employeeRepository;
     
+    /**
+     * 用戶詳情快取
+     */
+    private final UserDetailsCache userDetailsCache;
+    
     /**
      * 構造函數
      * 
      * @param employeeRepository 員工資料庫操作介面
+     * @param userDetailsCache 用戶詳情快取
      */
     @Autowired
-    public SecurityConfig(EmployeeRepository employeeRepository) {
+    public SecurityConfig(EmployeeRepository employeeRepository, UserDetailsCache userDetailsCache) {
         this.employeeRepository = employeeRepository;
+        this.userDetailsCache = userDetailsCache;
     }
     
     /**
@@ -67,16 +76,32 @@ public class SecurityConfig {
     
     /**
      * 創建用戶詳情服務Bean
+     * <p>
+     * 查詢結果經由用戶詳情快取；停用的員工會被標記為不可用而無法登入。
+     * </p>
      * 
      * @return 用戶詳情服務
      */
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> employeeRepository.findByUsername(username)
-            .map(employee -> new org.springframework.security.core.userdetails.User(
-                employee.getUsername(),
-                employee.getPassword(),
-                Collections.emptyList()))
+        return username -> userDetailsCache.get(username, this::loadUserDetails);
+    }
+    
+    /**
+     * 從資料庫載入用戶詳情
+     * 
+     * @param username 用戶名
+     * @return 用戶詳情
+     * @throws UsernameNotFoundException 如果用戶不存在
+     */
+    private UserDetails loadUserDetails(String username) {
+        return employeeRepository.findByUsername(username)
+            .map(employee -> org.springframework.security.core.userdetails.User
+                .withUsername(employee.getUsername())
+                .password(employee.getPassword())
+                .disabled(!employee.isActive())
+                .authorities(Collections.emptyList())
+                .build())
             .orElseThrow(() -> new UsernameNotFoundException("用戶不存在: " + username));
     }
     
@@ -107,6 +132,9 @@ public class SecurityConfig {
     
     /**
      * 配置CORS
+     * <p>
+     * 預檢與回應標頭都由安全過濾鏈的 CorsFilter 依此配置處理，這是唯一的CORS設置。
+     * </p>
      * 
      * @return CORS配置源
      */
@@ -115,8 +143,11 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:8080", "http://localhost:3000", "http://localhost:8081"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        // 更新事件與員工時前端帶 If-Match 做樂觀鎖，跨域的 PUT 預檢須允許該標頭
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With",
+                                                      "If-Match", "If-None-Match"));
+        // 條件式GET回傳的 ETag 須公開，前端才能帶回 If-None-Match 與 If-Match
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
@@ -1,7 +1,7 @@
 package com.company.calendar.config;
 
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,7 +9,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 /**
  * Web配置類
  * <p>
- * 配置Web相關設置，包括前端路由處理、靜態資源處理和CORS設置。
+ * 配置Web相關設置，包括前端路由處理、靜態資源處理和攔截器。CORS由 {@link SecurityConfig} 統一配置。
  * </p>
  * 
  * @author YourName
@@ -19,6 +19,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * 條件式GET的指標攔截器
+     */
+    private final ConditionalGetMetricsInterceptor conditionalGetMetricsInterceptor;
+    
+    /**
+     * 構造函數
+     * 
+     * @param conditionalGetMetricsInterceptor 條件式GET的指標攔截器
+     */
+    public WebConfig(ConditionalGetMetricsInterceptor conditionalGetMetricsInterceptor) {
+        this.conditionalGetMetricsInterceptor = conditionalGetMetricsInterceptor;
+    }
+
     /**
      * 配置視圖控制器
      * <p>
@@ -52,21 +66,12 @@ public class WebConfig implements WebMvcConfigurer {
     }
     
     /**
-     * 配置CORS
-     * <p>
-     * 設置跨域資源共享策略。
-     * </p>
+     * 註冊攔截器
      * 
-     * @param registry CORS註冊器
+     * @param registry 攔截器註冊器
      */
     @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/**")
-                .allowedOrigins("http://localhost:8080", "http://localhost:3000")
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("Authorization", "Content-Type", "X-Requested-With")
-                .exposedHeaders("Authorization")
-                .allowCredentials(true)
-                .maxAge(3600);
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetMetricsInterceptor).addPathPatterns("/api/**");
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.company.calendar.controller;
 
 import com.company.calendar.dto.EmployeeDTO;
 import com.company.calendar.dto.LoginDTO;
+import com.company.calendar.dto.RefreshTokenDTO;
+import com.company.calendar.dto.TokenPairDTO;
 import com.company.calendar.service.auth.AuthService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,7 +47,7 @@ public class AuthController {
      * 處理登入請求
      * 
      * @param loginDTO 登入資料傳輸物件
-     * @return 登入結果，包含用戶信息和JWT令牌
+     * @return 登入結果，包含用戶信息、短效JWT存取令牌和刷新令牌
      */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginDTO loginDTO) {
@@ -55,26 +57,49 @@ public class AuthController {
             return ResponseEntity.badRequest().body("用戶名或密碼錯誤");
         }
         
-        String token = authService.createToken(employee.getUsername());
+        TokenPairDTO tokens = authService.createTokenPair(employee.getUsername());
         
         HttpHeaders headers = new HttpHeaders();
-        headers.add("Authorization", "Bearer " + token);
+        headers.add("Authorization", "Bearer " + tokens.getToken());
         
         Map<String, Object> response = new HashMap<>();
         response.put("employee", employee);
-        response.put("token", token);
+        response.put("token", tokens.getToken());
+        response.put("refreshToken", tokens.getRefreshToken());
+        response.put("expiresIn", tokens.getExpiresIn());
         
         return ResponseEntity.ok().headers(headers).body(response);
     }
     
+    /**
+     * 以刷新令牌換取新的存取令牌
+     * 
+     * @param refreshTokenDTO 刷新令牌資料傳輸物件
+     * @return 新的存取令牌及輪換後的刷新令牌
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenDTO refreshTokenDTO) {
+        TokenPairDTO tokens = authService.refresh(refreshTokenDTO.getRefreshToken());
+        
+        if (tokens == null) {
+            return ResponseEntity.status(401).body("刷新令牌無效");
+        }
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Authorization", "Bearer " + tokens.getToken());
+        
+        return ResponseEntity.ok().headers(headers).body(tokens);
+    }
+    
     /**
      * 處理登出請求
      * 
+     * @param refreshTokenDTO 刷新令牌資料傳輸物件，可省略
      * @return 登出結果
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        authService.logout();
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenDTO refreshTokenDTO) {
+        authService.logout(refreshTokenDTO != null ? refreshTokenDTO.getRefreshToken() : null);
         return ResponseEntity.ok().body("登出成功");
     }
     
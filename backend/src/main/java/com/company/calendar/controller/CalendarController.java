@@ -1,14 +1,25 @@
 package com.company.calendar.controller;
 
+import com.company.calendar.dto.BulkEventResultDTO;
 import com.company.calendar.dto.EventDTO;
+import com.company.calendar.dto.FreeBusyDTO;
+import com.company.calendar.dto.FreeBusyRequestDTO;
+import com.company.calendar.dto.FreeSlotDTO;
+import com.company.calendar.dto.FreeSlotRequestDTO;
 import com.company.calendar.service.auth.AuthService;
+import com.company.calendar.service.auth.CalendarPrincipal;
+import com.company.calendar.service.calendar.CalendarChangeStamps;
 import com.company.calendar.service.calendar.CalendarService;
+import com.company.calendar.service.calendar.FreeBusyService;
+import com.company.calendar.util.ETagUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.time.YearMonth;
@@ -39,44 +50,108 @@ public class CalendarController {
      */
     private final AuthService authService;
     
+    /**
+     * 行事曆讀取端點的變更戳記
+     */
+    private final CalendarChangeStamps calendarChangeStamps;
+    
+    /**
+     * 忙碌時段服務
+     */
+    private final FreeBusyService freeBusyService;
+    
     /**
      * 構造函數
      * 
      * @param calendarService 行事曆服務
      * @param authService 認證服務
+     * @param calendarChangeStamps 行事曆讀取端點的變更戳記
+     * @param freeBusyService 忙碌時段服務
      */
     @Autowired
-    public CalendarController(CalendarService calendarService, AuthService authService) {
+    public CalendarController(CalendarService calendarService, AuthService authService,
+                              CalendarChangeStamps calendarChangeStamps, FreeBusyService freeBusyService) {
         this.calendarService = calendarService;
         this.authService = authService;
+        this.calendarChangeStamps = calendarChangeStamps;
+        this.freeBusyService = freeBusyService;
     }
     
     /**
      * 獲取所有事件
+     * <p>
+     * 預設以游標分頁回傳；unpaged=true 時回傳完整列表，供尚未改用分頁的前端使用。
+     * </p>
      * 
-     * @return 所有事件的列表
+     * @param cursor 上一頁回傳的續讀標記
+     * @param size 每頁筆數
+     * @param unpaged 是否回傳完整列表
+     * @return 事件分頁或所有事件的列表
      */
     @GetMapping("/events")
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
-        List<EventDTO> events = calendarService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            List<EventDTO> events = calendarService.getAllEvents();
+            return ResponseEntity.ok(events);
+        }
+        try {
+            return ResponseEntity.ok(calendarService.getEventsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * 以換行分隔的JSON（NDJSON）串流匯出所有事件
+     * <p>
+     * 回應邊讀邊寫，適合報表等需要完整資料的用途。
+     * </p>
+     * 
+     * @return 事件匯出串流
+     */
+    @GetMapping(value = "/events/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = calendarService::exportEvents;
+        return ResponseEntity.ok()
+                             .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                             .body(body);
     }
     
     /**
      * 根據ID獲取事件
+     * <p>
+     * 帶有 If-None-Match 標頭時只查詢事件版本，ETag仍相符則返回 304 而不載入事件。
+     * </p>
      * 
      * @param id 事件ID
+     * @param ifNoneMatch 先前取得的ETag，可省略
      * @return 事件信息
      */
     @GetMapping("/events/{id}")
-    public ResponseEntity<?> getEventById(@PathVariable Long id) {
+    public ResponseEntity<?> getEventById(@PathVariable Long id,
+                                          @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        // 事件帶有創建者用戶名，須在載入前取得員工資料戳記
+        String employeesStamp = calendarChangeStamps.employeesStamp();
+        if (ifNoneMatch != null) {
+            Long version = calendarService.getEventVersion(id);
+            String eTag = version != null ? ETagUtil.of(version, employeesStamp) : null;
+            if (eTag != null && ETagUtil.matches(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+        }
+        
         EventDTO event = calendarService.getEventById(id);
         
         if (event == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("事件不存在");
         }
         
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok()
+                             .eTag(ETagUtil.of(event.getVersion(), employeesStamp))
+                             .cacheControl(ETagUtil.REVALIDATE)
+                             .body(event);
     }
     
     /**
@@ -88,7 +163,7 @@ public class CalendarController {
     @PostMapping("/events")
     public ResponseEntity<?> createEvent(@RequestBody EventDTO eventDTO) {
         try {
-            Long creatorId = authService.getCurrentEmployee().getId();
+            Long creatorId = authService.getCurrentPrincipal().getId();
             EventDTO createdEvent = calendarService.createEvent(eventDTO, creatorId);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdEvent);
         } catch (IllegalArgumentException e) {
@@ -96,18 +171,44 @@ public class CalendarController {
         }
     }
     
+    /**
+     * 批次創建事件
+     * <p>
+     * 所有事件以目前登入員工為創建者，回傳依請求順序排列的單筆結果。
+     * </p>
+     * 
+     * @param eventDTOs 事件資料傳輸物件列表
+     * @return 每筆事件的建立結果
+     */
+    @PostMapping("/events/bulk")
+    public ResponseEntity<?> createEvents(@RequestBody List<EventDTO> eventDTOs) {
+        try {
+            Long creatorId = authService.getCurrentPrincipal().getId();
+            List<BulkEventResultDTO> results = calendarService.createEvents(eventDTOs, creatorId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     /**
      * 更新事件信息
+     * <p>
+     * 帶有 If-Match 標頭時只在事件版本相符時更新，否則返回 412。
+     * </p>
      * 
      * @param id 事件ID
      * @param eventDTO 事件資料傳輸物件
-     * @return 更新後的事件信息
+     * @param ifMatch 讀取事件時取得的ETag，可省略
+     * @return 更新後的事件信息及新的ETag
      */
     @PutMapping("/events/{id}")
-    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody EventDTO eventDTO) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody EventDTO eventDTO,
+                                         @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            EventDTO updatedEvent = calendarService.updateEvent(id, eventDTO);
-            return ResponseEntity.ok(updatedEvent);
+            String employeesStamp = calendarChangeStamps.employeesStamp();
+            EventDTO updatedEvent = calendarService.updateEvent(id, eventDTO, ETagUtil.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(ETagUtil.of(updatedEvent.getVersion(), employeesStamp)).body(updatedEvent);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -130,6 +231,48 @@ public class CalendarController {
         }
     }
     
+    /**
+     * 修改重複事件的單次發生
+     * <p>
+     * 建立一筆取代該次發生的單次事件，請求中未提供的欄位沿用重複事件的內容。
+     * </p>
+     * 
+     * @param id 重複事件ID
+     * @param start 該次發生原本的開始時間
+     * @param eventDTO 事件資料傳輸物件
+     * @return 取代該次發生的事件信息
+     */
+    @PutMapping("/events/{id}/occurrences/{start}")
+    public ResponseEntity<?> overrideOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestBody EventDTO eventDTO) {
+        try {
+            EventDTO override = calendarService.overrideOccurrence(id, start, eventDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(override);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * 取消重複事件的單次發生
+     * 
+     * @param id 重複事件ID
+     * @param start 該次發生原本的開始時間
+     * @return 更新後的重複事件信息
+     */
+    @DeleteMapping("/events/{id}/occurrences/{start}")
+    public ResponseEntity<?> cancelOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start) {
+        try {
+            return ResponseEntity.ok(calendarService.cancelOccurrence(id, start));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     /**
      * 獲取指定時間區間內的事件
      * 
@@ -166,53 +309,128 @@ public class CalendarController {
     
     /**
      * 獲取當前登入員工有權限查看的當月事件
+     * <p>
+     * 回應帶有由變更戳記產生的ETag；If-None-Match 相符時直接返回 304，不查詢也不序列化任何事件。
+     * </p>
      * 
      * @param year 年份
      * @param month 月份（1-12）
+     * @param ifNoneMatch 先前取得的ETag，可省略
      * @return 員工有權限查看的事件列表
      */
     @GetMapping("/events/visible/year/{year}/month/{month}")
     public ResponseEntity<?> getVisibleEventsForCurrentEmployee(
-            @PathVariable int year, @PathVariable int month) {
+            @PathVariable int year, @PathVariable int month,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         // 驗證月份範圍
         if (month < 1 || month > 12) {
             return ResponseEntity.badRequest().body("無效的月份");
         }
         
-        // 獲取當前員工ID
-        Long employeeId = authService.getCurrentEmployee().getId();
-        
-        // 計算開始和結束時間
+        // 獲取當前員工身分
+        CalendarPrincipal principal = authService.getCurrentPrincipal();
         YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime end = yearMonth.atEndOfMonth().atTime(23, 59, 59);
         
-        List<EventDTO> events = calendarService.getVisibleEventsForEmployee(employeeId, start, end);
-        return ResponseEntity.ok(events);
+        // 戳記須在載入事件前取得，載入期間提交的變更才不會被標記為已包含
+        String eTag = calendarChangeStamps.visibleMonthTag(principal.getId(), principal.getSecurityLevel(), yearMonth);
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        
+        List<EventDTO> events = calendarService.getVisibleEventsForEmployeeInMonth(
+                principal.getId(), principal.getSecurityLevel(), yearMonth);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(ETagUtil.REVALIDATE).body(events);
+    }
+    
+    /**
+     * 查詢多位員工的忙碌時段
+     * <p>
+     * 只回傳合併後的忙碌區間，不含事件內容，因此不受查詢者安全等級限制。
+     * </p>
+     * 
+     * @param request 員工ID與查詢區間
+     * @return 每位員工的忙碌時段
+     */
+    @PostMapping("/freebusy")
+    public ResponseEntity<?> getFreeBusy(@RequestBody FreeBusyRequestDTO request) {
+        try {
+            List<FreeBusyDTO> freeBusy = freeBusyService.getFreeBusy(
+                    request.getEmployeeIds(), request.getStart(), request.getEnd());
+            return ResponseEntity.ok(freeBusy);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * 找出多位員工與地點都有空的最早時段
+     * <p>
+     * 和忙碌時段查詢一樣只看時間，不受查詢者安全等級限制；選擇性參與者只影響每個時段的評分。
+     * </p>
+     * 
+     * @param request 參與者、地點、搜尋區間、時段長度與工作時間
+     * @return 依開始時間排序的時段
+     */
+    @PostMapping("/freebusy/slots")
+    public ResponseEntity<?> findFreeSlots(@RequestBody FreeSlotRequestDTO request) {
+        try {
+            List<FreeSlotDTO> slots = freeBusyService.findFreeSlots(request);
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     /**
      * 獲取當前登入員工創建的事件
      * 
-     * @return 創建者創建的事件列表
+     * @param cursor 上一頁回傳的續讀標記
+     * @param size 每頁筆數
+     * @param unpaged 是否回傳完整列表
+     * @return 事件分頁或創建者創建的事件列表
      */
     @GetMapping("/events/my")
-    public ResponseEntity<?> getMyEvents() {
-        Long employeeId = authService.getCurrentEmployee().getId();
-        List<EventDTO> events = calendarService.getEventsByCreator(employeeId);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getMyEvents(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(defaultValue = "false") boolean unpaged) {
+        Long employeeId = authService.getCurrentPrincipal().getId();
+        if (unpaged) {
+            List<EventDTO> events = calendarService.getEventsByCreator(employeeId);
+            return ResponseEntity.ok(events);
+        }
+        try {
+            return ResponseEntity.ok(calendarService.getEventsByCreatorPage(employeeId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     /**
-     * 搜索事件
+     * 搜索當前用戶可見的事件
      * 
      * @param keyword 關鍵字
-     * @return 匹配的事件列表
+     * @param cursor 上一頁回傳的續讀標記
+     * @param size 每頁筆數
+     * @param unpaged 是否回傳完整列表
+     * @return 事件分頁或匹配的事件列表
      */
     @GetMapping("/events/search")
-    public ResponseEntity<List<EventDTO>> searchEvents(@RequestParam String keyword) {
-        List<EventDTO> events = calendarService.searchEvents(keyword);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> searchEvents(@RequestParam String keyword,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestParam(defaultValue = "false") boolean unpaged) {
+        CalendarPrincipal principal = authService.getCurrentPrincipal();
+        if (unpaged) {
+            List<EventDTO> events = calendarService.searchEvents(keyword, principal.getId(),
+                                                                 principal.getSecurityLevel());
+            return ResponseEntity.ok(events);
+        }
+        try {
+            return ResponseEntity.ok(calendarService.searchEventsPage(keyword, cursor, size, principal.getId(),
+                                                                      principal.getSecurityLevel()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     /**
@@ -253,6 +471,24 @@ public class CalendarController {
         }
     }
     
+    /**
+     * 以完整的查看者集合取代事件的特殊查看權限
+     * 
+     * @param eventId 事件ID
+     * @param employeeIds 完整的特殊查看者員工ID集合
+     * @return 同步後的特殊查看者員工ID集合
+     */
+    @PutMapping("/events/{eventId}/permissions")
+    public ResponseEntity<?> replaceViewPermissions(@PathVariable Long eventId, @RequestBody Set<Long> employeeIds) {
+        Set<Long> viewerIds = calendarService.replaceViewPermissions(eventId, employeeIds);
+        
+        if (viewerIds == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("事件不存在");
+        }
+        
+        return ResponseEntity.ok(viewerIds);
+    }
+    
     /**
      * 獲取事件的特殊查看權限員工列表
      * 
@@ -273,9 +509,20 @@ public class CalendarController {
      */
     @GetMapping("/events/{eventId}/can-view")
     public ResponseEntity<?> canCurrentEmployeeViewEvent(@PathVariable Long eventId) {
-        Long employeeId = authService.getCurrentEmployee().getId();
-        boolean canView = calendarService.canEmployeeViewEvent(eventId, employeeId);
+        CalendarPrincipal principal = authService.getCurrentPrincipal();
+        boolean canView = calendarService.canEmployeeViewEvent(eventId, principal.getId(),
+                                                               principal.getSecurityLevel());
         
         return ResponseEntity.ok().body(canView);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 建立 304 回應
+     * 
+     * @param eTag 目前的ETag
+     * @return 不帶內容的 304 回應
+     */
+    private ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(ETagUtil.REVALIDATE).build();
+    }
+}
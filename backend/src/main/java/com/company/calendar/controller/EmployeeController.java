@@ -2,7 +2,9 @@ package com.company.calendar.controller;
 
 import com.company.calendar.dto.EmployeeDTO;
 import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.service.calendar.CalendarChangeStamps;
 import com.company.calendar.service.employee.EmployeeService;
+import com.company.calendar.util.ETagUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -32,25 +34,42 @@ public class EmployeeController {
      */
     private final EmployeeService employeeService;
     
+    /**
+     * 行事曆讀取端點的變更戳記
+     */
+    private final CalendarChangeStamps calendarChangeStamps;
+    
     /**
      * 構造函數
      * 
      * @param employeeService 員工服務
+     * @param calendarChangeStamps 行事曆讀取端點的變更戳記
      */
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, CalendarChangeStamps calendarChangeStamps) {
         this.employeeService = employeeService;
+        this.calendarChangeStamps = calendarChangeStamps;
     }
     
     /**
      * 獲取所有員工
+     * <p>
+     * If-None-Match 與員工資料戳記相符時直接返回 304，不查詢員工。
+     * </p>
      * 
+     * @param ifNoneMatch 先前取得的ETag，可省略
      * @return 所有員工的列表
      */
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String eTag = ETagUtil.quote(calendarChangeStamps.employeesStamp());
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(ETagUtil.REVALIDATE).build();
+        }
+        
         List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(ETagUtil.REVALIDATE).body(employees);
     }
     
     /**
@@ -78,7 +97,7 @@ public class EmployeeController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("員工不存在");
         }
         
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok().eTag(ETagUtil.of(employee.getVersion())).body(employee);
     }
     
     /**
@@ -129,16 +148,22 @@ public class EmployeeController {
     
     /**
      * 更新員工信息
+     * <p>
+     * 帶有 If-Match 標頭時只在員工版本相符時更新，否則返回 412。
+     * </p>
      * 
      * @param id 員工ID
      * @param employeeDTO 員工資料傳輸物件
-     * @return 更新後的員工信息
+     * @param ifMatch 讀取員工時取得的ETag，可省略
+     * @return 更新後的員工信息及新的ETag
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody EmployeeDTO employeeDTO) {
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody EmployeeDTO employeeDTO,
+                                            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO);
-            return ResponseEntity.ok(updatedEmployee);
+            EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO,
+                                                                         ETagUtil.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(ETagUtil.of(updatedEmployee.getVersion())).body(updatedEmployee);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,142 @@
+package com.company.calendar.dto;
+
+/**
+ * 批次建立事件的單筆結果
+ * <p>
+ * 依請求中的順序回報每一筆事件是否建立成功；成功時附上建立的事件，失敗時附上原因。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class BulkEventResultDTO {
+
+    /**
+     * 在請求列表中的位置（從0開始）
+     */
+    private int index;
+
+    /**
+     * 是否建立成功
+     */
+    private boolean success;
+
+    /**
+     * 建立的事件，失敗時為null
+     */
+    private EventDTO event;
+
+    /**
+     * 失敗原因，成功時為null
+     */
+    private String error;
+
+    /**
+     * 預設建構子
+     */
+    public BulkEventResultDTO() {
+    }
+
+    /**
+     * 建立成功的結果
+     * 
+     * @param index 在請求列表中的位置
+     * @param event 建立的事件
+     * @return 單筆結果
+     */
+    public static BulkEventResultDTO created(int index, EventDTO event) {
+        BulkEventResultDTO result = new BulkEventResultDTO();
+        result.index = index;
+        result.success = true;
+        result.event = event;
+        return result;
+    }
+
+    /**
+     * 建立失敗的結果
+     * 
+     * @param index 在請求列表中的位置
+     * @param error 失敗原因
+     * @return 單筆結果
+     */
+    public static BulkEventResultDTO failed(int index, String error) {
+        BulkEventResultDTO result = new BulkEventResultDTO();
+        result.index = index;
+        result.success = false;
+        result.error = error;
+        return result;
+    }
+
+    /**
+     * 獲取在請求列表中的位置
+     * 
+     * @return 在請求列表中的位置
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 設置在請求列表中的位置
+     * 
+     * @param index 在請求列表中的位置
+     */
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * 獲取是否建立成功
+     * 
+     * @return 是否建立成功
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * 設置是否建立成功
+     * 
+     * @param success 是否建立成功
+     */
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    /**
+     * 獲取建立的事件
+     * 
+     * @return 建立的事件，失敗時為null
+     */
+    public EventDTO getEvent() {
+        return event;
+    }
+
+    /**
+     * 設置建立的事件
+     * 
+     * @param event 建立的事件
+     */
+    public void setEvent(EventDTO event) {
+        this.event = event;
+    }
+
+    /**
+     * 獲取失敗原因
+     * 
+     * @return 失敗原因，成功時為null
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * 設置失敗原因
+     * 
+     * @param error 失敗原因
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+}
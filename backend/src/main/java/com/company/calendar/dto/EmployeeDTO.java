@@ -63,6 +63,11 @@ public class EmployeeDTO {
      */
     private boolean active;
     
+    /**
+     * 樂觀鎖版本，更新時可透過 If-Match 標頭帶回
+     */
+    private Long version;
+    
     /**
      * 預設建構子
      */
@@ -84,6 +89,7 @@ public class EmployeeDTO {
         this.createdAt = employee.getCreatedAt();
         this.updatedAt = employee.getUpdatedAt();
         this.active = employee.isActive();
+        this.version = employee.getVersion();
     }
     
     /**
@@ -268,4 +274,22 @@ public class EmployeeDTO {
     public void setActive(boolean active) {
         this.active = active;
     }
+
+    /**
+     * 獲取樂觀鎖版本
+     * 
+     * @return 版本
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * 設置樂觀鎖版本
+     * 
+     * @param version 版本
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
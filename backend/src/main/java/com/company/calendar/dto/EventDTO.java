@@ -3,11 +3,14 @@ package com.company.calendar.dto;
 import com.company.calendar.enums.SecurityLevel;
 import com.company.calendar.model.Event;
 import com.company.calendar.model.Employee;
+import com.company.calendar.repository.projection.EventSummary;
+import com.company.calendar.util.RecurrenceRule;
+import com.company.calendar.util.ViewerBitmapUtil;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 事件資料傳輸物件
@@ -82,6 +85,31 @@ public class EventDTO {
      */
     private LocalDateTime updatedAt;
     
+    /**
+     * 樂觀鎖版本，更新時可透過 If-Match 標頭帶回
+     */
+    private Long version;
+    
+    /**
+     * 重複規則（RRULE），單次事件為null；更新時為null表示不變更，空字串表示改為單次事件
+     */
+    private String recurrenceRule;
+    
+    /**
+     * 重複事件的例外日期（EXDATE）；更新時為null表示不變更
+     */
+    private List<LocalDateTime> recurrenceExceptions;
+    
+    /**
+     * 所屬的重複事件ID：展開的發生及單次例外才有值
+     */
+    private Long seriesId;
+    
+    /**
+     * 在重複事件中的原開始時間：展開的發生及單次例外才有值
+     */
+    private LocalDateTime originalStartTime;
+    
     /**
      * 預設建構子
      */
@@ -109,9 +137,69 @@ public class EventDTO {
             this.creatorUsername = event.getCreator().getUsername();
         }
         
-        this.specialViewerIds = event.getViewPermissions().stream()
-                                     .map(permission -> permission.getEmployee().getId())
-                                     .collect(Collectors.toSet());
+        this.specialViewerIds = event.getSpecialViewerIds();
+        this.version = event.getVersion();
+        this.recurrenceRule = event.getRecurrenceRule();
+        this.recurrenceExceptions = event.isRecurring() ? event.getRecurrenceExceptions() : null;
+        this.seriesId = event.getSeriesId();
+        this.originalStartTime = event.getOriginalStartTime();
+    }
+    
+    /**
+     * 從事件摘要投影創建DTO的建構子
+     * 
+     * @param summary 事件摘要投影
+     */
+    public EventDTO(EventSummary summary) {
+        this.id = summary.getId();
+        this.title = summary.getTitle();
+        this.description = summary.getDescription();
+        this.startTime = summary.getStartTime();
+        this.endTime = summary.getEndTime();
+        this.location = summary.getLocation();
+        this.creatorId = summary.getCreatorId();
+        this.creatorUsername = summary.getCreatorUsername();
+        this.securityLevel = summary.getSecurityLevel();
+        this.specialViewerIds = ViewerBitmapUtil.toIds(summary.getSpecialViewerBitmap());
+        this.createdAt = summary.getCreatedAt();
+        this.updatedAt = summary.getUpdatedAt();
+        this.version = summary.getVersion();
+        this.recurrenceRule = summary.getRecurrenceRule();
+        this.recurrenceExceptions = summary.getRecurrenceRule() != null
+                ? RecurrenceRule.parseDates(summary.getRecurrenceExceptions()) : null;
+        this.seriesId = summary.getSeriesId();
+        this.originalStartTime = summary.getOriginalStartTime();
+    }
+    
+    /**
+     * 建立重複事件某次發生的DTO
+     * <p>
+     * 除開始與結束時間外沿用系列的資料，ID仍為系列ID，並以原開始時間標示是哪一次發生。
+     * </p>
+     * 
+     * @param start 該次發生的開始時間
+     * @param end 該次發生的結束時間
+     * @return 該次發生的DTO
+     */
+    public EventDTO occurrence(LocalDateTime start, LocalDateTime end) {
+        EventDTO occurrence = new EventDTO();
+        occurrence.id = id;
+        occurrence.title = title;
+        occurrence.description = description;
+        occurrence.startTime = start;
+        occurrence.endTime = end;
+        occurrence.location = location;
+        occurrence.creatorId = creatorId;
+        occurrence.creatorUsername = creatorUsername;
+        occurrence.securityLevel = securityLevel;
+        occurrence.specialViewerIds = specialViewerIds;
+        occurrence.createdAt = createdAt;
+        occurrence.updatedAt = updatedAt;
+        occurrence.version = version;
+        occurrence.recurrenceRule = recurrenceRule;
+        occurrence.seriesId = id;
+        occurrence.originalStartTime = start;
+        return occurrence;
     }
     
     /**
@@ -362,4 +450,94 @@ public class EventDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    /**
+     * 獲取樂觀鎖版本
+     * 
+     * @return 版本
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * 設置樂觀鎖版本
+     * 
+     * @param version 版本
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * 獲取重複規則
+     * 
+     * @return RRULE 文字
+     */
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    /**
+     * 設置重複規則
+     * 
+     * @param recurrenceRule RRULE 文字
+     */
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    /**
+     * 獲取重複事件的例外日期
+     * 
+     * @return 例外日期列表
+     */
+    public List<LocalDateTime> getRecurrenceExceptions() {
+        return recurrenceExceptions;
+    }
+
+    /**
+     * 設置重複事件的例外日期
+     * 
+     * @param recurrenceExceptions 例外日期列表
+     */
+    public void setRecurrenceExceptions(List<LocalDateTime> recurrenceExceptions) {
+        this.recurrenceExceptions = recurrenceExceptions;
+    }
+
+    /**
+     * 獲取所屬的重複事件ID
+     * 
+     * @return 重複事件ID
+     */
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    /**
+     * 設置所屬的重複事件ID
+     * 
+     * @param seriesId 重複事件ID
+     */
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    /**
+     * 獲取在重複事件中的原開始時間
+     * 
+     * @return 原開始時間
+     */
+    public LocalDateTime getOriginalStartTime() {
+        return originalStartTime;
+    }
+
+    /**
+     * 設置在重複事件中的原開始時間
+     * 
+     * @param originalStartTime 原開始時間
+     */
+    public void setOriginalStartTime(LocalDateTime originalStartTime) {
+        this.originalStartTime = originalStartTime;
+    }
+}
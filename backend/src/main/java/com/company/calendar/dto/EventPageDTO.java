@@ -0,0 +1,81 @@
+package com.company.calendar.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 事件分頁資料傳輸物件
+ * <p>
+ * 以游標（keyset）分頁回傳事件列表。nextCursor 為不透明的續讀標記，
+ * 帶入下一次請求即可取得下一頁；為null表示已是最後一頁。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class EventPageDTO {
+
+    /**
+     * 本頁事件，依開始時間與ID排序
+     */
+    private List<EventDTO> items = new ArrayList<>();
+
+    /**
+     * 下一頁的續讀標記
+     */
+    private String nextCursor;
+
+    /**
+     * 預設建構子
+     */
+    public EventPageDTO() {
+    }
+
+    /**
+     * 建構子
+     * 
+     * @param items 本頁事件
+     * @param nextCursor 下一頁的續讀標記
+     */
+    public EventPageDTO(List<EventDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * 獲取本頁事件
+     * 
+     * @return 本頁事件
+     */
+    public List<EventDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * 設置本頁事件
+     * 
+     * @param items 本頁事件
+     */
+    public void setItems(List<EventDTO> items) {
+        this.items = items;
+    }
+
+    /**
+     * 獲取下一頁的續讀標記
+     * 
+     * @return 下一頁的續讀標記，最後一頁時為null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * 設置下一頁的續讀標記
+     * 
+     * @param nextCursor 下一頁的續讀標記
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
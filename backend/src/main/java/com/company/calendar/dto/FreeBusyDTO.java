@@ -0,0 +1,80 @@
+package com.company.calendar.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 員工忙碌時段資料傳輸物件
+ * <p>
+ * 只回傳合併後的忙碌區間，不含事件標題、地點等內容，查詢者看不到的事件也只顯示為忙碌。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class FreeBusyDTO {
+
+    /**
+     * 員工ID
+     */
+    private Long employeeId;
+
+    /**
+     * 合併後的忙碌區間，依時間排序且互不重疊
+     */
+    private List<TimeRangeDTO> busy = new ArrayList<>();
+
+    /**
+     * 預設建構子
+     */
+    public FreeBusyDTO() {
+    }
+
+    /**
+     * 建構子
+     * 
+     * @param employeeId 員工ID
+     * @param busy 合併後的忙碌區間
+     */
+    public FreeBusyDTO(Long employeeId, List<TimeRangeDTO> busy) {
+        this.employeeId = employeeId;
+        this.busy = busy;
+    }
+
+    /**
+     * 獲取員工ID
+     * 
+     * @return 員工ID
+     */
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * 設置員工ID
+     * 
+     * @param employeeId 員工ID
+     */
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * 獲取合併後的忙碌區間
+     * 
+     * @return 忙碌區間列表
+     */
+    public List<TimeRangeDTO> getBusy() {
+        return busy;
+    }
+
+    /**
+     * 設置合併後的忙碌區間
+     * 
+     * @param busy 忙碌區間列表
+     */
+    public void setBusy(List<TimeRangeDTO> busy) {
+        this.busy = busy;
+    }
+}
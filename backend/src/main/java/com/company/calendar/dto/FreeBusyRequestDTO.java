@@ -0,0 +1,90 @@
+package com.company.calendar.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 忙碌時段查詢請求資料傳輸物件
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class FreeBusyRequestDTO {
+
+    /**
+     * 要查詢的員工ID
+     */
+    private List<Long> employeeIds = new ArrayList<>();
+
+    /**
+     * 查詢區間開始時間（包含）
+     */
+    private LocalDateTime start;
+
+    /**
+     * 查詢區間結束時間（不包含）
+     */
+    private LocalDateTime end;
+
+    /**
+     * 預設建構子
+     */
+    public FreeBusyRequestDTO() {
+    }
+
+    /**
+     * 獲取要查詢的員工ID
+     * 
+     * @return 員工ID列表
+     */
+    public List<Long> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    /**
+     * 設置要查詢的員工ID
+     * 
+     * @param employeeIds 員工ID列表
+     */
+    public void setEmployeeIds(List<Long> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    /**
+     * 獲取查詢區間開始時間
+     * 
+     * @return 開始時間
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * 設置查詢區間開始時間
+     * 
+     * @param start 開始時間
+     */
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    /**
+     * 獲取查詢區間結束時間
+     * 
+     * @return 結束時間
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * 設置查詢區間結束時間
+     * 
+     * @param end 結束時間
+     */
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+}
@@ -0,0 +1,130 @@
+package com.company.calendar.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 共同空檔資料傳輸物件
+ * <p>
+ * 所有必要參與者與地點在整段時間都有空，評分越高表示能出席的選擇性參與者越多。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class FreeSlotDTO {
+
+    /**
+     * 開始時間（包含）
+     */
+    private LocalDateTime start;
+
+    /**
+     * 結束時間（不包含）
+     */
+    private LocalDateTime end;
+
+    /**
+     * 評分，即整段時間都有空的選擇性參與者人數
+     */
+    private int score;
+
+    /**
+     * 整段時間都有空的選擇性參與者，依請求中的順序排列
+     */
+    private List<Long> availableOptionalIds = new ArrayList<>();
+
+    /**
+     * 預設建構子
+     */
+    public FreeSlotDTO() {
+    }
+
+    /**
+     * 建構子
+     * 
+     * @param start 開始時間
+     * @param end 結束時間
+     * @param availableOptionalIds 有空的選擇性參與者
+     */
+    public FreeSlotDTO(LocalDateTime start, LocalDateTime end, List<Long> availableOptionalIds) {
+        this.start = start;
+        this.end = end;
+        this.score = availableOptionalIds.size();
+        this.availableOptionalIds = availableOptionalIds;
+    }
+
+    /**
+     * 獲取開始時間
+     * 
+     * @return 開始時間
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * 設置開始時間
+     * 
+     * @param start 開始時間
+     */
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    /**
+     * 獲取結束時間
+     * 
+     * @return 結束時間
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * 設置結束時間
+     * 
+     * @param end 結束時間
+     */
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+
+    /**
+     * 獲取評分
+     * 
+     * @return 有空的選擇性參與者人數
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * 設置評分
+     * 
+     * @param score 有空的選擇性參與者人數
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * 獲取有空的選擇性參與者
+     * 
+     * @return 員工ID列表
+     */
+    public List<Long> getAvailableOptionalIds() {
+        return availableOptionalIds;
+    }
+
+    /**
+     * 設置有空的選擇性參與者
+     * 
+     * @param availableOptionalIds 員工ID列表
+     */
+    public void setAvailableOptionalIds(List<Long> availableOptionalIds) {
+        this.availableOptionalIds = availableOptionalIds;
+    }
+}
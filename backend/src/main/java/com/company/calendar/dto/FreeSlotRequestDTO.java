@@ -0,0 +1,278 @@
+package com.company.calendar.dto;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 共同空檔查詢請求資料傳輸物件
+ * <p>
+ * 搜尋區間與回傳的時段都以行事曆時區的時間表示，只有每天的工作時間以 timeZone 的當地時間表示。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class FreeSlotRequestDTO {
+
+    /**
+     * 必要參與者的員工ID，所有人都必須有空
+     */
+    private List<Long> requiredEmployeeIds = new ArrayList<>();
+
+    /**
+     * 選擇性參與者的員工ID，只影響時段的評分
+     */
+    private List<Long> optionalEmployeeIds = new ArrayList<>();
+
+    /**
+     * 地點，不為空時該地點也必須沒有其他事件
+     */
+    private String location;
+
+    /**
+     * 搜尋區間開始時間（包含）
+     */
+    private LocalDateTime start;
+
+    /**
+     * 搜尋區間結束時間（不包含）
+     */
+    private LocalDateTime end;
+
+    /**
+     * 時段長度（分鐘）
+     */
+    private Integer durationMinutes;
+
+    /**
+     * 最多回傳的時段數，為空時使用預設值
+     */
+    private Integer maxResults;
+
+    /**
+     * 每天工作時間開始（包含），以 timeZone 的當地時間表示
+     */
+    private LocalTime workdayStart = LocalTime.of(9, 0);
+
+    /**
+     * 每天工作時間結束（不包含），以 timeZone 的當地時間表示
+     */
+    private LocalTime workdayEnd = LocalTime.of(18, 0);
+
+    /**
+     * 工作時間所在的時區，例如 Asia/Tokyo，為空時使用行事曆的時區
+     */
+    private String timeZone;
+
+    /**
+     * 是否包含週六與週日
+     */
+    private boolean includeWeekends;
+
+    /**
+     * 預設建構子
+     */
+    public FreeSlotRequestDTO() {
+    }
+
+    /**
+     * 獲取必要參與者的員工ID
+     * 
+     * @return 員工ID列表
+     */
+    public List<Long> getRequiredEmployeeIds() {
+        return requiredEmployeeIds;
+    }
+
+    /**
+     * 設置必要參與者的員工ID
+     * 
+     * @param requiredEmployeeIds 員工ID列表
+     */
+    public void setRequiredEmployeeIds(List<Long> requiredEmployeeIds) {
+        this.requiredEmployeeIds = requiredEmployeeIds;
+    }
+
+    /**
+     * 獲取選擇性參與者的員工ID
+     * 
+     * @return 員工ID列表
+     */
+    public List<Long> getOptionalEmployeeIds() {
+        return optionalEmployeeIds;
+    }
+
+    /**
+     * 設置選擇性參與者的員工ID
+     * 
+     * @param optionalEmployeeIds 員工ID列表
+     */
+    public void setOptionalEmployeeIds(List<Long> optionalEmployeeIds) {
+        this.optionalEmployeeIds = optionalEmployeeIds;
+    }
+
+    /**
+     * 獲取地點
+     * 
+     * @return 地點
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * 設置地點
+     * 
+     * @param location 地點
+     */
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    /**
+     * 獲取搜尋區間開始時間
+     * 
+     * @return 開始時間
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * 設置搜尋區間開始時間
+     * 
+     * @param start 開始時間
+     */
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    /**
+     * 獲取搜尋區間結束時間
+     * 
+     * @return 結束時間
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * 設置搜尋區間結束時間
+     * 
+     * @param end 結束時間
+     */
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+
+    /**
+     * 獲取時段長度
+     * 
+     * @return 分鐘數
+     */
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * 設置時段長度
+     * 
+     * @param durationMinutes 分鐘數
+     */
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * 獲取最多回傳的時段數
+     * 
+     * @return 時段數
+     */
+    public Integer getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * 設置最多回傳的時段數
+     * 
+     * @param maxResults 時段數
+     */
+    public void setMaxResults(Integer maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * 獲取每天工作時間開始
+     * 
+     * @return 工作時間開始
+     */
+    public LocalTime getWorkdayStart() {
+        return workdayStart;
+    }
+
+    /**
+     * 設置每天工作時間開始
+     * 
+     * @param workdayStart 工作時間開始
+     */
+    public void setWorkdayStart(LocalTime workdayStart) {
+        this.workdayStart = workdayStart;
+    }
+
+    /**
+     * 獲取每天工作時間結束
+     * 
+     * @return 工作時間結束
+     */
+    public LocalTime getWorkdayEnd() {
+        return workdayEnd;
+    }
+
+    /**
+     * 設置每天工作時間結束
+     * 
+     * @param workdayEnd 工作時間結束
+     */
+    public void setWorkdayEnd(LocalTime workdayEnd) {
+        this.workdayEnd = workdayEnd;
+    }
+
+    /**
+     * 獲取工作時間所在的時區
+     * 
+     * @return 時區ID
+     */
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * 設置工作時間所在的時區
+     * 
+     * @param timeZone 時區ID
+     */
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * 獲取是否包含週六與週日
+     * 
+     * @return 是否包含週末
+     */
+    public boolean isIncludeWeekends() {
+        return includeWeekends;
+    }
+
+    /**
+     * 設置是否包含週六與週日
+     * 
+     * @param includeWeekends 是否包含週末
+     */
+    public void setIncludeWeekends(boolean includeWeekends) {
+        this.includeWeekends = includeWeekends;
+    }
+}
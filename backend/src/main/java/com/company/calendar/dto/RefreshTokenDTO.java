@@ -0,0 +1,52 @@
+package com.company.calendar.dto;
+
+/**
+ * 刷新令牌資料傳輸物件
+ * <p>
+ * 用於處理刷新存取令牌及登出請求，封裝了客戶端持有的刷新令牌。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class RefreshTokenDTO {
+
+    /**
+     * 刷新令牌
+     */
+    private String refreshToken;
+    
+    /**
+     * 預設建構子
+     */
+    public RefreshTokenDTO() {
+    }
+    
+    /**
+     * 建構子
+     * 
+     * @param refreshToken 刷新令牌
+     */
+    public RefreshTokenDTO(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    /**
+     * 獲取刷新令牌
+     * 
+     * @return 刷新令牌
+     */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    /**
+     * 設置刷新令牌
+     * 
+     * @param refreshToken 刷新令牌
+     */
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
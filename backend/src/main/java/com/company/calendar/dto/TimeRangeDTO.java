@@ -0,0 +1,79 @@
+package com.company.calendar.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 時間區間資料傳輸物件
+ * <p>
+ * 半開區間 [start, end)，只包含時間，不帶任何事件內容。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class TimeRangeDTO {
+
+    /**
+     * 開始時間（包含）
+     */
+    private LocalDateTime start;
+
+    /**
+     * 結束時間（不包含）
+     */
+    private LocalDateTime end;
+
+    /**
+     * 預設建構子
+     */
+    public TimeRangeDTO() {
+    }
+
+    /**
+     * 建構子
+     * 
+     * @param start 開始時間
+     * @param end 結束時間
+     */
+    public TimeRangeDTO(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * 獲取開始時間
+     * 
+     * @return 開始時間
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * 設置開始時間
+     * 
+     * @param start 開始時間
+     */
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    /**
+     * 獲取結束時間
+     * 
+     * @return 結束時間
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * 設置結束時間
+     * 
+     * @param end 結束時間
+     */
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+}
@@ -0,0 +1,102 @@
+package com.company.calendar.dto;
+
+/**
+ * 令牌組資料傳輸物件
+ * <p>
+ * 刷新成功後返回給客戶端，包含新的存取令牌、輪換後的刷新令牌及存取令牌的有效秒數。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class TokenPairDTO {
+
+    /**
+     * 存取令牌（JWT）
+     */
+    private String token;
+    
+    /**
+     * 刷新令牌
+     */
+    private String refreshToken;
+    
+    /**
+     * 存取令牌有效秒數
+     */
+    private long expiresIn;
+    
+    /**
+     * 預設建構子
+     */
+    public TokenPairDTO() {
+    }
+    
+    /**
+     * 建構子
+     * 
+     * @param token 存取令牌
+     * @param refreshToken 刷新令牌
+     * @param expiresIn 存取令牌有效秒數
+     */
+    public TokenPairDTO(String token, String refreshToken, long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+    
+    /**
+     * 獲取存取令牌
+     * 
+     * @return 存取令牌
+     */
+    public String getToken() {
+        return token;
+    }
+    
+    /**
+     * 設置存取令牌
+     * 
+     * @param token 存取令牌
+     */
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    /**
+     * 獲取刷新令牌
+     * 
+     * @return 刷新令牌
+     */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    /**
+     * 設置刷新令牌
+     * 
+     * @param refreshToken 刷新令牌
+     */
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    /**
+     * 獲取存取令牌有效秒數
+     * 
+     * @return 有效秒數
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    /**
+     * 設置存取令牌有效秒數
+     * 
+     * @param expiresIn 有效秒數
+     */
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
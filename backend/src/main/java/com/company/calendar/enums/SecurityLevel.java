@@ -1,5 +1,8 @@
 package com.company.calendar.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * 安全等級枚舉
  * <p>
@@ -79,6 +82,24 @@ public enum SecurityLevel {
         return this.level <= other.level;
     }
     
+    /**
+     * 獲取當前等級可以查看的所有安全等級
+     * <p>
+     * 用於將「等級高於或等於」的比較改寫為 IN 條件，以便查詢能使用安全等級索引。
+     * </p>
+     * 
+     * @return 當前等級可以查看的安全等級集合
+     */
+    public Set<SecurityLevel> getAccessibleLevels() {
+        EnumSet<SecurityLevel> levels = EnumSet.noneOf(SecurityLevel.class);
+        for (SecurityLevel securityLevel : SecurityLevel.values()) {
+            if (hasAccessTo(securityLevel)) {
+                levels.add(securityLevel);
+            }
+        }
+        return levels;
+    }
+    
     /**
      * 根據等級數值獲取對應的權限等級枚舉
      * 
@@ -1,9 +1,15 @@
 package com.company.calendar.exception;
 
+import com.company.calendar.util.ETagUtil;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -62,6 +68,90 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * 處理服務忙碌異常
+     *
+     * @param ex 服務忙碌異常
+     * @param request Web請求
+     * @return 包含錯誤詳情及 Retry-After 標頭的響應實體
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<?> handleServiceBusyException(ServiceBusyException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                             .body(errorDetails);
+    }
+
+    /**
+     * 處理前置條件不符異常
+     *
+     * @param ex 前置條件不符異常
+     * @param request Web請求
+     * @return 包含錯誤詳情及目前版本 ETag 的響應實體
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (ex.getCurrentVersion() != null) {
+            response.eTag(ETagUtil.of(ex.getCurrentVersion()));
+        }
+        return response.body(errorDetails);
+    }
+
+    /**
+     * 處理樂觀鎖衝突異常
+     * <p>
+     * 讀取後、寫入前資源已被其他交易修改，條件式更新沒有命中任何資料列。
+     * </p>
+     *
+     * @param ex 樂觀鎖衝突異常
+     * @param request Web請求
+     * @return 包含錯誤詳情的響應實體
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                     WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                new Date(),
+                "資料已被其他人修改，請重新讀取後再試",
+                request.getDescription(false));
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorDetails);
+    }
+
+    /**
+     * 處理無法取得資料庫連線的異常
+     * <p>
+     * 連線池已滿且在 connection-timeout 內等不到連線時發生，大量虛擬執行緒同時請求時尤其常見，
+     * 以 503 與 Retry-After 回應讓客戶端稍後重試，而不是回應 500。
+     * </p>
+     *
+     * @param ex 無法取得連線的異常
+     * @param request Web請求
+     * @return 包含錯誤詳情及 Retry-After 標頭的響應實體
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<?> handleConnectionUnavailableException(Exception ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                new Date(),
+                "系統繁忙，請稍後再試",
+                request.getDescription(false));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, "1")
+                             .body(errorDetails);
+    }
+
     /**
      * 處理拒絕訪問異常
      *
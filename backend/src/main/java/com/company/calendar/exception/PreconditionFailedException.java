@@ -0,0 +1,43 @@
+package com.company.calendar.exception;
+
+/**
+ * 前置條件不符異常
+ * <p>
+ * 當更新請求以 If-Match 帶入的版本與資源目前的版本不同時拋出，表示資源已被其他人修改，
+ * 呼叫端應重新讀取後再決定是否重試。
+ * 此異常會被 {@link GlobalExceptionHandler} 捕獲並處理，返回 412 HTTP 狀態碼及目前版本的 ETag。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 資源目前的版本，未知時為null
+     */
+    private final Long currentVersion;
+
+    /**
+     * 構造函數
+     *
+     * @param message 異常訊息
+     * @param currentVersion 資源目前的版本，未知時為null
+     */
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * 獲取資源目前的版本
+     *
+     * @return 版本，未知時為null
+     */
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
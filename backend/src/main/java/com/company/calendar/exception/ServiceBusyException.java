@@ -0,0 +1,43 @@
+package com.company.calendar.exception;
+
+/**
+ * 服務忙碌異常
+ * <p>
+ * 當有容量上限的工作（如登入密碼驗證）已滿載時拋出，讓呼叫端稍後重試，
+ * 而不是佔住請求執行緒排隊等待。
+ * 此異常會被 {@link GlobalExceptionHandler} 捕獲並處理，返回 503 HTTP 狀態碼及 Retry-After 標頭。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建議的重試等待秒數
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 構造函數
+     *
+     * @param message 異常訊息
+     * @param retryAfterSeconds 建議的重試等待秒數
+     */
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 獲取建議的重試等待秒數
+     *
+     * @return 重試等待秒數
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
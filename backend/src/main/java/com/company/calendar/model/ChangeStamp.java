@@ -0,0 +1,75 @@
+package com.company.calendar.model;
+
+import jakarta.persistence.*;
+
+/**
+ * 行事曆變更戳記實體類
+ * <p>
+ * 每列記錄一個月份桶或員工資料的變更次數，與資料變更在同一個交易中遞增，
+ * 因此所有節點對相同的資料都會產生相同的ETag。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Entity
+@Table(name = "change_stamps")
+public class ChangeStamp {
+
+    /**
+     * 戳記ID：月份桶索引，或代表員工資料的固定值
+     */
+    @Id
+    private Integer id;
+
+    /**
+     * 變更次數，初始值為隨機數，重建的資料庫不會與先前簽發的ETag相符
+     */
+    @Column(nullable = false)
+    private long stamp;
+
+    /**
+     * 預設建構子
+     */
+    public ChangeStamp() {
+    }
+
+    // Getters and Setters
+
+    /**
+     * 獲取戳記ID
+     * 
+     * @return 戳記ID
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * 設置戳記ID
+     * 
+     * @param id 戳記ID
+     */
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    /**
+     * 獲取變更次數
+     * 
+     * @return 變更次數
+     */
+    public long getStamp() {
+        return stamp;
+    }
+
+    /**
+     * 設置變更次數
+     * 
+     * @param stamp 變更次數
+     */
+    public void setStamp(long stamp) {
+        this.stamp = stamp;
+    }
+}
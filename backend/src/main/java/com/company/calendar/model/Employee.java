@@ -3,6 +3,7 @@ package com.company.calendar.model;
 import com.company.calendar.enums.SecurityLevel;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -90,12 +91,27 @@ public class Employee {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * 樂觀鎖版本，每次更新遞增；更新語句以版本為條件，並發修改不會互相覆蓋。
+     * 資料庫預設值為0，既有資料列及未帶版本的插入語句都從0開始
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     /**
      * 帳號是否啟用
      */
     @Column(nullable = false)
     private boolean active = true;
 
+    /**
+     * 令牌版本，寫入JWT聲明；遞增後先前簽發的令牌全部失效
+     */
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     /**
      * 預設建構子
      */
@@ -341,6 +357,15 @@ public class Employee {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * 獲取樂觀鎖版本
+     * 
+     * @return 版本
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * 獲取帳號是否啟用
      * 
@@ -359,6 +384,34 @@ public class Employee {
         this.active = active;
     }
 
+    /**
+     * 獲取令牌版本
+     * 
+     * @return 令牌版本
+     */
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * 設置令牌版本
+     * 
+     * @param tokenVersion 令牌版本
+     */
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * 使先前簽發的令牌全部失效
+     * <p>
+     * 密碼變更、停用或令牌聲明中的帳號資料變更時呼叫。
+     * </p>
+     */
+    public void revokeTokens() {
+        tokenVersion++;
+    }
+
     /**
      * 檢查員工是否有權限查看指定安全等級的事件
      * 
@@ -2,10 +2,20 @@ package com.company.calendar.model;
 
 import com.company.calendar.enums.SecurityLevel;
 
+import com.company.calendar.util.RecurrenceRule;
+import com.company.calendar.util.ViewerBitmapUtil;
+
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 事件實體類
@@ -13,20 +23,36 @@ import java.util.Set;
  * 代表行事曆系統中的事件，包含事件基本信息、時間、地點、創建者、安全等級等。
  * 每個事件都有一個安全等級，決定哪些員工可以查看該事件。
  * </p>
+ * <p>
+ * 重複事件以一筆資料保存整個系列：開始與結束時間為第一次發生，重複規則與例外日期決定其餘各次，
+ * 查詢時才依時間區間展開。單次例外是另一筆一般事件，記錄所屬系列及取代的發生時間，
+ * 被取代的發生同時列入系列的例外日期。
+ * </p>
  * 
  * @author YourName
  * @version 1.0
  * @since 2025-03-24
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_window_level", columnList = "start_time, end_time, security_level"),
+    @Index(name = "idx_events_creator_start", columnList = "creator_id, start_time"),
+    @Index(name = "idx_events_recurrence", columnList = "recurrence_rule, recurrence_end"),
+    @Index(name = "idx_events_series", columnList = "series_id, original_start_time"),
+    @Index(name = "idx_events_location_start", columnList = "location, start_time")
+})
 public class Event {
 
     /**
      * 事件ID，主鍵
+     * <p>
+     * 由 id_generators 表預先配置ID區段，讓Hibernate可以批次插入事件。
+     * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "event_id")
+    @TableGenerator(name = "event_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "events", allocationSize = 50)
     private Long id;
 
     /**
@@ -79,6 +105,64 @@ public class Event {
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<EventViewPermission> viewPermissions = new HashSet<>();
 
+    /**
+     * 特殊查看者員工ID的壓縮點陣圖（RoaringBitmap序列化格式）
+     * <p>
+     * 與 viewPermissions 同步維護，讓權限檢查及DTO轉換不需載入權限與員工實體。
+     * 為null表示尚未由既有權限資料建立。
+     * </p>
+     */
+    @Column(name = "special_viewer_bitmap", length = 1048576)
+    private byte[] specialViewerBitmap;
+
+    /**
+     * 已解碼的特殊查看者點陣圖，首次使用時由 specialViewerBitmap 建立
+     */
+    @Transient
+    private RoaringBitmap specialViewers;
+
+    /**
+     * 事件涵蓋的月份鍵（年 * 12 + 月 - 1），用於以索引快速找出與某個月份重疊的事件。
+     * 由開始與結束時間推導，於設定時間時自動維護。
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "event_month_spans",
+                     joinColumns = @JoinColumn(name = "event_id"),
+                     indexes = @Index(name = "idx_event_month_spans_month", columnList = "month_key, event_id"))
+    @Column(name = "month_key", nullable = false)
+    private Set<Integer> monthKeys = new HashSet<>();
+
+    /**
+     * 重複規則（RFC 5545 RRULE 子集），null 表示單次事件，見 {@link RecurrenceRule}
+     */
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+
+    /**
+     * 重複事件的例外日期（EXDATE），以逗號分隔，見 {@link RecurrenceRule#formatDates}
+     */
+    @Column(name = "recurrence_exdates", length = 4000)
+    private String recurrenceExceptions;
+
+    /**
+     * 重複事件最後一次發生的結束時間上限，由規則推導，用於找出與時間區間重疊的系列；
+     * 無限重複或單次事件為null
+     */
+    @Column(name = "recurrence_end")
+    private LocalDateTime recurrenceEnd;
+
+    /**
+     * 單次例外所屬的重複事件ID，一般事件為null
+     */
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    /**
+     * 單次例外取代的發生的原開始時間
+     */
+    @Column(name = "original_start_time")
+    private LocalDateTime originalStartTime;
+
     /**
      * 事件創建時間
      */
@@ -91,6 +175,15 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * 樂觀鎖版本，每次更新遞增；更新語句以版本為條件，並發修改不會互相覆蓋。
+     * 資料庫預設值為0，既有資料列及未帶版本的插入語句都從0開始
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     /**
      * 預設建構子
      */
@@ -119,6 +212,7 @@ public class Event {
         this.securityLevel = securityLevel;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = this.createdAt;
+        refreshMonthKeys();
     }
 
     /**
@@ -128,6 +222,10 @@ public class Event {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = createdAt;
+        refreshMonthKeys();
+        if (specialViewerBitmap == null) {
+            refreshSpecialViewers();
+        }
     }
 
     /**
@@ -210,6 +308,8 @@ public class Event {
      */
     public void setStartTime(LocalDateTime startTime) {
         this.startTime = startTime;
+        refreshMonthKeys();
+        refreshRecurrenceEnd();
     }
 
     /**
@@ -228,6 +328,8 @@ public class Event {
      */
     public void setEndTime(LocalDateTime endTime) {
         this.endTime = endTime;
+        refreshMonthKeys();
+        refreshRecurrenceEnd();
     }
 
     /**
@@ -302,6 +404,235 @@ public class Event {
         this.viewPermissions = viewPermissions;
     }
 
+    /**
+     * 檢查員工是否被特別授權查看此事件
+     * 
+     * @param employeeId 員工ID
+     * @return 是否為特殊查看者
+     */
+    public boolean isSpecialViewer(Long employeeId) {
+        return employeeId != null && specialViewers().contains(ViewerBitmapUtil.toKey(employeeId));
+    }
+
+    /**
+     * 獲取特殊查看者的員工ID集合
+     * 
+     * @return 特殊查看者的員工ID集合
+     */
+    public Set<Long> getSpecialViewerIds() {
+        return ViewerBitmapUtil.toIds(specialViewers());
+    }
+
+    /**
+     * 從點陣圖移除特殊查看者
+     * <p>
+     * 供直接透過資料庫刪除權限記錄的流程使用，以保持點陣圖與權限表一致。
+     * </p>
+     * 
+     * @param employeeId 員工ID
+     */
+    public void removeSpecialViewer(Long employeeId) {
+        updateSpecialViewers(viewers -> viewers.remove(ViewerBitmapUtil.toKey(employeeId)));
+    }
+
+    /**
+     * 以指定的員工ID集合取代特殊查看者點陣圖
+     * <p>
+     * 供以批次語句同步權限記錄的流程使用，整批變更只重新序列化一次。
+     * </p>
+     * 
+     * @param employeeIds 特殊查看者的員工ID集合
+     */
+    public void replaceSpecialViewers(Collection<Long> employeeIds) {
+        updateSpecialViewers(viewers -> {
+            viewers.clear();
+            for (Long employeeId : employeeIds) {
+                viewers.add(ViewerBitmapUtil.toKey(employeeId));
+            }
+        });
+    }
+
+    /**
+     * 依 viewPermissions 重新建立特殊查看者點陣圖
+     * <p>
+     * 用於新事件保存前由已加入的權限建立點陣圖，會載入權限集合。
+     * </p>
+     */
+    public void refreshSpecialViewers() {
+        updateSpecialViewers(viewers -> {
+            viewers.clear();
+            for (EventViewPermission permission : viewPermissions) {
+                viewers.add(ViewerBitmapUtil.toKey(permission.getEmployee().getId()));
+            }
+        });
+    }
+
+    /**
+     * 獲取事件涵蓋的月份鍵集合
+     * 
+     * @return 事件涵蓋的月份鍵集合
+     */
+    public Set<Integer> getMonthKeys() {
+        return monthKeys;
+    }
+
+    /**
+     * 依開始與結束時間重新計算事件涵蓋的月份鍵
+     * <p>
+     * 直接修改現有集合而非替換，讓Hibernate只寫入有變動的列。
+     * </p>
+     */
+    public void refreshMonthKeys() {
+        if (startTime == null || endTime == null) {
+            return;
+        }
+        Set<Integer> keys = new HashSet<>();
+        int last = monthKeyOf(endTime.isBefore(startTime) ? startTime : endTime);
+        for (int key = monthKeyOf(startTime); key <= last; key++) {
+            keys.add(key);
+        }
+        monthKeys.retainAll(keys);
+        monthKeys.addAll(keys);
+    }
+
+    /**
+     * 檢查事件是否與指定的半開區間 [start, end) 重疊
+     * <p>
+     * 與資料庫查詢使用相同的規則：開始時間早於區間結束，且結束時間晚於區間開始；
+     * 零長度事件若恰好位於區間開始也視為重疊。
+     * </p>
+     * 
+     * @param start 區間開始時間（包含）
+     * @param end 區間結束時間（不包含）
+     * @return 是否重疊
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startTime.isBefore(end) && (endTime.isAfter(start) || startTime.isEqual(start));
+    }
+
+    /**
+     * 計算時間所屬的月份鍵
+     * 
+     * @param time 時間
+     * @return 月份鍵（年 * 12 + 月 - 1）
+     */
+    public static int monthKeyOf(LocalDateTime time) {
+        return time.getYear() * 12 + time.getMonthValue() - 1;
+    }
+
+    /**
+     * 檢查是否為重複事件
+     * 
+     * @return 有重複規則時返回true
+     */
+    public boolean isRecurring() {
+        return recurrenceRule != null;
+    }
+
+    /**
+     * 獲取重複規則
+     * 
+     * @return RRULE 文字，單次事件為null
+     */
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    /**
+     * 獲取重複事件的例外日期
+     * 
+     * @return 例外日期列表，依時間排序
+     */
+    public List<LocalDateTime> getRecurrenceExceptions() {
+        return RecurrenceRule.parseDates(recurrenceExceptions);
+    }
+
+    /**
+     * 設置重複規則與例外日期
+     * 
+     * @param rule 重複規則，null 表示單次事件
+     * @param exceptions 例外日期，單次事件時忽略
+     */
+    public void setRecurrence(RecurrenceRule rule, Collection<LocalDateTime> exceptions) {
+        this.recurrenceRule = rule != null ? rule.toString() : null;
+        this.recurrenceExceptions = rule != null ? RecurrenceRule.formatDates(exceptions) : null;
+        refreshRecurrenceEnd();
+    }
+
+    /**
+     * 將某次發生加入例外日期
+     * 
+     * @param occurrenceStart 該次發生的開始時間
+     */
+    public void addRecurrenceException(LocalDateTime occurrenceStart) {
+        List<LocalDateTime> exceptions = getRecurrenceExceptions();
+        exceptions.add(occurrenceStart);
+        recurrenceExceptions = RecurrenceRule.formatDates(exceptions);
+    }
+
+    /**
+     * 獲取重複事件最後一次發生的結束時間上限
+     * 
+     * @return 結束時間上限，無限重複或單次事件為null
+     */
+    public LocalDateTime getRecurrenceEnd() {
+        return recurrenceEnd;
+    }
+
+    /**
+     * 獲取事件影響範圍的結束時間：單次事件為結束時間，重複事件為最後一次發生的結束時間，
+     * 無限重複時為 {@link LocalDateTime#MAX}。用於讓涵蓋的月份快取失效
+     * 
+     * @return 影響範圍的結束時間
+     */
+    public LocalDateTime getLastEndTime() {
+        if (!isRecurring()) {
+            return endTime;
+        }
+        return recurrenceEnd != null ? recurrenceEnd : LocalDateTime.MAX;
+    }
+
+    /**
+     * 依重複規則與開始、結束時間重新計算最後一次發生的結束時間上限
+     */
+    public void refreshRecurrenceEnd() {
+        if (recurrenceRule == null || startTime == null || endTime == null) {
+            recurrenceEnd = null;
+            return;
+        }
+        LocalDateTime lastStart = RecurrenceRule.parse(recurrenceRule).lastStartBound(startTime);
+        recurrenceEnd = lastStart != null ? lastStart.plus(Duration.between(startTime, endTime)) : null;
+    }
+
+    /**
+     * 獲取單次例外所屬的重複事件ID
+     * 
+     * @return 重複事件ID，一般事件為null
+     */
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    /**
+     * 獲取單次例外取代的發生的原開始時間
+     * 
+     * @return 原開始時間，一般事件為null
+     */
+    public LocalDateTime getOriginalStartTime() {
+        return originalStartTime;
+    }
+
+    /**
+     * 將事件設為重複事件某次發生的單次例外
+     * 
+     * @param seriesId 重複事件ID
+     * @param originalStartTime 被取代的發生的原開始時間
+     */
+    public void setOverrideOf(Long seriesId, LocalDateTime originalStartTime) {
+        this.seriesId = seriesId;
+        this.originalStartTime = originalStartTime;
+    }
+
     /**
      * 獲取事件創建時間
      * 
@@ -338,6 +669,15 @@ public class Event {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * 獲取樂觀鎖版本
+     * 
+     * @return 版本
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * 添加特殊查看權限
      * 
@@ -347,6 +687,7 @@ public class Event {
         EventViewPermission permission = new EventViewPermission(this, employee);
         viewPermissions.add(permission);
         employee.getEventViewPermissions().add(permission);
+        updateSpecialViewers(viewers -> viewers.add(ViewerBitmapUtil.toKey(employee.getId())));
     }
 
     /**
@@ -362,6 +703,7 @@ public class Event {
                 break;
             }
         }
+        removeSpecialViewer(employee.getId());
     }
 
     /**
@@ -382,13 +724,43 @@ public class Event {
         }
         
         // 檢查特殊權限
-        for (EventViewPermission permission : viewPermissions) {
-            if (permission.getEmployee().equals(employee)) {
-                return true;
-            }
+        return isSpecialViewer(employee.getId());
+    }
+
+    /**
+     * 依員工ID與安全等級檢查是否有權限查看此事件，不需載入員工實體
+     * 
+     * @param employeeId 員工ID
+     * @param employeeSecurityLevel 員工安全等級
+     * @return 是否有權限查看
+     */
+    public boolean canBeViewedBy(Long employeeId, SecurityLevel employeeSecurityLevel) {
+        return creator.getId().equals(employeeId)
+               || employeeSecurityLevel.hasAccessTo(securityLevel)
+               || isSpecialViewer(employeeId);
+    }
+
+    /**
+     * 獲取已解碼的特殊查看者點陣圖
+     * 
+     * @return 特殊查看者點陣圖
+     */
+    private RoaringBitmap specialViewers() {
+        if (specialViewers == null) {
+            specialViewers = ViewerBitmapUtil.decode(specialViewerBitmap);
         }
-        
-        return false;
+        return specialViewers;
+    }
+
+    /**
+     * 修改特殊查看者點陣圖並重新序列化，讓Hibernate偵測到欄位變更
+     * 
+     * @param change 對點陣圖的修改
+     */
+    private void updateSpecialViewers(Consumer<RoaringBitmap> change) {
+        RoaringBitmap viewers = specialViewers();
+        change.accept(viewers);
+        specialViewerBitmap = ViewerBitmapUtil.encode(viewers);
     }
 
     @Override
@@ -15,14 +15,21 @@ import java.time.LocalDateTime;
  * @since 2025-03-24
  */
 @Entity
-@Table(name = "event_view_permissions")
+@Table(name = "event_view_permissions", indexes = {
+    @Index(name = "idx_evp_employee_event", columnList = "employee_id, event_id")
+})
 public class EventViewPermission {
 
     /**
      * 權限ID，主鍵
+     * <p>
+     * 由 id_generators 表預先配置ID區段，讓Hibernate可以批次插入權限。
+     * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "event_view_permission_id")
+    @TableGenerator(name = "event_view_permission_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "event_view_permissions", allocationSize = 50)
     private Long id;
 
     /**
@@ -0,0 +1,266 @@
+package com.company.calendar.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌實體類
+ * <p>
+ * 刷新令牌是不透明的隨機字串，資料庫只保存其SHA-256雜湊。每次刷新都會作廢舊令牌並簽發同一家族的新令牌；
+ * 已使用過的令牌再次出現即視為遭竊重放，整個家族隨即被撤銷。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    /**
+     * 刷新令牌ID，主鍵
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 令牌的SHA-256雜湊（十六進位）
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * 令牌家族ID，同一次登入後輪換出的令牌共用
+     */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * 令牌所屬的員工
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    /**
+     * 簽發時員工的令牌版本，版本變更後無法再刷新
+     */
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    /**
+     * 到期時間
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 簽發時間
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 使用（輪換）時間，未使用時為null
+     */
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    /**
+     * 是否已撤銷
+     */
+    @Column(nullable = false)
+    private boolean revoked;
+
+    /**
+     * 預設建構子
+     */
+    public RefreshToken() {
+    }
+
+    /**
+     * 建構子
+     * 
+     * @param tokenHash 令牌的SHA-256雜湊
+     * @param familyId 令牌家族ID
+     * @param employee 令牌所屬的員工
+     * @param expiresAt 到期時間
+     */
+    public RefreshToken(String tokenHash, String familyId, Employee employee, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.employee = employee;
+        this.tokenVersion = employee.getTokenVersion();
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    /**
+     * 獲取刷新令牌ID
+     * 
+     * @return 刷新令牌ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * 設置刷新令牌ID
+     * 
+     * @param id 刷新令牌ID
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * 獲取令牌的SHA-256雜湊
+     * 
+     * @return 令牌雜湊
+     */
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    /**
+     * 設置令牌的SHA-256雜湊
+     * 
+     * @param tokenHash 令牌雜湊
+     */
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    /**
+     * 獲取令牌家族ID
+     * 
+     * @return 令牌家族ID
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    /**
+     * 設置令牌家族ID
+     * 
+     * @param familyId 令牌家族ID
+     */
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
+    /**
+     * 獲取令牌所屬的員工
+     * 
+     * @return 員工
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    /**
+     * 設置令牌所屬的員工
+     * 
+     * @param employee 員工
+     */
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+
+    /**
+     * 獲取簽發時員工的令牌版本
+     * 
+     * @return 令牌版本
+     */
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * 設置簽發時員工的令牌版本
+     * 
+     * @param tokenVersion 令牌版本
+     */
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * 獲取到期時間
+     * 
+     * @return 到期時間
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * 設置到期時間
+     * 
+     * @param expiresAt 到期時間
+     */
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 獲取簽發時間
+     * 
+     * @return 簽發時間
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * 設置簽發時間
+     * 
+     * @param createdAt 簽發時間
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 獲取使用時間
+     * 
+     * @return 使用時間，未使用時為null
+     */
+    public LocalDateTime getUsedAt() {
+        return usedAt;
+    }
+
+    /**
+     * 設置使用時間
+     * 
+     * @param usedAt 使用時間
+     */
+    public void setUsedAt(LocalDateTime usedAt) {
+        this.usedAt = usedAt;
+    }
+
+    /**
+     * 獲取是否已撤銷
+     * 
+     * @return 是否已撤銷
+     */
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    /**
+     * 設置是否已撤銷
+     * 
+     * @param revoked 是否已撤銷
+     */
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+}
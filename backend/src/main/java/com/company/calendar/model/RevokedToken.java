@@ -0,0 +1,115 @@
+package com.company.calendar.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 已撤銷令牌實體類
+ * <p>
+ * 以JWT的令牌ID（jti）記錄登出或被撤銷的令牌，直到令牌原本的到期時間為止。
+ * 到期後的記錄已無作用，由背景清理工作刪除。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    /**
+     * 令牌ID（jti），主鍵
+     */
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    /**
+     * 令牌原本的到期時間
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 撤銷時間
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    /**
+     * 預設建構子
+     */
+    public RevokedToken() {
+    }
+
+    /**
+     * 建構子
+     * 
+     * @param tokenId 令牌ID
+     * @param expiresAt 令牌原本的到期時間
+     */
+    public RevokedToken(String tokenId, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    /**
+     * 獲取令牌ID
+     * 
+     * @return 令牌ID
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * 設置令牌ID
+     * 
+     * @param tokenId 令牌ID
+     */
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    /**
+     * 獲取令牌原本的到期時間
+     * 
+     * @return 到期時間
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * 設置令牌原本的到期時間
+     * 
+     * @param expiresAt 到期時間
+     */
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 獲取撤銷時間
+     * 
+     * @return 撤銷時間
+     */
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    /**
+     * 設置撤銷時間
+     * 
+     * @param revokedAt 撤銷時間
+     */
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
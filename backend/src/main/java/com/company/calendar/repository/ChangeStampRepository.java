@@ -0,0 +1,46 @@
+package com.company.calendar.repository;
+
+import com.company.calendar.model.ChangeStamp;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 行事曆變更戳記資料庫操作介面
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Repository
+public interface ChangeStampRepository extends JpaRepository<ChangeStamp, Integer> {
+    
+    /**
+     * 查詢已存在的戳記ID
+     * 
+     * @return 戳記ID列表
+     */
+    @Query("SELECT s.id FROM ChangeStamp s")
+    List<Integer> findAllIds();
+    
+    /**
+     * 遞增指定戳記
+     * <p>
+     * 不在交易中呼叫時自行開啟交易。
+     * </p>
+     * 
+     * @param ids 戳記ID
+     * @return 更新的筆數
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChangeStamp s SET s.stamp = s.stamp + 1 WHERE s.id IN :ids")
+    int increment(@Param("ids") Collection<Integer> ids);
+}
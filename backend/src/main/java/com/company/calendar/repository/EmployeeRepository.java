@@ -4,8 +4,11 @@ import com.company.calendar.enums.SecurityLevel;
 import com.company.calendar.model.Employee;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -84,4 +87,22 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return 安全等級低於指定等級的員工列表
      */
     List<Employee> findBySecurityLevelGreaterThan(SecurityLevel securityLevel);
-}
\ No newline at end of file
+    
+    /**
+     * 查詢啟用中員工的令牌版本
+     * 
+     * @param id 員工ID
+     * @return 令牌版本，員工不存在或已停用時返回空
+     */
+    @Query("SELECT e.tokenVersion FROM Employee e WHERE e.id = :id AND e.active = true")
+    Optional<Integer> findActiveTokenVersion(@Param("id") Long id);
+    
+    /**
+     * 查詢指定ID中存在的員工ID
+     * 
+     * @param ids 員工ID集合
+     * @return 存在的員工ID列表
+     */
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -3,14 +3,25 @@ package com.company.calendar.repository;
 import com.company.calendar.enums.SecurityLevel;
 import com.company.calendar.model.Employee;
 import com.company.calendar.model.Event;
+import com.company.calendar.repository.projection.EmployeeBusySlot;
+import com.company.calendar.repository.projection.EventSummary;
+import com.company.calendar.repository.projection.EventTimeSlot;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 事件資料庫操作介面
@@ -25,6 +36,39 @@ import java.util.List;
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
+    /**
+     * 事件摘要投影的查詢欄位，需搭配別名為 e 的事件及別名為 c 的創建者使用
+     */
+    String SUMMARY_COLUMNS = "SELECT e.id AS id, e.title AS title, e.description AS description, " +
+            "e.startTime AS startTime, e.endTime AS endTime, e.location AS location, " +
+            "c.id AS creatorId, c.username AS creatorUsername, e.securityLevel AS securityLevel, " +
+            "e.specialViewerBitmap AS specialViewerBitmap, e.createdAt AS createdAt, e.updatedAt AS updatedAt, " +
+            "e.version AS version, e.recurrenceRule AS recurrenceRule, " +
+            "e.recurrenceExceptions AS recurrenceExceptions, e.seriesId AS seriesId, " +
+            "e.originalStartTime AS originalStartTime ";
+    
+    /**
+     * 游標分頁條件：排在 (afterStart, afterId) 之後的事件
+     */
+    String AFTER_CURSOR = "(e.startTime > :afterStart OR (e.startTime = :afterStart AND e.id > :afterId)) ";
+    
+    /**
+     * 可見性條件：安全等級在可存取等級內、自己創建或被特別授權的事件
+     */
+    String VISIBLE_TO = "(e.securityLevel IN :levels OR c.id = :employeeId OR EXISTS (" +
+            "SELECT p.id FROM EventViewPermission p WHERE p.event = e AND p.employee.id = :employeeId)) ";
+    
+    /**
+     * 忙碌時段條件：單次事件與區間重疊，或重複事件可能有某次發生與區間重疊
+     */
+    String BUSY_IN_WINDOW = "e.startTime < :end AND (e.endTime > :start OR (e.recurrenceRule IS NOT NULL " +
+            "AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd >= :start))) ";
+    
+    /**
+     * 游標分頁排序
+     */
+    String PAGE_ORDER = "ORDER BY e.startTime, e.id";
+    
     /**
      * 查找指定創建者創建的所有事件
      * 
@@ -66,13 +110,13 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      * 
      * @param employee 指定員工
      * @param employeeLevel 員工安全等級
-     * @param start 開始時間
-     * @param end 結束時間
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
      * @return 員工有權限查看的事件列表
      */
     @Query("SELECT DISTINCT e FROM Event e LEFT JOIN e.viewPermissions p " +
            "WHERE (e.creator = :employee OR e.securityLevel >= :employeeLevel OR p.employee = :employee) " +
-           "AND (e.startTime BETWEEN :start AND :end OR e.endTime BETWEEN :start AND :end)")
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
     List<Event> findVisibleEventsForEmployee(
         @Param("employee") Employee employee,
         @Param("employeeLevel") SecurityLevel employeeLevel,
@@ -81,14 +125,120 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     );
     
     /**
-     * 查找指定月份的所有事件
+     * 查找指定員工在時間區間內創建的事件
+     * <p>
+     * 可見性查詢的「創建者」分支，使用 events(creator_id, start_time) 索引。
+     * </p>
+     * 
+     * @param creatorId 創建者ID
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 時間區間內由該員工創建的事件列表
+     */
+    @Query("SELECT e FROM Event e " +
+           "WHERE e.creator.id = :creatorId " +
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
+    List<Event> findCreatedEventsInWindow(
+        @Param("creatorId") Long creatorId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找時間區間內屬於指定安全等級的事件
+     * <p>
+     * 可見性查詢的「安全等級」分支。先由 event_month_spans(month_key, event_id) 索引
+     * 找出涵蓋區間月份的事件，因此跨越多週或多月的長事件也不需要掃描整段歷史。
+     * 時間條件為半開區間重疊：開始早於區間結束且結束晚於區間開始。
+     * </p>
+     * 
+     * @param levels 可查看的安全等級集合
+     * @param fromMonth 區間開始時間的月份鍵，見 {@link Event#monthKeyOf}
+     * @param toMonth 區間結束時間的月份鍵
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 時間區間內屬於指定安全等級的事件列表
+     */
+    @Query("SELECT e FROM Event e " +
+           "WHERE e.securityLevel IN :levels " +
+           "AND e.id IN (SELECT s.id FROM Event s JOIN s.monthKeys m WHERE m BETWEEN :fromMonth AND :toMonth) " +
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
+    List<Event> findEventsBySecurityLevelsInWindow(
+        @Param("levels") Collection<SecurityLevel> levels,
+        @Param("fromMonth") int fromMonth,
+        @Param("toMonth") int toMonth,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找時間區間內指定員工被特別授權查看的事件
+     * <p>
+     * 可見性查詢的「特殊權限」分支，從 event_view_permissions(employee_id, event_id) 索引出發，
+     * 再以主鍵取回事件。
+     * </p>
      * 
-     * @param year 年份
-     * @param month 月份（1-12）
-     * @return 指定月份的事件列表
+     * @param employeeId 員工ID
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 時間區間內員工被特別授權查看的事件列表
+     */
+    @Query("SELECT e FROM EventViewPermission p JOIN p.event e " +
+           "WHERE p.employee.id = :employeeId " +
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
+    List<Event> findPermittedEventsInWindow(
+        @Param("employeeId") Long employeeId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 依ID順序查找尚未建立月份鍵的事件ID
+     * <p>
+     * 用於升級後分批補齊 event_month_spans 表中既有事件的資料。
+     * </p>
+     * 
+     * @param afterId 上一批最後一筆的ID
+     * @param limit 筆數上限
+     * @return 沒有月份鍵的事件ID列表
      */
-    @Query("SELECT e FROM Event e WHERE EXTRACT(YEAR FROM e.startTime) = :year AND EXTRACT(MONTH FROM e.startTime) = :month")
-    List<Event> findByYearAndMonth(@Param("year") int year, @Param("month") int month);
+    @Query("SELECT e.id FROM Event e WHERE e.monthKeys IS EMPTY AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsWithoutMonthKeys(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * 依ID查找事件並一併載入月份鍵集合
+     * 
+     * @param ids 事件ID
+     * @return 事件列表
+     */
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.monthKeys WHERE e.id IN :ids")
+    List<Event> findAllWithMonthKeysByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 依ID順序查找尚未建立特殊查看者點陣圖的事件ID
+     * <p>
+     * 用於升級後由 event_view_permissions 表分批補齊既有事件的點陣圖。
+     * </p>
+     * 
+     * @param afterId 上一批最後一筆的ID
+     * @param limit 筆數上限
+     * @return 沒有特殊查看者點陣圖的事件ID列表
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.specialViewerBitmap IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsWithoutSpecialViewerBitmap(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * 查找所有事件的時間槽
+     * <p>
+     * 用於在啟動時建立記憶體中的事件時間索引。
+     * </p>
+     * 
+     * @return 所有事件的時間槽列表
+     */
+    @Query("SELECT e.id AS id, e.startTime AS startTime, e.endTime AS endTime, " +
+           "e.securityLevel AS securityLevel, e.creator.id AS creatorId, " +
+           "e.recurrenceRule AS recurrenceRule FROM Event e")
+    List<EventTimeSlot> findAllTimeSlots();
     
     /**
      * 搜索事件標題或描述包含指定關鍵字的所有事件
@@ -97,4 +247,354 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      * @return 匹配的事件列表
      */
     List<Event> findByTitleContainingOrDescriptionContaining(String keyword, String sameKeyword);
-}
\ No newline at end of file
+    
+    /**
+     * 查找所有事件的摘要
+     * 
+     * @return 所有事件的摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c")
+    List<EventSummary> findAllSummaries();
+    
+    /**
+     * 依ID查找事件摘要
+     * 
+     * @param ids 事件ID集合
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE e.id IN :ids")
+    List<EventSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 查找開始時間位於 [start, end] 的事件摘要
+     * 
+     * @param start 開始時間（包含）
+     * @param end 結束時間（包含）
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE e.startTime BETWEEN :start AND :end")
+    List<EventSummary> findSummariesStartingBetween(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找開始時間位於半開區間 [start, end) 的事件摘要
+     * <p>
+     * 用於月、週、季等期間查詢，見 {@link com.company.calendar.util.CalendarPeriod}。
+     * 直接比較 start_time 欄位，可使用 events(start_time, ...) 索引做範圍掃描。
+     * </p>
+     * 
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE e.startTime >= :start AND e.startTime < :end")
+    List<EventSummary> findSummariesStartingIn(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找指定創建者創建的所有事件摘要
+     * 
+     * @param creatorId 創建者ID
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE c.id = :creatorId")
+    List<EventSummary> findSummariesByCreatorId(@Param("creatorId") Long creatorId);
+    
+    /**
+     * 搜索標題或描述包含指定關鍵字且員工可見的事件摘要
+     * 
+     * @param keyword 關鍵字
+     * @param employeeId 查詢的員工ID
+     * @param levels 員工可存取的安全等級
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " +
+           "WHERE (e.title LIKE CONCAT('%', :keyword, '%') OR e.description LIKE CONCAT('%', :keyword, '%')) " +
+           "AND " + VISIBLE_TO)
+    List<EventSummary> searchSummaries(
+        @Param("keyword") String keyword,
+        @Param("employeeId") Long employeeId,
+        @Param("levels") Collection<SecurityLevel> levels
+    );
+    
+    /**
+     * 查找指定員工在時間區間內創建的事件摘要
+     * <p>
+     * 與 {@link #findCreatedEventsInWindow} 條件相同，直接投影為摘要；重複事件另由
+     * {@link #findVisibleSeriesSummariesInWindow} 查詢後展開。
+     * </p>
+     * 
+     * @param creatorId 創建者ID
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " +
+           "WHERE c.id = :creatorId AND e.recurrenceRule IS NULL " +
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
+    List<EventSummary> findCreatedSummariesInWindow(
+        @Param("creatorId") Long creatorId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找時間區間內屬於指定安全等級的事件摘要
+     * <p>
+     * 與 {@link #findEventsBySecurityLevelsInWindow} 條件相同，直接投影為摘要，不含重複事件。
+     * </p>
+     * 
+     * @param levels 可查看的安全等級集合
+     * @param fromMonth 區間開始時間的月份鍵
+     * @param toMonth 區間結束時間的月份鍵
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " +
+           "WHERE e.securityLevel IN :levels AND e.recurrenceRule IS NULL " +
+           "AND e.id IN (SELECT s.id FROM Event s JOIN s.monthKeys m WHERE m BETWEEN :fromMonth AND :toMonth) " +
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
+    List<EventSummary> findSummariesBySecurityLevelsInWindow(
+        @Param("levels") Collection<SecurityLevel> levels,
+        @Param("fromMonth") int fromMonth,
+        @Param("toMonth") int toMonth,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找時間區間內指定員工被特別授權查看的事件摘要
+     * <p>
+     * 與 {@link #findPermittedEventsInWindow} 條件相同，直接投影為摘要，不含重複事件。
+     * </p>
+     * 
+     * @param employeeId 員工ID
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM EventViewPermission p JOIN p.event e JOIN e.creator c " +
+           "WHERE p.employee.id = :employeeId AND e.recurrenceRule IS NULL " +
+           "AND e.startTime < :end AND (e.endTime > :start OR e.startTime = :start)")
+    List<EventSummary> findPermittedSummariesInWindow(
+        @Param("employeeId") Long employeeId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找員工可見且可能有某次發生與時間區間重疊的重複事件摘要
+     * <p>
+     * 由 events(recurrence_rule, recurrence_end) 索引只掃描重複事件：第一次發生早於區間結束，
+     * 且最後一次發生的結束時間上限不早於區間開始或沒有上限。確切的發生由呼叫端依規則展開。
+     * </p>
+     * 
+     * @param employeeId 員工ID
+     * @param levels 員工可存取的安全等級
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 重複事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " +
+           "WHERE e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :end AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd >= :start) " +
+           "AND " + VISIBLE_TO)
+    List<EventSummary> findVisibleSeriesSummariesInWindow(
+        @Param("employeeId") Long employeeId,
+        @Param("levels") Collection<SecurityLevel> levels,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找指定員工們在時間區間內忙碌的事件時段
+     * <p>
+     * 員工創建或被特別授權的事件都視為忙碌，不論安全等級。單次事件須與區間重疊；
+     * 重複事件只以第一次發生與最後一次發生的結束時間上限篩選，確切的發生由呼叫端展開。
+     * 兩個分支分別走 events(creator_id, start_time) 與 event_view_permissions(employee_id, event_id) 索引，
+     * 以 UNION ALL 合併為一次查詢；同一事件對每位相關員工各有一列。
+     * </p>
+     * 
+     * @param employeeIds 員工ID集合
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 員工忙碌時段列表
+     */
+    @Query("SELECT new com.company.calendar.repository.projection.EmployeeBusySlot(" +
+           "e.creator.id, e.startTime, e.endTime, e.recurrenceRule, e.recurrenceExceptions) " +
+           "FROM Event e WHERE e.creator.id IN :employeeIds AND " + BUSY_IN_WINDOW +
+           "UNION ALL " +
+           "SELECT new com.company.calendar.repository.projection.EmployeeBusySlot(" +
+           "p.employee.id, e.startTime, e.endTime, e.recurrenceRule, e.recurrenceExceptions) " +
+           "FROM EventViewPermission p JOIN p.event e WHERE p.employee.id IN :employeeIds AND " + BUSY_IN_WINDOW)
+    List<EmployeeBusySlot> findBusySlotsInWindow(
+        @Param("employeeIds") Collection<Long> employeeIds,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找指定地點在時間區間內的事件時段
+     * <p>
+     * 篩選條件與 {@link #findBusySlotsInWindow} 相同，員工ID為事件創建者，只供呼叫端展開重複事件時使用。
+     * </p>
+     * 
+     * @param location 地點
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 地點忙碌時段列表
+     */
+    @Query("SELECT new com.company.calendar.repository.projection.EmployeeBusySlot(" +
+           "e.creator.id, e.startTime, e.endTime, e.recurrenceRule, e.recurrenceExceptions) " +
+           "FROM Event e WHERE e.location = :location AND " + BUSY_IN_WINDOW)
+    List<EmployeeBusySlot> findLocationBusySlotsInWindow(
+        @Param("location") String location,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    /**
+     * 查找重複事件的所有單次例外
+     * 
+     * @param seriesId 重複事件ID
+     * @return 單次例外列表
+     */
+    List<Event> findBySeriesId(Long seriesId);
+    
+    /**
+     * 查找所有事件摘要的第一頁
+     * 
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " + PAGE_ORDER)
+    List<EventSummary> findSummariesPage(Limit limit);
+    
+    /**
+     * 查找所有事件摘要中排在游標之後的一頁
+     * 
+     * @param afterStart 上一頁最後一筆的開始時間
+     * @param afterId 上一頁最後一筆的ID
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE " + AFTER_CURSOR + PAGE_ORDER)
+    List<EventSummary> findSummariesPageAfter(
+        @Param("afterStart") LocalDateTime afterStart,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+    
+    /**
+     * 查找指定創建者事件摘要的第一頁
+     * 
+     * @param creatorId 創建者ID
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE c.id = :creatorId " + PAGE_ORDER)
+    List<EventSummary> findSummariesPageByCreatorId(@Param("creatorId") Long creatorId, Limit limit);
+    
+    /**
+     * 查找指定創建者事件摘要中排在游標之後的一頁
+     * 
+     * @param creatorId 創建者ID
+     * @param afterStart 上一頁最後一筆的開始時間
+     * @param afterId 上一頁最後一筆的ID
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c WHERE c.id = :creatorId AND " + AFTER_CURSOR + PAGE_ORDER)
+    List<EventSummary> findSummariesPageByCreatorIdAfter(
+        @Param("creatorId") Long creatorId,
+        @Param("afterStart") LocalDateTime afterStart,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+    
+    /**
+     * 搜索員工可見事件摘要的第一頁
+     * 
+     * @param keyword 關鍵字
+     * @param employeeId 查詢的員工ID
+     * @param levels 員工可存取的安全等級
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " +
+           "WHERE (e.title LIKE CONCAT('%', :keyword, '%') OR e.description LIKE CONCAT('%', :keyword, '%')) " +
+           "AND " + VISIBLE_TO + PAGE_ORDER)
+    List<EventSummary> searchSummariesPage(
+        @Param("keyword") String keyword,
+        @Param("employeeId") Long employeeId,
+        @Param("levels") Collection<SecurityLevel> levels,
+        Limit limit
+    );
+    
+    /**
+     * 搜索員工可見事件摘要中排在游標之後的一頁
+     * 
+     * @param keyword 關鍵字
+     * @param employeeId 查詢的員工ID
+     * @param levels 員工可存取的安全等級
+     * @param afterStart 上一頁最後一筆的開始時間
+     * @param afterId 上一頁最後一筆的ID
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件摘要列表
+     */
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c " +
+           "WHERE (e.title LIKE CONCAT('%', :keyword, '%') OR e.description LIKE CONCAT('%', :keyword, '%')) " +
+           "AND " + VISIBLE_TO + "AND " + AFTER_CURSOR + PAGE_ORDER)
+    List<EventSummary> searchSummariesPageAfter(
+        @Param("keyword") String keyword,
+        @Param("employeeId") Long employeeId,
+        @Param("levels") Collection<SecurityLevel> levels,
+        @Param("afterStart") LocalDateTime afterStart,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+    
+    /**
+     * 以串流逐筆讀取所有事件摘要，依ID排序
+     * <p>
+     * 用於匯出。投影結果不會進入持久化上下文，搭配JDBC fetch size 分批自資料庫讀取，
+     * 記憶體用量與事件總數無關。呼叫端需在唯讀交易中使用並關閉串流。
+     * MySQL需在連線參數啟用 useCursorFetch 才會依 fetch size 分批讀取。
+     * </p>
+     * 
+     * @return 事件摘要串流
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY_COLUMNS + "FROM Event e JOIN e.creator c ORDER BY e.id")
+    Stream<EventSummary> streamAllSummaries();
+    
+    /**
+     * 依ID查找事件並一併載入創建者及跨越的月份
+     * <p>
+     * 更新事件時需要創建者的安全等級，並會重新計算事件跨越的月份；一次查詢取得，
+     * 避免延遲載入各多一次往返。
+     * </p>
+     * 
+     * @param id 事件ID
+     * @return 事件
+     */
+    @Query("SELECT e FROM Event e JOIN FETCH e.creator LEFT JOIN FETCH e.monthKeys WHERE e.id = :id")
+    Optional<Event> findWithCreatorById(@Param("id") Long id);
+    
+    /**
+     * 只查詢事件的版本
+     * <p>
+     * 條件式GET比對ETag時使用，不需載入事件本身。
+     * </p>
+     * 
+     * @param id 事件ID
+     * @return 事件版本
+     */
+    @Query("SELECT e.version FROM Event e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
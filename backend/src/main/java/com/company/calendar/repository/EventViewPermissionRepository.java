@@ -3,10 +3,15 @@ package com.company.calendar.repository;
 import com.company.calendar.model.Employee;
 import com.company.calendar.model.Event;
 import com.company.calendar.model.EventViewPermission;
+import com.company.calendar.repository.projection.ViewerGrant;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +53,36 @@ public interface EventViewPermissionRepository extends JpaRepository<EventViewPe
      */
     Optional<EventViewPermission> findByEmployeeAndEvent(Employee employee, Event event);
     
+    /**
+     * 查找指定員工被特別授權查看的所有事件
+     * 
+     * @param employee 員工
+     * @return 員工被特別授權查看的事件列表
+     */
+    @Query("SELECT p.event FROM EventViewPermission p WHERE p.employee = :employee")
+    List<Event> findEventsByEmployee(@Param("employee") Employee employee);
+    
+    /**
+     * 查找所有特殊查看權限的事件ID與員工ID
+     * 
+     * @return 所有特殊查看權限列表
+     */
+    @Query("SELECT p.event.id AS eventId, p.employee.id AS employeeId FROM EventViewPermission p")
+    List<ViewerGrant> findAllGrants();
+    
+    /**
+     * 查詢指定事件的所有特殊查看權限
+     * <p>
+     * 只取事件ID與員工ID，不載入權限實體。
+     * </p>
+     * 
+     * @param eventIds 事件ID
+     * @return 特殊查看權限列表
+     */
+    @Query("SELECT p.event.id AS eventId, p.employee.id AS employeeId FROM EventViewPermission p " +
+           "WHERE p.event.id IN :eventIds")
+    List<ViewerGrant> findGrantsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+    
     /**
      * 刪除指定員工的所有查看權限
      * 
@@ -64,6 +99,18 @@ public interface EventViewPermissionRepository extends JpaRepository<EventViewPe
      */
     long deleteByEvent(Event event);
     
+    /**
+     * 以單一語句刪除指定事件中多位員工的查看權限
+     * 
+     * @param eventId 事件ID
+     * @param employeeIds 員工ID集合
+     * @return 刪除的記錄數
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM EventViewPermission p WHERE p.event.id = :eventId AND p.employee.id IN :employeeIds")
+    int deleteByEventIdAndEmployeeIdIn(@Param("eventId") Long eventId,
+                                       @Param("employeeIds") Collection<Long> employeeIds);
+    
     /**
      * 檢查指定員工是否有權限查看指定事件
      * 
@@ -0,0 +1,74 @@
+package com.company.calendar.repository;
+
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.RefreshToken;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌資料庫操作介面
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    /**
+     * 根據令牌雜湊查找刷新令牌
+     * 
+     * @param tokenHash 令牌的SHA-256雜湊
+     * @return 查詢結果，如果未找到則返回空
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    /**
+     * 將未使用的刷新令牌標記為已使用
+     * <p>
+     * 以條件更新保證同一令牌只能成功輪換一次，並行的重放請求會得到0。
+     * </p>
+     * 
+     * @param id 刷新令牌ID
+     * @param usedAt 使用時間
+     * @return 更新的記錄數
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.id = :id AND t.usedAt IS NULL AND t.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+    
+    /**
+     * 撤銷整個令牌家族
+     * 
+     * @param familyId 令牌家族ID
+     * @return 更新的記錄數
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+    
+    /**
+     * 刪除已到期的刷新令牌
+     * 
+     * @param now 目前時間
+     * @return 刪除的記錄數
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+    
+    /**
+     * 刪除員工的所有刷新令牌
+     * 
+     * @param employee 員工
+     * @return 刪除的記錄數
+     */
+    long deleteByEmployee(Employee employee);
+}
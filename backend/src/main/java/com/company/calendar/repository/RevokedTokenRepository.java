@@ -0,0 +1,42 @@
+package com.company.calendar.repository;
+
+import com.company.calendar.model.RevokedToken;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 已撤銷令牌資料庫操作介面
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    /**
+     * 查詢尚未到期的已撤銷令牌ID
+     * 
+     * @param now 目前時間
+     * @return 令牌ID列表
+     */
+    @Query("SELECT t.tokenId FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findUnexpiredTokenIds(@Param("now") LocalDateTime now);
+    
+    /**
+     * 刪除已到期的撤銷記錄
+     * 
+     * @param now 目前時間
+     * @return 刪除的記錄數
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
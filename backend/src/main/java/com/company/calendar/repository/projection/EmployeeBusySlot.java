@@ -0,0 +1,87 @@
+package com.company.calendar.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 員工忙碌時段投影
+ * <p>
+ * 每列為一筆事件與一位相關員工：事件創建者或被特別授權的員工。
+ * 只包含計算忙碌時段所需的時間欄位，不含事件標題、地點等內容。
+ * 一次查詢可能取回數千列，因此以建構子運算式直接建立，不經由介面投影的動態代理讀取欄位。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public class EmployeeBusySlot {
+
+    private final Long employeeId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String recurrenceRule;
+    private final String recurrenceExceptions;
+
+    /**
+     * 建構子，供 JPQL 建構子運算式使用
+     * 
+     * @param employeeId 事件創建者或被特別授權的員工ID
+     * @param startTime 事件開始時間
+     * @param endTime 事件結束時間
+     * @param recurrenceRule 重複規則
+     * @param recurrenceExceptions 重複事件的例外日期
+     */
+    public EmployeeBusySlot(Long employeeId, LocalDateTime startTime, LocalDateTime endTime,
+                            String recurrenceRule, String recurrenceExceptions) {
+        this.employeeId = employeeId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.recurrenceRule = recurrenceRule;
+        this.recurrenceExceptions = recurrenceExceptions;
+    }
+
+    /**
+     * 獲取忙碌的員工ID
+     * 
+     * @return 事件創建者或被特別授權的員工ID
+     */
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * 獲取事件開始時間
+     * 
+     * @return 事件開始時間
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 獲取事件結束時間
+     * 
+     * @return 事件結束時間
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * 獲取重複規則
+     * 
+     * @return RRULE 文字，單次事件為null
+     */
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    /**
+     * 獲取重複事件的例外日期
+     * 
+     * @return 以逗號分隔的例外日期，沒有例外時為null
+     */
+    public String getRecurrenceExceptions() {
+        return recurrenceExceptions;
+    }
+}
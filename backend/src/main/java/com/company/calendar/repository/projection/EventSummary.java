@@ -0,0 +1,138 @@
+package com.company.calendar.repository.projection;
+
+import com.company.calendar.enums.SecurityLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事件摘要投影
+ * <p>
+ * 包含轉換為事件資料傳輸物件所需的所有欄位，創建者資料以JOIN一併取得，
+ * 特殊查看者直接取自事件列上的點陣圖，列表查詢不需逐筆載入關聯實體。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public interface EventSummary {
+
+    /**
+     * 獲取事件ID
+     * 
+     * @return 事件ID
+     */
+    Long getId();
+
+    /**
+     * 獲取事件標題
+     * 
+     * @return 事件標題
+     */
+    String getTitle();
+
+    /**
+     * 獲取事件描述
+     * 
+     * @return 事件描述
+     */
+    String getDescription();
+
+    /**
+     * 獲取事件開始時間
+     * 
+     * @return 事件開始時間
+     */
+    LocalDateTime getStartTime();
+
+    /**
+     * 獲取事件結束時間
+     * 
+     * @return 事件結束時間
+     */
+    LocalDateTime getEndTime();
+
+    /**
+     * 獲取事件地點
+     * 
+     * @return 事件地點
+     */
+    String getLocation();
+
+    /**
+     * 獲取事件創建者ID
+     * 
+     * @return 事件創建者ID
+     */
+    Long getCreatorId();
+
+    /**
+     * 獲取事件創建者用戶名
+     * 
+     * @return 事件創建者用戶名
+     */
+    String getCreatorUsername();
+
+    /**
+     * 獲取事件安全等級
+     * 
+     * @return 事件安全等級
+     */
+    SecurityLevel getSecurityLevel();
+
+    /**
+     * 獲取序列化的特殊查看者點陣圖
+     * 
+     * @return 序列化的特殊查看者點陣圖
+     */
+    byte[] getSpecialViewerBitmap();
+
+    /**
+     * 獲取事件創建時間
+     * 
+     * @return 事件創建時間
+     */
+    LocalDateTime getCreatedAt();
+
+    /**
+     * 獲取事件更新時間
+     * 
+     * @return 事件更新時間
+     */
+    LocalDateTime getUpdatedAt();
+
+    /**
+     * 獲取樂觀鎖版本
+     * 
+     * @return 版本
+     */
+    Long getVersion();
+
+    /**
+     * 獲取重複規則
+     * 
+     * @return RRULE 文字，單次事件為null
+     */
+    String getRecurrenceRule();
+
+    /**
+     * 獲取重複事件的例外日期文字
+     * 
+     * @return 以逗號分隔的例外日期，沒有例外時為null
+     */
+    String getRecurrenceExceptions();
+
+    /**
+     * 獲取單次例外所屬的重複事件ID
+     * 
+     * @return 重複事件ID，一般事件為null
+     */
+    Long getSeriesId();
+
+    /**
+     * 獲取單次例外取代的發生的原開始時間
+     * 
+     * @return 原開始時間，一般事件為null
+     */
+    LocalDateTime getOriginalStartTime();
+}
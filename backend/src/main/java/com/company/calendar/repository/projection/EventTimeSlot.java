@@ -0,0 +1,60 @@
+package com.company.calendar.repository.projection;
+
+import com.company.calendar.enums.SecurityLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事件時間槽投影
+ * <p>
+ * 只包含判斷時間區間與可見性所需的欄位，不載入事件實體及其關聯。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public interface EventTimeSlot {
+
+    /**
+     * 獲取事件ID
+     * 
+     * @return 事件ID
+     */
+    Long getId();
+
+    /**
+     * 獲取事件開始時間
+     * 
+     * @return 事件開始時間
+     */
+    LocalDateTime getStartTime();
+
+    /**
+     * 獲取事件結束時間
+     * 
+     * @return 事件結束時間
+     */
+    LocalDateTime getEndTime();
+
+    /**
+     * 獲取事件安全等級
+     * 
+     * @return 事件安全等級
+     */
+    SecurityLevel getSecurityLevel();
+
+    /**
+     * 獲取事件創建者ID
+     * 
+     * @return 事件創建者ID
+     */
+    Long getCreatorId();
+
+    /**
+     * 獲取重複規則
+     * 
+     * @return RRULE 文字，單次事件為null
+     */
+    String getRecurrenceRule();
+}
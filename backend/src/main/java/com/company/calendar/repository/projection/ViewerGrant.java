@@ -0,0 +1,28 @@
+package com.company.calendar.repository.projection;
+
+/**
+ * 特殊查看權限投影
+ * <p>
+ * 只包含事件ID與被授權員工ID，不載入事件與員工實體。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public interface ViewerGrant {
+
+    /**
+     * 獲取事件ID
+     * 
+     * @return 事件ID
+     */
+    Long getEventId();
+
+    /**
+     * 獲取被授權員工ID
+     * 
+     * @return 被授權員工ID
+     */
+    Long getEmployeeId();
+}
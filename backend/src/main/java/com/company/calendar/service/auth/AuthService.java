@@ -2,6 +2,7 @@ package com.company.calendar.service.auth;
 
 import com.company.calendar.dto.EmployeeDTO;
 import com.company.calendar.dto.LoginDTO;
+import com.company.calendar.dto.TokenPairDTO;
 
 /**
  * 認證服務介面
@@ -30,6 +31,16 @@ public interface AuthService {
      */
     EmployeeDTO getCurrentEmployee();
     
+    /**
+     * 獲取當前登入用戶的身分
+     * <p>
+     * 直接取自安全上下文，不查詢資料庫。
+     * </p>
+     * 
+     * @return 當前登入用戶的身分，如果未登入則返回null
+     */
+    CalendarPrincipal getCurrentPrincipal();
+    
     /**
      * 檢查用戶是否已登入
      * 
@@ -39,8 +50,14 @@ public interface AuthService {
     
     /**
      * 登出當前用戶
+     * <p>
+     * 以令牌登入的用戶，其存取令牌會在伺服器端被撤銷，之後即使仍在有效期內也無法再使用；
+     * 提供刷新令牌時，其所屬的整個令牌家族一併撤銷。
+     * </p>
+     * 
+     * @param refreshToken 刷新令牌，可為null
      */
-    void logout();
+    void logout(String refreshToken);
     
     /**
      * 創建JWTToken
@@ -50,6 +67,25 @@ public interface AuthService {
      */
     String createToken(String username);
     
+    /**
+     * 為登入成功的用戶創建存取令牌及新家族的刷新令牌
+     * 
+     * @param username 用戶名
+     * @return 令牌組
+     */
+    TokenPairDTO createTokenPair(String username);
+    
+    /**
+     * 以刷新令牌換取新的存取令牌，並輪換刷新令牌
+     * <p>
+     * 每個刷新令牌只能使用一次；已使用過的令牌再次出現時整個令牌家族都會被撤銷。
+     * </p>
+     * 
+     * @param refreshToken 刷新令牌
+     * @return 新的令牌組，刷新令牌無效、過期、已撤銷或遭重放時返回null
+     */
+    TokenPairDTO refresh(String refreshToken);
+    
     /**
      * 從JWT令牌中獲取用戶名
      * 
@@ -58,6 +94,14 @@ public interface AuthService {
      */
     String getUsernameFromToken(String token);
     
+    /**
+     * 驗證JWT令牌並由其聲明還原員工身分
+     * 
+     * @param token JWT令牌
+     * @return 員工身分，令牌無效、聲明不完整或令牌版本已失效時返回null
+     */
+    CalendarPrincipal getPrincipalFromToken(String token);
+    
     /**
      * 驗證JWT令牌是否有效
      * 
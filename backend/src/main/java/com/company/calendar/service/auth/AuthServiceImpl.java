@@ -2,13 +2,14 @@ package com.company.calendar.service.auth;
 
 import com.company.calendar.dto.EmployeeDTO;
 import com.company.calendar.dto.LoginDTO;
+import com.company.calendar.dto.TokenPairDTO;
+import com.company.calendar.enums.SecurityLevel;
 import com.company.calendar.model.Employee;
 import com.company.calendar.repository.EmployeeRepository;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,10 +21,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * 認證服務實現類
@@ -38,16 +40,10 @@ import java.util.Optional;
 @Service
 public class AuthServiceImpl implements AuthService {
 
-    /**
-     * JWT密鑰
-     */
-    @Value("${jwt.secret:defaultSecretKeyNeedsToBeAtLeast32BytesLong}")
-    private String jwtSecret;
-    
     /**
      * JWT令牌有效期（毫秒）
      */
-    @Value("${jwt.expiration:86400000}")
+    @Value("${jwt.expiration:900000}")
     private long jwtExpirationMs;
     
     /**
@@ -65,20 +61,80 @@ public class AuthServiceImpl implements AuthService {
      */
     private final EmployeeRepository employeeRepository;
     
+    /**
+     * 員工目前令牌版本的登記表
+     */
+    private final TokenVersionRegistry tokenVersionRegistry;
+    
+    /**
+     * JWT令牌驗證器
+     */
+    private final TokenVerifier tokenVerifier;
+    
+    /**
+     * 已撤銷令牌的儲存
+     */
+    private final TokenRevocationStore tokenRevocationStore;
+    
+    /**
+     * 登入密碼驗證執行器
+     */
+    private final LoginVerificationExecutor loginVerificationExecutor;
+    
+    /**
+     * 刷新令牌服務
+     */
+    private final RefreshTokenService refreshTokenService;
+    
+    /**
+     * JWT聲明名稱：員工ID
+     */
+    private static final String CLAIM_EMPLOYEE_ID = "eid";
+    
+    /**
+     * JWT聲明名稱：安全等級
+     */
+    private static final String CLAIM_SECURITY_LEVEL = "lvl";
+    
+    /**
+     * JWT聲明名稱：部門
+     */
+    private static final String CLAIM_DEPARTMENT = "dept";
+    
+    /**
+     * JWT聲明名稱：令牌版本
+     */
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+    
     /**
      * 構造函數
      * 
      * @param authenticationManager 認證管理器
      * @param passwordEncoder 密碼編碼器
      * @param employeeRepository 員工資料庫操作介面
+     * @param tokenVersionRegistry 員工目前令牌版本的登記表
+     * @param tokenVerifier JWT令牌驗證器
+     * @param tokenRevocationStore 已撤銷令牌的儲存
+     * @param loginVerificationExecutor 登入密碼驗證執行器
+     * @param refreshTokenService 刷新令牌服務
      */
     @Autowired
     public AuthServiceImpl(AuthenticationManager authenticationManager,
                            PasswordEncoder passwordEncoder,
-                           EmployeeRepository employeeRepository) {
+                           EmployeeRepository employeeRepository,
+                           TokenVersionRegistry tokenVersionRegistry,
+                           TokenVerifier tokenVerifier,
+                           TokenRevocationStore tokenRevocationStore,
+                           LoginVerificationExecutor loginVerificationExecutor,
+                           RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.passwordEncoder = passwordEncoder;
         this.employeeRepository = employeeRepository;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenVerifier = tokenVerifier;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.loginVerificationExecutor = loginVerificationExecutor;
+        this.refreshTokenService = refreshTokenService;
     }
     
     /**
@@ -86,9 +142,10 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public EmployeeDTO login(LoginDTO loginDTO) {
-        Authentication authentication = authenticationManager.authenticate(
+        // 密碼驗證在專用執行緒上執行，滿載時拋出 ServiceBusyException
+        Authentication authentication = loginVerificationExecutor.execute(() -> authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(loginDTO.getUsername(), loginDTO.getPassword())
-        );
+        ));
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
@@ -107,11 +164,28 @@ public class AuthServiceImpl implements AuthService {
             return null;
         }
         
-        String username = ((UserDetails) authentication.getPrincipal()).getUsername();
-        Optional<Employee> employeeOpt = employeeRepository.findByUsername(username);
+        Optional<Employee> employeeOpt;
+        if (authentication.getPrincipal() instanceof CalendarPrincipal principal) {
+            employeeOpt = employeeRepository.findById(principal.getId());
+        } else {
+            String username = ((UserDetails) authentication.getPrincipal()).getUsername();
+            employeeOpt = employeeRepository.findByUsername(username);
+        }
         return employeeOpt.map(EmployeeDTO::new).orElse(null);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalendarPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CalendarPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -126,7 +200,12 @@ public class AuthServiceImpl implements AuthService {
      * {@inheritDoc}
      */
     @Override
-    public void logout() {
+    public void logout(String refreshToken) {
+        CalendarPrincipal principal = getCurrentPrincipal();
+        if (principal != null) {
+            tokenRevocationStore.revoke(principal.getTokenId(), principal.getTokenExpiresAt());
+        }
+        refreshTokenService.revoke(refreshToken);
         SecurityContextHolder.clearContext();
     }
     
@@ -135,16 +214,55 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public String createToken(String username) {
+        Employee employee = employeeRepository.findByUsername(username)
+            .orElseThrow(() -> new IllegalArgumentException("用戶不存在: " + username));
+        return createToken(employee);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TokenPairDTO createTokenPair(String username) {
+        Employee employee = employeeRepository.findByUsername(username)
+            .orElseThrow(() -> new IllegalArgumentException("用戶不存在: " + username));
+        return new TokenPairDTO(createToken(employee), refreshTokenService.issue(employee),
+                                jwtExpirationMs / 1000);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TokenPairDTO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        if (rotation == null) {
+            return null;
+        }
+        return new TokenPairDTO(createToken(rotation.getUsername()), rotation.getRefreshToken(),
+                                jwtExpirationMs / 1000);
+    }
+    
+    /**
+     * 為員工簽發帶有身分聲明的短效存取令牌
+     * 
+     * @param employee 員工
+     * @return JWT令牌
+     */
+    private String createToken(Employee employee) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
         return Jwts.builder()
-                   .setSubject(username)
+                   .setId(UUID.randomUUID().toString())
+                   .setSubject(employee.getUsername())
+                   .claim(CLAIM_EMPLOYEE_ID, employee.getId())
+                   .claim(CLAIM_SECURITY_LEVEL, employee.getSecurityLevel().name())
+                   .claim(CLAIM_DEPARTMENT, employee.getDepartment())
+                   .claim(CLAIM_TOKEN_VERSION, employee.getTokenVersion())
                    .setIssuedAt(now)
                    .setExpiration(expiryDate)
-                   .signWith(key, SignatureAlgorithm.HS256)
+                   .signWith(tokenVerifier.getSigningKey(), SignatureAlgorithm.HS256)
                    .compact();
     }
     
@@ -153,15 +271,39 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public String getUsernameFromToken(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return tokenVerifier.verify(token).getSubject();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalendarPrincipal getPrincipalFromToken(String token) {
+        Claims claims;
+        try {
+            claims = tokenVerifier.verify(token);
+        } catch (Exception e) {
+            return null;
+        }
         
-        Claims claims = Jwts.parserBuilder()
-                            .setSigningKey(key)
-                            .build()
-                            .parseClaimsJws(token)
-                            .getBody();
+        // 舊版令牌沒有身分聲明，需重新登入
+        Number employeeId = claims.get(CLAIM_EMPLOYEE_ID, Number.class);
+        String securityLevel = claims.get(CLAIM_SECURITY_LEVEL, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (employeeId == null || securityLevel == null || tokenVersion == null ||
+            claims.getId() == null || claims.getExpiration() == null) {
+            return null;
+        }
         
-        return claims.getSubject();
+        CalendarPrincipal principal = new CalendarPrincipal(employeeId.longValue(), claims.getSubject(),
+                SecurityLevel.valueOf(securityLevel), claims.get(CLAIM_DEPARTMENT, String.class),
+                tokenVersion.intValue(), claims.getId(),
+                LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+        if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion()) ||
+            tokenRevocationStore.isRevoked(principal.getTokenId())) {
+            return null;
+        }
+        return principal;
     }
     
     /**
@@ -170,13 +312,7 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public boolean validateToken(String token) {
         try {
-            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-            
+            tokenVerifier.verify(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -0,0 +1,158 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.enums.SecurityLevel;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+
+/**
+ * 已認證員工的輕量身分
+ * <p>
+ * 由JWT聲明還原，放在Spring Security上下文中，讓控制器與服務取得目前員工的
+ * ID、安全等級及部門時不需再查詢資料庫。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public final class CalendarPrincipal implements Principal {
+
+    /**
+     * 員工ID
+     */
+    private final Long id;
+
+    /**
+     * 用戶名
+     */
+    private final String username;
+
+    /**
+     * 安全等級
+     */
+    private final SecurityLevel securityLevel;
+
+    /**
+     * 部門
+     */
+    private final String department;
+
+    /**
+     * 簽發令牌時的令牌版本
+     */
+    private final int tokenVersion;
+
+    /**
+     * 令牌ID（jti），登出時用於撤銷令牌
+     */
+    private final String tokenId;
+
+    /**
+     * 令牌到期時間
+     */
+    private final LocalDateTime tokenExpiresAt;
+
+    /**
+     * 構造函數
+     *
+     * @param id 員工ID
+     * @param username 用戶名
+     * @param securityLevel 安全等級
+     * @param department 部門
+     * @param tokenVersion 令牌版本
+     * @param tokenId 令牌ID
+     * @param tokenExpiresAt 令牌到期時間
+     */
+    public CalendarPrincipal(Long id, String username, SecurityLevel securityLevel, String department,
+                             int tokenVersion, String tokenId, LocalDateTime tokenExpiresAt) {
+        this.id = id;
+        this.username = username;
+        this.securityLevel = securityLevel;
+        this.department = department;
+        this.tokenVersion = tokenVersion;
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    /**
+     * 獲取員工ID
+     *
+     * @return 員工ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * 獲取用戶名
+     *
+     * @return 用戶名
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * 獲取安全等級
+     *
+     * @return 安全等級
+     */
+    public SecurityLevel getSecurityLevel() {
+        return securityLevel;
+    }
+
+    /**
+     * 獲取部門
+     *
+     * @return 部門
+     */
+    public String getDepartment() {
+        return department;
+    }
+
+    /**
+     * 獲取令牌版本
+     *
+     * @return 令牌版本
+     */
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * 獲取令牌ID
+     *
+     * @return 令牌ID
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * 獲取令牌到期時間
+     *
+     * @return 令牌到期時間
+     */
+    public LocalDateTime getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarPrincipal{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", securityLevel=" + securityLevel +
+                ", department='" + department + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,167 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 登入密碼驗證執行器
+ * <p>
+ * BCrypt驗證刻意耗費CPU，登入尖峰時若直接在Tomcat請求執行緒上執行會拖慢所有其他API。
+ * 此執行器以與CPU核心數相同的專用執行緒執行驗證，並使用有界佇列；佇列已滿時立即拋出
+ * {@link ServiceBusyException}，由全局異常處理器回應 503 與 Retry-After，而不是讓請求執行緒堆積。
+ * 已排入佇列的驗證最多只等待約佇列容量乘以預期驗證耗時，逾時則取消並同樣回應 503，
+ * 避免請求執行緒在佇列前進緩慢時長時間被佔住。
+ * </p>
+ * <p>
+ * 指標：{@code auth.login.queue.depth}（等待中的驗證數）、{@code auth.login.active}（執行中的驗證數）、
+ * {@code auth.login.verify}（驗證耗時）、{@code auth.login.rejected}（因滿載被拒絕的次數）、
+ * {@code auth.login.timeout}（等待逾時的次數）。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class LoginVerificationExecutor implements DisposableBean {
+
+    /**
+     * 驗證執行緒池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 滿載時建議的重試等待秒數
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 等待驗證結果的最長毫秒數
+     */
+    private final long waitTimeoutMillis;
+
+    /**
+     * 驗證耗時
+     */
+    private final Timer verifyTimer;
+
+    /**
+     * 因滿載被拒絕的次數
+     */
+    private final Counter rejectedCounter;
+
+    /**
+     * 等待逾時的次數
+     */
+    private final Counter timeoutCounter;
+
+    /**
+     * 構造函數
+     *
+     * @param threads 驗證執行緒數，0表示使用CPU核心數
+     * @param queueCapacity 等待佇列容量
+     * @param retryAfterSeconds 滿載時建議的重試等待秒數
+     * @param expectedVerifyMillis 單次驗證的預期毫秒數，用來計算等待結果的上限
+     * @param meterRegistry 指標註冊表
+     */
+    public LoginVerificationExecutor(@Value("${app.security.login.threads:0}") int threads,
+                                     @Value("${app.security.login.queue-capacity:64}") int queueCapacity,
+                                     @Value("${app.security.login.retry-after-seconds:1}") long retryAfterSeconds,
+                                     @Value("${app.security.login.expected-verify-millis:100}") long expectedVerifyMillis,
+                                     MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        // 排在佇列最後的驗證最多等待整個佇列加上自己的驗證時間
+        this.waitTimeoutMillis = (Math.max(1, queueCapacity) + 1L) * Math.max(1L, expectedVerifyMillis);
+
+        Gauge.builder("auth.login.queue.depth", executor, pool -> pool.getQueue().size())
+             .description("等待中的登入密碼驗證數")
+             .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+             .description("執行中的登入密碼驗證數")
+             .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.login.verify")
+                                .description("登入密碼驗證耗時")
+                                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                                      .description("因滿載被拒絕的登入次數")
+                                      .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.login.timeout")
+                                     .description("等待驗證結果逾時的登入次數")
+                                     .register(meterRegistry);
+    }
+
+    /**
+     * 在驗證執行緒上執行工作並等待結果
+     *
+     * @param task 驗證工作
+     * @param <T> 結果類型
+     * @return 工作結果
+     * @throws ServiceBusyException 如果佇列已滿、等待逾時或等待被中斷
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> verifyTimer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("登入人數過多，請稍後再試", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            executor.remove((Runnable) future);
+            timeoutCounter.increment();
+            throw new ServiceBusyException("登入人數過多，請稍後再試", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("登入已中斷，請稍後再試", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 關閉執行緒池
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,224 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.RefreshToken;
+import com.company.calendar.repository.RefreshTokenRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服務
+ * <p>
+ * 簽發、輪換及撤銷不透明的刷新令牌。存取令牌只有數分鐘效期，驗證時不需查詢資料庫；
+ * 只有較少發生的刷新請求會讀寫 refresh_tokens 表。每個刷新令牌只能使用一次，
+ * 已使用或已撤銷的令牌再次出現時整個令牌家族隨即撤銷，讓遭竊的令牌與合法用戶都必須重新登入。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    /**
+     * 刷新令牌的隨機位元組數
+     */
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * 刷新令牌資料庫操作介面
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * 刷新令牌有效期（毫秒）
+     */
+    private final long refreshExpirationMs;
+
+    /**
+     * 隨機數產生器
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * 構造函數
+     *
+     * @param refreshTokenRepository 刷新令牌資料庫操作介面
+     * @param refreshExpirationMs 刷新令牌有效期（毫秒）
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * 為員工簽發新家族的刷新令牌
+     *
+     * @param employee 員工
+     * @return 刷新令牌原文，只在此時返回一次
+     */
+    @Transactional
+    public String issue(Employee employee) {
+        return issue(employee, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 以刷新令牌換取同一家族的新刷新令牌
+     *
+     * @param rawToken 刷新令牌原文
+     * @return 輪換結果，令牌無效、過期、已撤銷或遭重放時返回null
+     */
+    @Transactional
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            return null;
+        }
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (tokenOpt.isEmpty()) {
+            return null;
+        }
+
+        RefreshToken token = tokenOpt.get();
+        if (token.isRevoked()) {
+            return null;
+        }
+        if (token.getUsedAt() != null) {
+            revokeReusedFamily(token);
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!token.getExpiresAt().isAfter(now)) {
+            return null;
+        }
+
+        // 密碼變更、停用或帳號資料變更後，既有的刷新令牌全部失效
+        Employee employee = token.getEmployee();
+        if (!employee.isActive() || employee.getTokenVersion() != token.getTokenVersion()) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            return null;
+        }
+
+        // 並行的重放請求只有一個能成功標記
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            revokeReusedFamily(token);
+            return null;
+        }
+        return new Rotation(employee.getUsername(), issue(employee, token.getFamilyId()));
+    }
+
+    /**
+     * 撤銷刷新令牌所屬的整個家族
+     *
+     * @param rawToken 刷新令牌原文
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                              .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * 定期刪除已到期的刷新令牌
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.sweep-interval-ms:600000}",
+               initialDelayString = "${app.security.revocation.sweep-interval-ms:600000}")
+    @Transactional
+    public void sweep() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.debug("已清除 {} 筆到期的刷新令牌", purged);
+    }
+
+    /**
+     * 簽發指定家族的刷新令牌
+     *
+     * @param employee 員工
+     * @param familyId 令牌家族ID
+     * @return 刷新令牌原文
+     */
+    private String issue(Employee employee, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, employee,
+                LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000)));
+        return rawToken;
+    }
+
+    /**
+     * 已使用過的令牌再次出現，撤銷整個家族
+     *
+     * @param token 被重放的刷新令牌
+     */
+    private void revokeReusedFamily(RefreshToken token) {
+        logger.warn("偵測到刷新令牌重放，撤銷令牌家族 {}", token.getFamilyId());
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+    }
+
+    /**
+     * 計算刷新令牌的SHA-256雜湊
+     *
+     * @param rawToken 刷新令牌原文
+     * @return 十六進位雜湊
+     */
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 輪換結果：員工用戶名與新的刷新令牌
+     */
+    public static final class Rotation {
+        private final String username;
+        private final String refreshToken;
+
+        private Rotation(String username, String refreshToken) {
+            this.username = username;
+            this.refreshToken = refreshToken;
+        }
+
+        /**
+         * 獲取員工用戶名
+         *
+         * @return 用戶名
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * 獲取新的刷新令牌
+         *
+         * @return 刷新令牌原文
+         */
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.model.RevokedToken;
+import com.company.calendar.repository.RevokedTokenRepository;
+import com.company.calendar.util.BloomFilter;
+import com.company.calendar.util.TransactionUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已撤銷令牌的儲存
+ * <p>
+ * 撤銷記錄以令牌ID（jti）保存在 revoked_tokens 表中，重新啟動後仍然有效。
+ * 記憶體中的布隆過濾器擋在前面：絕大多數未撤銷的令牌只需一次雜湊探測即可放行，
+ * 只有過濾器判斷「可能已撤銷」時才查詢資料庫確認。
+ * 背景清理工作定期刪除已到期的記錄並重建過濾器，讓兩者的大小只與仍有效的撤銷數量成正比。
+ * 過濾器尚未載入前一律查詢資料庫。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    /**
+     * 布隆過濾器的誤判率
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * 已撤銷令牌資料庫操作介面
+     */
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * 過濾器至少預留的容量
+     */
+    private final int expectedEntries;
+
+    /**
+     * 保護過濾器重建與加入的鎖
+     * <p>
+     * 重建時持鎖查詢資料庫，使用 {@link ReentrantLock} 而非 synchronized，虛擬執行緒等待查詢時不會釘住載體執行緒。
+     * </p>
+     */
+    private final ReentrantLock filterLock = new ReentrantLock();
+
+    /**
+     * 已撤銷令牌ID的布隆過濾器，載入前為null
+     */
+    private volatile BloomFilter filter;
+
+    /**
+     * 構造函數
+     *
+     * @param revokedTokenRepository 已撤銷令牌資料庫操作介面
+     * @param expectedEntries 過濾器至少預留的容量
+     */
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                @Value("${app.security.revocation.expected-entries:100000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+    }
+
+    /**
+     * 檢查令牌是否已被撤銷
+     *
+     * @param tokenId 令牌ID
+     * @return 是否已撤銷
+     */
+    public boolean isRevoked(String tokenId) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * 撤銷令牌，於目前交易提交後加入過濾器
+     *
+     * @param tokenId 令牌ID
+     * @param expiresAt 令牌原本的到期時間
+     */
+    @Transactional
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        if (expiresAt.isBefore(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        TransactionUtil.afterCommit(() -> {
+            filterLock.lock();
+            try {
+                if (filter != null) {
+                    filter.add(tokenId);
+                }
+            } finally {
+                filterLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * 應用程式啟動後從資料庫載入過濾器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * 刪除已到期的撤銷記錄並重建過濾器
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.sweep-interval-ms:600000}",
+               initialDelayString = "${app.security.revocation.sweep-interval-ms:600000}")
+    @Transactional
+    public void sweep() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        int live = rebuild();
+        logger.debug("已清除 {} 筆到期的撤銷記錄，仍有效 {} 筆", purged, live);
+    }
+
+    /**
+     * 以仍有效的撤銷記錄重建過濾器
+     * <p>
+     * 持有鎖期間查詢並替換過濾器，交易提交後才加入的撤銷會等待替換完成再加入新過濾器，不會遺漏。
+     * </p>
+     *
+     * @return 仍有效的撤銷數量
+     */
+    private int rebuild() {
+        filterLock.lock();
+        try {
+            List<String> tokenIds = revokedTokenRepository.findUnexpiredTokenIds(LocalDateTime.now());
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, tokenIds.size() * 2L),
+                                                  FALSE_POSITIVE_RATE);
+            tokenIds.forEach(rebuilt::add);
+            filter = rebuilt;
+            return tokenIds.size();
+        } finally {
+            filterLock.unlock();
+        }
+    }
+}
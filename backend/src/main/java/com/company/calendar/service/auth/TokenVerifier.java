@@ -0,0 +1,141 @@
+package com.company.calendar.service.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT令牌驗證器
+ * <p>
+ * 簽章金鑰與解析器在啟動時建立一次並重複使用；每個令牌只需一次 {@link #verify(String)}
+ * 即可同時完成簽章驗證與取得聲明。最近驗證成功的令牌以SHA-256摘要為鍵快取其聲明直到令牌到期，
+ * 同一令牌的後續請求不需再次解析JSON與驗證簽章。
+ * 容量由 {@code jwt.verified-cache.max-entries} 設定，設為0則停用快取。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class TokenVerifier {
+
+    /**
+     * HMAC簽章金鑰
+     */
+    private final Key signingKey;
+
+    /**
+     * 共用的令牌解析器，建立後不可變且可跨執行緒使用
+     */
+    private final JwtParser parser;
+
+    /**
+     * 最多快取的令牌數量
+     */
+    private final int maxEntries;
+
+    /**
+     * 令牌摘要對應已驗證的聲明，依存取順序排列以淘汰最久未使用的項目
+     */
+    private final Map<ByteBuffer, Claims> verified;
+
+    /**
+     * 構造函數
+     *
+     * @param secret JWT密鑰
+     * @param maxEntries 最多快取的令牌數量
+     */
+    public TokenVerifier(@Value("${jwt.secret:defaultSecretKeyNeedsToBeAtLeast32BytesLong}") String secret,
+                         @Value("${jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.maxEntries = maxEntries;
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Claims> eldest) {
+                return size() > TokenVerifier.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 獲取簽發令牌用的金鑰
+     *
+     * @return HMAC簽章金鑰
+     */
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * 驗證令牌並返回其聲明
+     *
+     * @param token JWT令牌
+     * @return 令牌聲明，呼叫端不應修改
+     * @throws io.jsonwebtoken.JwtException 如果令牌格式錯誤、簽章不符或已過期
+     * @throws IllegalArgumentException 如果令牌為空
+     */
+    public Claims verify(String token) {
+        if (maxEntries <= 0 || token == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        ByteBuffer key = digest(token);
+        synchronized (verified) {
+            Claims claims = verified.get(key);
+            if (claims != null) {
+                if (isUnexpired(claims)) {
+                    return claims;
+                }
+                verified.remove(key);
+            }
+        }
+
+        // 過期令牌會在此拋出 ExpiredJwtException
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        synchronized (verified) {
+            verified.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * 檢查快取的聲明是否仍未到期
+     *
+     * @param claims 令牌聲明
+     * @return 是否未到期
+     */
+    private static boolean isUnexpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() > System.currentTimeMillis();
+    }
+
+    /**
+     * 計算令牌的SHA-256摘要，避免以令牌原文作為快取鍵
+     *
+     * @param token JWT令牌
+     * @return 摘要
+     */
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.repository.EmployeeRepository;
+import com.company.calendar.util.TransactionUtil;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 員工目前令牌版本的記憶體登記表
+ * <p>
+ * JWT聲明中帶有簽發時的令牌版本，每個請求只需與此表比對即可得知令牌是否已因密碼變更、
+ * 停用或帳號資料變更而失效。每位員工第一次出現時查詢一次資料庫，本機的變更由
+ * {@link com.company.calendar.service.employee.EmployeeServiceImpl} 在交易提交後寫入最新版本。
+ * 停用或已刪除的員工記為 {@link #REVOKED}，不會與任何令牌相符。
+ * </p>
+ * <p>
+ * 其他節點寫入的變更不會通知本表，因此令牌版本比記錄的新或記錄為 {@link #REVOKED} 時會重新查詢，
+ * 其他節點簽發的新令牌與重新啟用的員工立即生效；其他節點的停用或撤銷則在項目存活
+ * {@code app.security.token-version.ttl-seconds} 秒後重新查詢時才生效。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class TokenVersionRegistry {
+
+    /**
+     * 停用或不存在的員工所對應的版本
+     */
+    static final int REVOKED = -1;
+
+    /**
+     * 員工資料庫操作介面
+     */
+    private final EmployeeRepository employeeRepository;
+
+    /**
+     * 項目存活時間（毫秒）
+     */
+    private final long ttlMillis;
+
+    /**
+     * 員工ID對應目前令牌版本
+     */
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 構造函數
+     *
+     * @param employeeRepository 員工資料庫操作介面
+     * @param ttlSeconds 項目存活秒數
+     */
+    public TokenVersionRegistry(EmployeeRepository employeeRepository,
+                                @Value("${app.security.token-version.ttl-seconds:60}") long ttlSeconds) {
+        this.employeeRepository = employeeRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 檢查令牌版本是否仍為員工目前的版本
+     *
+     * @param employeeId 員工ID
+     * @param tokenVersion 令牌中的版本
+     * @return 是否有效
+     */
+    public boolean isCurrent(Long employeeId, int tokenVersion) {
+        long now = System.currentTimeMillis();
+        Entry current = versions.get(employeeId);
+        // 令牌版本只會遞增：令牌比記錄舊時必定已失效，比記錄新或記錄為停用時可能是其他節點的變更
+        if (current == null || current.version == REVOKED || tokenVersion > current.version
+                || current.expiresAt <= now) {
+            current = reload(employeeId, current, now);
+        }
+        return current.version != REVOKED && current.version == tokenVersion;
+    }
+
+    /**
+     * 從資料庫重新載入員工的令牌版本
+     * <p>
+     * 不在 compute 內查詢資料庫：映射函數持有分段鎖，虛擬執行緒在鎖內阻塞會釘住載體執行緒。
+     * 只有項目仍是查詢前看到的那一筆時才寫入，避免覆蓋查詢期間本機提交的變更。
+     * </p>
+     *
+     * @param employeeId 員工ID
+     * @param stale 查詢前的項目，不存在則為null
+     * @param now 目前時間
+     * @return 目前的項目
+     */
+    private Entry reload(Long employeeId, Entry stale, long now) {
+        Entry loaded = new Entry(employeeRepository.findActiveTokenVersion(employeeId).orElse(REVOKED),
+                                 now + ttlMillis);
+        boolean stored = stale == null
+                         ? versions.putIfAbsent(employeeId, loaded) == null
+                         : versions.replace(employeeId, stale, loaded);
+        if (stored) {
+            return loaded;
+        }
+        Entry raced = versions.get(employeeId);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * 在目前交易提交後記錄員工的最新令牌版本
+     *
+     * @param employeeId 員工ID
+     * @param tokenVersion 最新令牌版本
+     * @param active 員工是否啟用
+     */
+    public void update(Long employeeId, int tokenVersion, boolean active) {
+        int version = active ? tokenVersion : REVOKED;
+        TransactionUtil.afterCommit(
+                () -> versions.put(employeeId, new Entry(version, System.currentTimeMillis() + ttlMillis)));
+    }
+
+    /**
+     * 在目前交易提交後使員工的所有令牌失效
+     *
+     * @param employeeId 員工ID
+     */
+    public void revoke(Long employeeId) {
+        TransactionUtil.afterCommit(
+                () -> versions.put(employeeId, new Entry(REVOKED, System.currentTimeMillis() + ttlMillis)));
+    }
+
+    /**
+     * 登記表項目：令牌版本與過期時間
+     */
+    private static final class Entry {
+        private final int version;
+        private final long expiresAt;
+
+        private Entry(int version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
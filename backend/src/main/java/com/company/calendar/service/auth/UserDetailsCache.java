@@ -0,0 +1,223 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.util.TransactionUtil;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 以用戶名為鍵的用戶詳情快取
+ * <p>
+ * 放在 {@code UserDetailsService} 前面，避免每次登入都查詢員工資料。項目在
+ * {@code app.security.user-cache.ttl-seconds} 秒後過期，最多保存
+ * {@code app.security.user-cache.max-entries} 筆，設為0則停用快取。
+ * 員工資料變更時由 {@link com.company.calendar.service.employee.EmployeeServiceImpl}
+ * 在交易提交後精確地讓該用戶失效，並通知所有 {@link UserDetailsInvalidationHook}。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class UserDetailsCache {
+
+    /**
+     * 最多保存的用戶數量
+     */
+    private final int maxEntries;
+
+    /**
+     * 項目存活時間（毫秒）
+     */
+    private final long ttlMillis;
+
+    /**
+     * 失效掛鉤
+     */
+    private final ObjectProvider<UserDetailsInvalidationHook> invalidationHooks;
+
+    /**
+     * 快取資料，依存取順序排列以淘汰最久未使用的項目
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * 失效次數計數，用於避免載入期間發生的失效被舊資料覆蓋
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 命中次數
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * 未命中次數
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 因容量或過期而移除的次數
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 構造函數
+     *
+     * @param maxEntries 最多保存的用戶數量
+     * @param ttlSeconds 項目存活秒數
+     * @param invalidationHooks 失效掛鉤
+     */
+    public UserDetailsCache(@Value("${app.security.user-cache.max-entries:1000}") int maxEntries,
+                            @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds,
+                            ObjectProvider<UserDetailsInvalidationHook> invalidationHooks) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.invalidationHooks = invalidationHooks;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserDetailsCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 獲取用戶詳情，不存在或已過期時透過載入器建立
+     * <p>
+     * 每次返回新的副本，認證完成後清除密碼不會影響快取內容。
+     * </p>
+     *
+     * @param username 用戶名
+     * @param loader 用戶詳情載入器
+     * @return 用戶詳情
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (maxEntries <= 0) {
+            return loader.apply(username);
+        }
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return copy(entry.userDetails);
+                }
+                entries.remove(username);
+                evictions.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        long generation = invalidations.get();
+        UserDetails userDetails = loader.apply(username);
+        synchronized (entries) {
+            if (invalidations.get() == generation) {
+                entries.put(username, new Entry(copy(userDetails), now + ttlMillis));
+            }
+        }
+        return userDetails;
+    }
+
+    /**
+     * 讓指定用戶失效並通知失效掛鉤，於目前交易提交後生效
+     *
+     * @param username 用戶名
+     */
+    public void invalidate(String username) {
+        TransactionUtil.afterCommit(() -> {
+            evict(username);
+            invalidationHooks.orderedStream().forEach(hook -> hook.invalidated(username));
+        });
+    }
+
+    /**
+     * 立即從本機快取移除指定用戶，不通知失效掛鉤
+     * <p>
+     * 供失效掛鉤在收到其他節點的通知時呼叫。
+     * </p>
+     *
+     * @param username 用戶名
+     */
+    public void evict(String username) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(username);
+        }
+    }
+
+    /**
+     * 獲取命中次數
+     *
+     * @return 命中次數
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * 獲取未命中次數
+     *
+     * @return 未命中次數
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * 獲取因容量或過期而移除的次數
+     *
+     * @return 移除次數
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * 獲取目前保存的用戶數量
+     *
+     * @return 用戶數量
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 建立用戶詳情的副本
+     *
+     * @param userDetails 用戶詳情
+     * @return 副本
+     */
+    private static UserDetails copy(UserDetails userDetails) {
+        return User.withUserDetails(userDetails).build();
+    }
+
+    /**
+     * 快取項目：用戶詳情與過期時間
+     */
+    private static final class Entry {
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        private Entry(UserDetails userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.calendar.service.auth;
+
+/**
+ * 用戶詳情快取失效掛鉤
+ * <p>
+ * {@link UserDetailsCache} 只存在於各節點本機。多節點部署時可註冊此介面的Bean，
+ * 將本機發生的失效轉送給其他節點，由其他節點呼叫 {@link UserDetailsCache#evict(String)}。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public interface UserDetailsInvalidationHook {
+
+    /**
+     * 本機快取中的用戶已失效，於交易提交後呼叫
+     *
+     * @param username 用戶名
+     */
+    void invalidated(String username);
+}
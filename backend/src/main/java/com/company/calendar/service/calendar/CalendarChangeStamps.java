@@ -0,0 +1,219 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.ChangeStamp;
+import com.company.calendar.repository.ChangeStampRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 行事曆讀取端點的變更戳記
+ * <p>
+ * 供條件式GET產生強ETag：只要戳記不變，回應內容就不會改變，因此比對 If-None-Match 時只需讀取戳記，
+ * 不需查詢或序列化任何事件。戳記保存在 change_stamps 表並與資料變更在同一個交易中遞增，
+ * 所有節點對相同的資料都會算出相同的ETag。讀取端必須在載入資料之前取得戳記，
+ * 如此並發寫入最多造成一次多餘的完整回應，不會讓舊內容帶上新戳記。
+ * </p>
+ * <p>
+ * 事件以月份雜湊到固定數量的桶，碰撞只會讓無關的月份多回應一次完整內容。
+ * 員工資料（事件帶有創建者用戶名）另有一個戳記。同一交易中的所有遞增延到提交前依ID順序一次寫入，
+ * 縮短列鎖的持有時間，並避免兩個交易以相反順序鎖定戳記而死結。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class CalendarChangeStamps implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarChangeStamps.class);
+
+    /**
+     * 月份桶數量，連續這麼多個月份彼此不會碰撞
+     */
+    private static final int MONTH_BUCKETS = 1024;
+
+    /**
+     * 員工資料戳記的ID，緊接在月份桶之後
+     */
+    private static final int EMPLOYEES = MONTH_BUCKETS;
+
+    /**
+     * 變更戳記資料庫操作介面
+     */
+    private final ChangeStampRepository changeStampRepository;
+
+    /**
+     * JDBC操作工具
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 構造函數
+     *
+     * @param changeStampRepository 變更戳記資料庫操作介面
+     * @param jdbcTemplate JDBC操作工具
+     */
+    public CalendarChangeStamps(ChangeStampRepository changeStampRepository, JdbcTemplate jdbcTemplate) {
+        this.changeStampRepository = changeStampRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 所有單例建立完成後、伺服器啟動前建立缺少的戳記
+     * <p>
+     * 遞增只更新既有的列，因此所有戳記須在接受請求前存在。初始值取隨機數，
+     * 重建的資料庫不會與先前簽發的ETag相符。
+     * </p>
+     */
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        Set<Integer> existing = new HashSet<>(changeStampRepository.findAllIds());
+        SecureRandom random = new SecureRandom();
+        List<Object[]> missing = new ArrayList<>();
+        for (int id = 0; id <= EMPLOYEES; id++) {
+            if (!existing.contains(id)) {
+                // 只取62位元，遞增不會溢位
+                missing.add(new Object[] {id, random.nextLong() & (Long.MAX_VALUE >>> 1)});
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO change_stamps (id, stamp) VALUES (?, ?)", missing);
+            logger.info("已建立 {} 個行事曆變更戳記", missing.size());
+        }
+    }
+
+    /**
+     * 標記與時間區間相交的月份已變更，隨目前交易提交
+     *
+     * @param start 開始時間
+     * @param end 結束時間
+     */
+    public void monthsChanged(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return;
+        }
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end.isBefore(start) ? start : end);
+        Set<Integer> buckets = new TreeSet<>();
+        if (first.until(last, ChronoUnit.MONTHS) + 1 >= MONTH_BUCKETS) {
+            for (int i = 0; i < MONTH_BUCKETS; i++) {
+                buckets.add(i);
+            }
+        } else {
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                buckets.add(bucketOf(month));
+            }
+        }
+        changed(buckets);
+    }
+
+    /**
+     * 標記員工資料已變更，隨目前交易提交
+     */
+    public void employeesChanged() {
+        changed(Set.of(EMPLOYEES));
+    }
+
+    /**
+     * 獲取員工資料的戳記，同時涵蓋所有事件回應中的創建者資料
+     *
+     * @return 員工資料戳記
+     */
+    public String employeesStamp() {
+        return Long.toString(changeStampRepository.findById(EMPLOYEES).map(ChangeStamp::getStamp).orElse(0L), 36);
+    }
+
+    /**
+     * 產生員工可見月份事件的ETag
+     * <p>
+     * 可見範圍由安全等級、自己創建及被授權的事件決定，後兩者的異動都會遞增所在月份的戳記；
+     * 安全等級變更會撤銷舊令牌，新令牌帶有新等級。員工資料與月份戳記以一次查詢讀取。
+     * </p>
+     *
+     * @param employeeId 員工ID
+     * @param securityLevel 安全等級
+     * @param yearMonth 年月
+     * @return 帶引號的ETag
+     */
+    public String visibleMonthTag(Long employeeId, SecurityLevel securityLevel, YearMonth yearMonth) {
+        int bucket = bucketOf(yearMonth);
+        long employees = 0;
+        long month = 0;
+        for (ChangeStamp stamp : changeStampRepository.findAllById(List.of(EMPLOYEES, bucket))) {
+            if (stamp.getId() == EMPLOYEES) {
+                employees = stamp.getStamp();
+            } else {
+                month = stamp.getStamp();
+            }
+        }
+        return "\"" + Long.toString(employees, 36) + "." + Long.toString(month, 36) + "."
+                + securityLevel.ordinal() + "." + employeeId + "\"";
+    }
+
+    /**
+     * 記錄要遞增的戳記
+     * <p>
+     * 在交易中時併入該交易待寫入的戳記，於提交前一次遞增；不在交易中時立即遞增。
+     * </p>
+     *
+     * @param buckets 戳記ID
+     */
+    private void changed(Set<Integer> buckets) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            changeStampRepository.increment(buckets);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingStamps pending) {
+                pending.ids.addAll(buckets);
+                return;
+            }
+        }
+        PendingStamps pending = new PendingStamps();
+        pending.ids.addAll(buckets);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    /**
+     * 計算月份所屬的桶
+     *
+     * @param yearMonth 年月
+     * @return 桶索引
+     */
+    private static int bucketOf(YearMonth yearMonth) {
+        int key = yearMonth.getYear() * 12 + yearMonth.getMonthValue() - 1;
+        return Math.floorMod(key, MONTH_BUCKETS);
+    }
+
+    /**
+     * 交易中待遞增的戳記，依ID排序
+     */
+    private final class PendingStamps implements TransactionSynchronization {
+        private final Set<Integer> ids = new TreeSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changeStampRepository.increment(ids);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.company.calendar.service.calendar;
 
+import com.company.calendar.dto.BulkEventResultDTO;
 import com.company.calendar.dto.EventDTO;
+import com.company.calendar.dto.EventPageDTO;
 import com.company.calendar.enums.SecurityLevel;
 import com.company.calendar.model.Employee;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Set;
 
@@ -27,6 +32,27 @@ public interface CalendarService {
      */
     List<EventDTO> getAllEvents();
     
+    /**
+     * 以游標分頁獲取所有事件
+     * 
+     * @param cursor 上一頁回傳的續讀標記，第一頁為null
+     * @param size 每頁筆數，null時使用預設值，超過上限時以上限計
+     * @return 事件分頁
+     * @throws IllegalArgumentException 如果續讀標記無效
+     */
+    EventPageDTO getEventsPage(String cursor, Integer size);
+    
+    /**
+     * 以換行分隔的JSON（NDJSON）格式匯出所有事件
+     * <p>
+     * 逐筆讀取並直接寫入輸出串流，不會一次載入所有事件。
+     * </p>
+     * 
+     * @param out 輸出串流
+     * @throws IOException 如果寫入失敗
+     */
+    void exportEvents(OutputStream out) throws IOException;
+    
     /**
      * 根據ID獲取事件
      * 
@@ -35,6 +61,14 @@ public interface CalendarService {
      */
     EventDTO getEventById(Long id);
     
+    /**
+     * 獲取事件目前的版本，不載入事件內容
+     * 
+     * @param id 事件ID
+     * @return 事件版本，如果未找到則返回null
+     */
+    Long getEventVersion(Long id);
+    
     /**
      * 創建新事件
      * 
@@ -44,6 +78,19 @@ public interface CalendarService {
      */
     EventDTO createEvent(EventDTO eventDTO, Long creatorId);
     
+    /**
+     * 批次創建事件
+     * <p>
+     * 單筆資料驗證失敗只會讓該筆失敗，其餘事件照常建立。
+     * </p>
+     * 
+     * @param eventDTOs 事件資料傳輸物件列表
+     * @param creatorId 創建者ID
+     * @return 依請求順序排列的單筆結果
+     * @throws IllegalArgumentException 如果創建者不存在或筆數超過上限
+     */
+    List<BulkEventResultDTO> createEvents(List<EventDTO> eventDTOs, Long creatorId);
+    
     /**
      * 更新事件信息
      * 
@@ -53,14 +100,53 @@ public interface CalendarService {
      */
     EventDTO updateEvent(Long id, EventDTO eventDTO);
     
+    /**
+     * 以版本為條件更新事件信息
+     * 
+     * @param id 事件ID
+     * @param eventDTO 事件資料傳輸物件
+     * @param expectedVersion 預期的事件版本，為null時不檢查
+     * @return 更新後的事件資料傳輸物件
+     * @throws com.company.calendar.exception.PreconditionFailedException 如果事件目前的版本與預期不同
+     */
+    EventDTO updateEvent(Long id, EventDTO eventDTO, Long expectedVersion);
+    
     /**
      * 刪除事件
+     * <p>
+     * 刪除重複事件時一併刪除其單次例外；只刪除單次例外時，原本的發生仍維持取消。
+     * </p>
      * 
      * @param id 事件ID
      * @return 是否刪除成功
      */
     boolean deleteEvent(Long id);
     
+    /**
+     * 以單次事件取代重複事件的某次發生
+     * <p>
+     * 該次發生會加入重複事件的例外日期，並建立一筆記錄原本開始時間的單次事件；
+     * 未提供的欄位與特殊查看者沿用重複事件，時間未提供時沿用該次發生原本的時間。
+     * </p>
+     * 
+     * @param seriesId 重複事件ID
+     * @param originalStart 該次發生原本的開始時間
+     * @param eventDTO 事件資料傳輸物件
+     * @return 取代該次發生的事件資料傳輸物件
+     * @throws IllegalArgumentException 如果事件不存在、不是重複事件或該時間不是尚未取消的發生
+     */
+    EventDTO overrideOccurrence(Long seriesId, LocalDateTime originalStart, EventDTO eventDTO);
+    
+    /**
+     * 取消重複事件的某次發生
+     * 
+     * @param seriesId 重複事件ID
+     * @param originalStart 該次發生原本的開始時間
+     * @return 更新後的重複事件資料傳輸物件
+     * @throws IllegalArgumentException 如果事件不存在、不是重複事件或該時間不是尚未取消的發生
+     */
+    EventDTO cancelOccurrence(Long seriesId, LocalDateTime originalStart);
+    
     /**
      * 獲取指定時間區間內的事件
      * 
@@ -80,15 +166,46 @@ public interface CalendarService {
     List<EventDTO> getEventsByYearAndMonth(int year, int month);
     
     /**
-     * 獲取指定員工有權限查看的事件
+     * 獲取指定員工有權限查看且與時間區間重疊的事件
+     * <p>
+     * 區間為半開區間 [start, end)，跨越整個區間的長事件也會被包含。
+     * 重複事件只展開與區間重疊的發生，每次發生各為一筆，ID為重複事件ID。
+     * </p>
      * 
      * @param employeeId 員工ID
-     * @param start 開始時間
-     * @param end 結束時間
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
      * @return 員工有權限查看的事件列表
      */
     List<EventDTO> getVisibleEventsForEmployee(Long employeeId, LocalDateTime start, LocalDateTime end);
     
+    /**
+     * 獲取指定員工在指定月份有權限查看的事件
+     * <p>
+     * 依安全等級可見的部分取自以 (安全等級, 年月) 為鍵的快照，
+     * 再合併員工自己創建及被特別授權的事件，以及可見重複事件在該月的發生。
+     * </p>
+     * 
+     * @param employeeId 員工ID
+     * @param yearMonth 年月
+     * @return 員工有權限查看的事件列表
+     */
+    List<EventDTO> getVisibleEventsForEmployeeInMonth(Long employeeId, YearMonth yearMonth);
+    
+    /**
+     * 以已知的安全等級獲取員工在指定月份有權限查看的事件，不查詢員工資料
+     * <p>
+     * 供安全上下文中已帶有員工身分的呼叫端使用。
+     * </p>
+     * 
+     * @param employeeId 員工ID
+     * @param securityLevel 員工安全等級
+     * @param yearMonth 年月
+     * @return 員工有權限查看的事件列表
+     */
+    List<EventDTO> getVisibleEventsForEmployeeInMonth(Long employeeId, SecurityLevel securityLevel,
+                                                      YearMonth yearMonth);
+    
     /**
      * 獲取指定創建者創建的事件
      * 
@@ -98,12 +215,42 @@ public interface CalendarService {
     List<EventDTO> getEventsByCreator(Long creatorId);
     
     /**
-     * 搜索事件
+     * 以游標分頁獲取指定創建者創建的事件
+     * 
+     * @param creatorId 創建者ID
+     * @param cursor 上一頁回傳的續讀標記，第一頁為null
+     * @param size 每頁筆數，null時使用預設值，超過上限時以上限計
+     * @return 事件分頁
+     * @throws IllegalArgumentException 如果創建者不存在或續讀標記無效
+     */
+    EventPageDTO getEventsByCreatorPage(Long creatorId, String cursor, Integer size);
+    
+    /**
+     * 搜索員工可見的事件
+     * <p>
+     * 搜索索引可用時比對標題、地點與描述，結果依相關度排序；否則以資料庫比對標題與描述。
+     * 兩種路徑都在查詢內套用可見性，不會取回員工看不到的事件。
+     * </p>
      * 
      * @param keyword 關鍵字
-     * @return 匹配的事件列表
+     * @param employeeId 查詢的員工ID
+     * @param level 查詢員工的安全等級
+     * @return 匹配且可見的事件列表
      */
-    List<EventDTO> searchEvents(String keyword);
+    List<EventDTO> searchEvents(String keyword, Long employeeId, SecurityLevel level);
+    
+    /**
+     * 以游標分頁搜索員工可見的事件，依開始時間與ID排序
+     * 
+     * @param keyword 關鍵字
+     * @param cursor 上一頁回傳的續讀標記，第一頁為null
+     * @param size 每頁筆數，null時使用預設值，超過上限時以上限計
+     * @param employeeId 查詢的員工ID
+     * @param level 查詢員工的安全等級
+     * @return 事件分頁
+     * @throws IllegalArgumentException 如果續讀標記無效
+     */
+    EventPageDTO searchEventsPage(String keyword, String cursor, Integer size, Long employeeId, SecurityLevel level);
     
     /**
      * 添加事件查看權限
@@ -123,6 +270,18 @@ public interface CalendarService {
      */
     boolean removeViewPermission(Long eventId, Long employeeId);
     
+    /**
+     * 以完整的查看者集合取代事件的特殊查看權限
+     * <p>
+     * 在記憶體中計算差異，只新增缺少的權限並刪除多餘的權限；不存在的員工ID會被忽略。
+     * </p>
+     * 
+     * @param eventId 事件ID
+     * @param employeeIds 完整的特殊查看者員工ID集合
+     * @return 同步後的特殊查看者員工ID集合，事件不存在時返回null
+     */
+    Set<Long> replaceViewPermissions(Long eventId, Set<Long> employeeIds);
+    
     /**
      * 獲取事件的特殊查看權限員工列表
      * 
@@ -139,4 +298,14 @@ public interface CalendarService {
      * @return 是否有權限查看
      */
     boolean canEmployeeViewEvent(Long eventId, Long employeeId);
+    
+    /**
+     * 以已知的安全等級檢查員工是否有權限查看事件，不查詢員工資料
+     * 
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     * @param securityLevel 員工安全等級
+     * @return 是否有權限查看
+     */
+    boolean canEmployeeViewEvent(Long eventId, Long employeeId, SecurityLevel securityLevel);
 }
\ No newline at end of file
@@ -1,23 +1,56 @@
 package com.company.calendar.service.calendar;
 
+import com.company.calendar.dto.BulkEventResultDTO;
 import com.company.calendar.dto.EventDTO;
+import com.company.calendar.dto.EventPageDTO;
 import com.company.calendar.model.Employee;
 import com.company.calendar.model.Event;
 import com.company.calendar.model.EventViewPermission;
 import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.exception.PreconditionFailedException;
 import com.company.calendar.repository.EmployeeRepository;
 import com.company.calendar.repository.EventRepository;
 import com.company.calendar.repository.EventViewPermissionRepository;
+import com.company.calendar.repository.projection.EventSummary;
+import com.company.calendar.repository.projection.ViewerGrant;
+import com.company.calendar.util.CalendarPeriod;
+import com.company.calendar.util.RecurrenceRule;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +66,40 @@ import java.util.stream.Collectors;
 @Service
 public class CalendarServiceImpl implements CalendarService {
 
+    /**
+     * 事件資料傳輸物件排序規則：依開始時間，再依ID
+     */
+    private static final Comparator<EventDTO> EVENT_DTO_ORDER =
+            Comparator.comparing(EventDTO::getStartTime).thenComparing(EventDTO::getId);
+    
+    /**
+     * 匯出時每寫入多少筆事件便清空輸出緩衝
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    
+    /**
+     * 啟動時補齊資料每批處理的事件數
+     */
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    
+    /**
+     * 分頁查詢的預設每頁筆數
+     */
+    @Value("${app.calendar.page.default-size:50}")
+    private int defaultPageSize;
+    
+    /**
+     * 分頁查詢的每頁筆數上限
+     */
+    @Value("${app.calendar.page.max-size:200}")
+    private int maxPageSize;
+    
+    /**
+     * 批次建立事件的筆數上限
+     */
+    @Value("${app.calendar.bulk.max-size:1000}")
+    private int maxBulkSize;
+    
     /**
      * 事件資料庫操作介面
      */
@@ -48,20 +115,68 @@ public class CalendarServiceImpl implements CalendarService {
      */
     private final EventViewPermissionRepository eventViewPermissionRepository;
     
+    /**
+     * 記憶體中的事件時間索引
+     */
+    private final EventIntervalIndex eventIntervalIndex;
+    
+    /**
+     * 記憶體中的事件全文搜索索引
+     */
+    private final EventSearchIndex eventSearchIndex;
+    
+    /**
+     * 依安全等級與月份快取的事件快照
+     */
+    private final EventMonthSnapshotCache eventMonthSnapshotCache;
+    
+    /**
+     * 行事曆讀取端點的變更戳記
+     */
+    private final CalendarChangeStamps calendarChangeStamps;
+    
+    /**
+     * JSON序列化工具
+     */
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * 分批補齊資料時為每批開啟各自的交易
+     */
+    private final TransactionTemplate transactionTemplate;
+    
     /**
      * 構造函數
      * 
      * @param eventRepository 事件資料庫操作介面
      * @param employeeRepository 員工資料庫操作介面
      * @param eventViewPermissionRepository 事件查看權限資料庫操作介面
+     * @param eventIntervalIndex 記憶體中的事件時間索引
+     * @param eventSearchIndex 記憶體中的事件全文搜索索引
+     * @param eventMonthSnapshotCache 依安全等級與月份快取的事件快照
+     * @param calendarChangeStamps 行事曆讀取端點的變更戳記
+     * @param objectMapper JSON序列化工具
+     * @param transactionManager 交易管理器
      */
     @Autowired
     public CalendarServiceImpl(EventRepository eventRepository,
                               EmployeeRepository employeeRepository,
-                              EventViewPermissionRepository eventViewPermissionRepository) {
+                              EventViewPermissionRepository eventViewPermissionRepository,
+                              EventIntervalIndex eventIntervalIndex,
+                              EventSearchIndex eventSearchIndex,
+                              EventMonthSnapshotCache eventMonthSnapshotCache,
+                              CalendarChangeStamps calendarChangeStamps,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
         this.eventRepository = eventRepository;
         this.employeeRepository = employeeRepository;
         this.eventViewPermissionRepository = eventViewPermissionRepository;
+        this.eventIntervalIndex = eventIntervalIndex;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventMonthSnapshotCache = eventMonthSnapshotCache;
+        this.calendarChangeStamps = calendarChangeStamps;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
     /**
@@ -69,11 +184,46 @@ public class CalendarServiceImpl implements CalendarService {
      */
     @Override
     public List<EventDTO> getAllEvents() {
-        return eventRepository.findAll().stream()
+        return eventRepository.findAllSummaries().stream()
                             .map(EventDTO::new)
                             .collect(Collectors.toList());
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EventPageDTO getEventsPage(String cursor, Integer size) {
+        return findPage(cursor, size,
+                eventRepository::findSummariesPage,
+                (after, limit) -> eventRepository.findSummariesPageAfter(after.getStartTime(), after.getId(), limit));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEvents(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(EventDTO.class)
+                                          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        try (Stream<EventSummary> events = eventRepository.streamAllSummaries()) {
+            int written = 0;
+            for (EventSummary event : (Iterable<EventSummary>) events::iterator) {
+                writer.writeValue(generator, new EventDTO(event));
+                generator.writeRaw('\n');
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        } finally {
+            generator.close();
+        }
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -83,6 +233,14 @@ public class CalendarServiceImpl implements CalendarService {
         return eventOpt.map(EventDTO::new).orElse(null);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getEventVersion(Long id) {
+        return eventRepository.findVersionById(id).orElse(null);
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -100,6 +258,8 @@ public class CalendarServiceImpl implements CalendarService {
         validateSecurityLevel(creator.getSecurityLevel(), eventDTO.getSecurityLevel());
         
         Event event = eventDTO.toEntity(creator);
+        event.setRecurrence(parseRecurrence(eventDTO.getRecurrenceRule(), eventDTO.getStartTime()),
+                            exceptionsOf(eventDTO));
         event.setCreatedAt(LocalDateTime.now());
         event.setUpdatedAt(LocalDateTime.now());
         
@@ -108,30 +268,116 @@ public class CalendarServiceImpl implements CalendarService {
         
         // 添加特殊查看權限
         if (eventDTO.getSpecialViewerIds() != null && !eventDTO.getSpecialViewerIds().isEmpty()) {
-            for (Long viewerId : eventDTO.getSpecialViewerIds()) {
-                Optional<Employee> viewerOpt = employeeRepository.findById(viewerId);
-                if (viewerOpt.isPresent()) {
-                    savedEvent.addViewPermission(viewerOpt.get());
-                }
+            for (Employee viewer : employeeRepository.findAllById(eventDTO.getSpecialViewerIds())) {
+                savedEvent.addViewPermission(viewer);
             }
-            savedEvent = eventRepository.save(savedEvent);
+            // 事件已是受管理實體，新權限於提交時經由級聯寫入；再次merge會複製出第二份權限物件
         }
         
+        eventIntervalIndex.put(savedEvent);
+        eventSearchIndex.put(savedEvent);
+        eventMonthSnapshotCache.invalidate(savedEvent.getStartTime(), savedEvent.getLastEndTime());
+        calendarChangeStamps.monthsChanged(savedEvent.getStartTime(), savedEvent.getLastEndTime());
         return new EventDTO(savedEvent);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public List<BulkEventResultDTO> createEvents(List<EventDTO> eventDTOs, Long creatorId) {
+        if (eventDTOs.size() > maxBulkSize) {
+            throw new IllegalArgumentException("批次建立的事件數量超過上限: " + maxBulkSize);
+        }
+        Employee creator = employeeRepository.findById(creatorId)
+                .orElseThrow(() -> new IllegalArgumentException("創建者不存在: " + creatorId));
+        
+        // 一次取回所有事件的特殊查看者
+        Set<Long> viewerIds = new HashSet<>();
+        for (EventDTO eventDTO : eventDTOs) {
+            if (eventDTO.getSpecialViewerIds() != null) {
+                viewerIds.addAll(eventDTO.getSpecialViewerIds());
+            }
+        }
+        Map<Long, Employee> viewers = new HashMap<>();
+        if (!viewerIds.isEmpty()) {
+            for (Employee viewer : employeeRepository.findAllById(viewerIds)) {
+                viewers.put(viewer.getId(), viewer);
+            }
+        }
+        
+        List<BulkEventResultDTO> results = new ArrayList<>(eventDTOs.size());
+        List<Event> events = new ArrayList<>();
+        List<Integer> eventIndexes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < eventDTOs.size(); i++) {
+            EventDTO eventDTO = eventDTOs.get(i);
+            String error = validateNewEvent(creator, eventDTO);
+            if (error != null) {
+                results.add(BulkEventResultDTO.failed(i, error));
+                continue;
+            }
+            
+            Event event = eventDTO.toEntity(creator);
+            event.setId(null);
+            event.setRecurrence(parseRecurrence(eventDTO.getRecurrenceRule(), eventDTO.getStartTime()),
+                                exceptionsOf(eventDTO));
+            event.setCreatedAt(now);
+            event.setUpdatedAt(now);
+            if (eventDTO.getSpecialViewerIds() != null) {
+                for (Long viewerId : eventDTO.getSpecialViewerIds()) {
+                    Employee viewer = viewers.get(viewerId);
+                    if (viewer != null) {
+                        event.addViewPermission(viewer);
+                    }
+                }
+            }
+            events.add(event);
+            eventIndexes.add(i);
+            results.add(null);
+        }
+        
+        // ID由表格產生器預先配置，事件與權限在flush時以批次語句寫入
+        List<Event> savedEvents = eventRepository.saveAll(events);
+        eventRepository.flush();
+        
+        for (int k = 0; k < savedEvents.size(); k++) {
+            Event savedEvent = savedEvents.get(k);
+            int index = eventIndexes.get(k);
+            results.set(index, BulkEventResultDTO.created(index, new EventDTO(savedEvent)));
+            eventIntervalIndex.put(savedEvent);
+            eventSearchIndex.put(savedEvent);
+            eventMonthSnapshotCache.invalidate(savedEvent.getStartTime(), savedEvent.getLastEndTime());
+            calendarChangeStamps.monthsChanged(savedEvent.getStartTime(), savedEvent.getLastEndTime());
+        }
+        return results;
+    }
+    
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional
     public EventDTO updateEvent(Long id, EventDTO eventDTO) {
-        Optional<Event> eventOpt = eventRepository.findById(id);
+        return updateEvent(id, eventDTO, null);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public EventDTO updateEvent(Long id, EventDTO eventDTO, Long expectedVersion) {
+        Optional<Event> eventOpt = eventRepository.findWithCreatorById(id);
         if (eventOpt.isEmpty()) {
             throw new IllegalArgumentException("事件不存在: " + id);
         }
         
         Event event = eventOpt.get();
+        if (expectedVersion != null && event.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("事件已被其他人修改: " + id, event.getVersion());
+        }
         
         // 獲取事件的創建者
         Employee creator = event.getCreator();
@@ -139,6 +385,12 @@ public class CalendarServiceImpl implements CalendarService {
         // 驗證安全等級 - 用戶不能選擇比自己等級高的安全等級
         validateSecurityLevel(creator.getSecurityLevel(), eventDTO.getSecurityLevel());
         
+        // 原本所在的月份快照也需失效
+        eventMonthSnapshotCache.invalidate(event.getStartTime(), event.getLastEndTime());
+        calendarChangeStamps.monthsChanged(event.getStartTime(), event.getLastEndTime());
+        LocalDateTime previousStart = event.getStartTime();
+        List<Event> overrides = event.isRecurring() ? eventRepository.findBySeriesId(id) : List.of();
+        
         // 更新事件基本信息
         event.setTitle(eventDTO.getTitle());
         event.setDescription(eventDTO.getDescription());
@@ -148,39 +400,31 @@ public class CalendarServiceImpl implements CalendarService {
         event.setSecurityLevel(eventDTO.getSecurityLevel());
         event.setUpdatedAt(LocalDateTime.now());
         
-        // 保存事件
-        Event updatedEvent = eventRepository.save(event);
+        // 重複規則與例外日期為null時沿用原值，開始時間變更後重新驗證
+        String recurrenceRule = eventDTO.getRecurrenceRule() != null
+                ? eventDTO.getRecurrenceRule() : event.getRecurrenceRule();
+        RecurrenceRule rule = parseRecurrence(recurrenceRule, event.getStartTime());
+        if (rule != null && event.getSeriesId() != null) {
+            throw new IllegalArgumentException("重複事件的單次例外不可設定重複規則");
+        }
+        event.setRecurrence(rule, realignExceptions(rule, event.getStartTime(),
+                Duration.between(previousStart, event.getStartTime()),
+                eventDTO.getRecurrenceExceptions() != null
+                        ? eventDTO.getRecurrenceExceptions() : event.getRecurrenceExceptions(),
+                overrides));
         
         // 更新特殊查看權限
         if (eventDTO.getSpecialViewerIds() != null) {
-            // 獲取當前的特殊查看權限
-            Set<Long> currentViewerIds = event.getViewPermissions().stream()
-                                        .map(permission -> permission.getEmployee().getId())
-                                        .collect(Collectors.toSet());
-            
-            // 添加新的查看權限
-            for (Long viewerId : eventDTO.getSpecialViewerIds()) {
-                if (!currentViewerIds.contains(viewerId)) {
-                    Optional<Employee> viewerOpt = employeeRepository.findById(viewerId);
-                    if (viewerOpt.isPresent()) {
-                        updatedEvent.addViewPermission(viewerOpt.get());
-                    }
-                }
-            }
-            
-            // 移除不再需要的查看權限
-            for (Long viewerId : currentViewerIds) {
-                if (!eventDTO.getSpecialViewerIds().contains(viewerId)) {
-                    Optional<Employee> viewerOpt = employeeRepository.findById(viewerId);
-                    if (viewerOpt.isPresent()) {
-                        updatedEvent.removeViewPermission(viewerOpt.get());
-                    }
-                }
-            }
-            
-            updatedEvent = eventRepository.save(updatedEvent);
+            syncViewPermissions(event, eventDTO.getSpecialViewerIds());
         }
         
+        // 以 version 為條件寫入；讀取後已被其他交易修改時拋出樂觀鎖異常，回應中的版本為寫入後的版本
+        Event updatedEvent = eventRepository.saveAndFlush(event);
+        
+        eventIntervalIndex.put(updatedEvent);
+        eventSearchIndex.put(updatedEvent);
+        eventMonthSnapshotCache.invalidate(updatedEvent.getStartTime(), updatedEvent.getLastEndTime());
+        calendarChangeStamps.monthsChanged(updatedEvent.getStartTime(), updatedEvent.getLastEndTime());
         return new EventDTO(updatedEvent);
     }
     
@@ -197,20 +441,86 @@ public class CalendarServiceImpl implements CalendarService {
         
         Event event = eventOpt.get();
         
-        // 刪除事件的查看權限
-        eventViewPermissionRepository.deleteByEvent(event);
-        
-        // 刪除事件
-        eventRepository.delete(event);
+        // 刪除重複事件時一併刪除其單次例外
+        if (event.isRecurring()) {
+            for (Event override : eventRepository.findBySeriesId(id)) {
+                removeEvent(override);
+            }
+        }
+        removeEvent(event);
         return true;
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public EventDTO overrideOccurrence(Long seriesId, LocalDateTime originalStart, EventDTO eventDTO) {
+        Event series = findSeriesForOccurrence(seriesId, originalStart);
+        Employee creator = series.getCreator();
+        SecurityLevel securityLevel = eventDTO.getSecurityLevel() != null
+                ? eventDTO.getSecurityLevel() : series.getSecurityLevel();
+        validateSecurityLevel(creator.getSecurityLevel(), securityLevel);
+        
+        // 未提供的欄位沿用重複事件與該次發生原本的時間
+        LocalDateTime originalEnd = originalStart.plus(Duration.between(series.getStartTime(), series.getEndTime()));
+        Event override = new Event(
+                eventDTO.getTitle() != null ? eventDTO.getTitle() : series.getTitle(),
+                eventDTO.getDescription() != null ? eventDTO.getDescription() : series.getDescription(),
+                eventDTO.getStartTime() != null ? eventDTO.getStartTime() : originalStart,
+                eventDTO.getEndTime() != null ? eventDTO.getEndTime() : originalEnd,
+                eventDTO.getLocation() != null ? eventDTO.getLocation() : series.getLocation(),
+                creator, securityLevel);
+        override.setOverrideOf(seriesId, originalStart);
+        Event savedOverride = eventRepository.save(override);
+        
+        Set<Long> viewerIds = eventDTO.getSpecialViewerIds() != null && !eventDTO.getSpecialViewerIds().isEmpty()
+                ? eventDTO.getSpecialViewerIds() : series.getSpecialViewerIds();
+        if (!viewerIds.isEmpty()) {
+            for (Employee viewer : employeeRepository.findAllById(viewerIds)) {
+                savedOverride.addViewPermission(viewer);
+            }
+        }
+        
+        // 原本的發生改由單次例外取代
+        series.addRecurrenceException(originalStart);
+        series.setUpdatedAt(LocalDateTime.now());
+        
+        eventIntervalIndex.put(savedOverride);
+        eventSearchIndex.put(savedOverride);
+        eventMonthSnapshotCache.invalidate(originalStart, originalEnd);
+        calendarChangeStamps.monthsChanged(originalStart, originalEnd);
+        eventMonthSnapshotCache.invalidate(savedOverride.getStartTime(), savedOverride.getEndTime());
+        calendarChangeStamps.monthsChanged(savedOverride.getStartTime(), savedOverride.getEndTime());
+        return new EventDTO(savedOverride);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public EventDTO cancelOccurrence(Long seriesId, LocalDateTime originalStart) {
+        Event series = findSeriesForOccurrence(seriesId, originalStart);
+        series.addRecurrenceException(originalStart);
+        series.setUpdatedAt(LocalDateTime.now());
+        
+        LocalDateTime originalEnd = originalStart.plus(Duration.between(series.getStartTime(), series.getEndTime()));
+        eventMonthSnapshotCache.invalidate(originalStart, originalEnd);
+        calendarChangeStamps.monthsChanged(originalStart, originalEnd);
+        return new EventDTO(eventRepository.saveAndFlush(series));
+    }
+    
     /**
      * {@inheritDoc}
      */
     @Override
     public List<EventDTO> getEventsBetween(LocalDateTime start, LocalDateTime end) {
-        return eventRepository.findByStartTimeBetween(start, end).stream()
+        if (eventIntervalIndex.isReady()) {
+            return findEventsByIds(eventIntervalIndex.findIdsStartingBetween(start, end));
+        }
+        return eventRepository.findSummariesStartingBetween(start, end).stream()
                             .map(EventDTO::new)
                             .collect(Collectors.toList());
     }
@@ -220,7 +530,11 @@ public class CalendarServiceImpl implements CalendarService {
      */
     @Override
     public List<EventDTO> getEventsByYearAndMonth(int year, int month) {
-        return eventRepository.findByYearAndMonth(year, month).stream()
+        CalendarPeriod period = CalendarPeriod.ofMonth(YearMonth.of(year, month));
+        if (eventIntervalIndex.isReady()) {
+            return findEventsByIds(eventIntervalIndex.findIdsStartingIn(period));
+        }
+        return eventRepository.findSummariesStartingIn(period.getStart(), period.getEnd()).stream()
                             .map(EventDTO::new)
                             .collect(Collectors.toList());
     }
@@ -237,9 +551,77 @@ public class CalendarServiceImpl implements CalendarService {
         
         Employee employee = employeeOpt.get();
         
-        return eventRepository.findVisibleEventsForEmployee(employee, employee.getSecurityLevel(), start, end).stream()
-                            .map(EventDTO::new)
-                            .collect(Collectors.toList());
+        List<EventDTO> occurrences = findVisibleOccurrences(employee.getId(), employee.getSecurityLevel(), start, end);
+        if (eventIntervalIndex.isReady()) {
+            List<EventDTO> events = findEventsByIds(eventIntervalIndex.findVisibleIds(
+                    employee.getId(), employee.getSecurityLevel(), start, end));
+            return mergeOccurrences(events, occurrences);
+        }
+        
+        // 依可見原因拆成三個可走索引的查詢，再於記憶體中合併去重
+        Map<Long, EventSummary> visibleEvents = new LinkedHashMap<>();
+        for (EventSummary event : eventRepository.findCreatedSummariesInWindow(employee.getId(), start, end)) {
+            visibleEvents.putIfAbsent(event.getId(), event);
+        }
+        for (EventSummary event : eventRepository.findSummariesBySecurityLevelsInWindow(
+                employee.getSecurityLevel().getAccessibleLevels(),
+                Event.monthKeyOf(start), Event.monthKeyOf(end), start, end)) {
+            visibleEvents.putIfAbsent(event.getId(), event);
+        }
+        for (EventSummary event : eventRepository.findPermittedSummariesInWindow(employee.getId(), start, end)) {
+            visibleEvents.putIfAbsent(event.getId(), event);
+        }
+        
+        return mergeOccurrences(visibleEvents.values().stream()
+                                             .map(EventDTO::new)
+                                             .collect(Collectors.toList()),
+                                occurrences);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EventDTO> getVisibleEventsForEmployeeInMonth(Long employeeId, YearMonth yearMonth) {
+        Optional<Employee> employeeOpt = employeeRepository.findById(employeeId);
+        if (employeeOpt.isEmpty()) {
+            throw new IllegalArgumentException("員工不存在: " + employeeId);
+        }
+        
+        return getVisibleEventsForEmployeeInMonth(employeeId, employeeOpt.get().getSecurityLevel(), yearMonth);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EventDTO> getVisibleEventsForEmployeeInMonth(Long employeeId, SecurityLevel level,
+                                                             YearMonth yearMonth) {
+        CalendarPeriod period = CalendarPeriod.ofMonth(yearMonth);
+        LocalDateTime start = period.getStart();
+        LocalDateTime end = period.getEnd();
+        
+        // 同一安全等級共用的部分
+        List<EventDTO> levelEvents = eventMonthSnapshotCache.get(level, yearMonth, () ->
+                eventRepository.findSummariesBySecurityLevelsInWindow(level.getAccessibleLevels(),
+                        Event.monthKeyOf(start), Event.monthKeyOf(end), start, end).stream()
+                    .map(EventDTO::new)
+                    .collect(Collectors.toList()));
+        
+        // 合併員工自己創建及被特別授權的事件
+        Map<Long, EventDTO> visibleEvents = new LinkedHashMap<>();
+        for (EventDTO event : levelEvents) {
+            visibleEvents.put(event.getId(), event);
+        }
+        for (EventSummary event : eventRepository.findCreatedSummariesInWindow(employeeId, start, end)) {
+            visibleEvents.computeIfAbsent(event.getId(), id -> new EventDTO(event));
+        }
+        for (EventSummary event : eventRepository.findPermittedSummariesInWindow(employeeId, start, end)) {
+            visibleEvents.computeIfAbsent(event.getId(), id -> new EventDTO(event));
+        }
+        
+        return mergeOccurrences(new ArrayList<>(visibleEvents.values()),
+                                findVisibleOccurrences(employeeId, level, start, end));
     }
     
     /**
@@ -247,14 +629,11 @@ public class CalendarServiceImpl implements CalendarService {
      */
     @Override
     public List<EventDTO> getEventsByCreator(Long creatorId) {
-        Optional<Employee> creatorOpt = employeeRepository.findById(creatorId);
-        if (creatorOpt.isEmpty()) {
+        if (!employeeRepository.existsById(creatorId)) {
             throw new IllegalArgumentException("創建者不存在: " + creatorId);
         }
         
-        Employee creator = creatorOpt.get();
-        
-        return eventRepository.findByCreator(creator).stream()
+        return eventRepository.findSummariesByCreatorId(creatorId).stream()
                             .map(EventDTO::new)
                             .collect(Collectors.toList());
     }
@@ -263,12 +642,52 @@ public class CalendarServiceImpl implements CalendarService {
      * {@inheritDoc}
      */
     @Override
-    public List<EventDTO> searchEvents(String keyword) {
-        return eventRepository.findByTitleContainingOrDescriptionContaining(keyword, keyword).stream()
+    public EventPageDTO getEventsByCreatorPage(Long creatorId, String cursor, Integer size) {
+        if (!employeeRepository.existsById(creatorId)) {
+            throw new IllegalArgumentException("創建者不存在: " + creatorId);
+        }
+        
+        return findPage(cursor, size,
+                limit -> eventRepository.findSummariesPageByCreatorId(creatorId, limit),
+                (after, limit) -> eventRepository.findSummariesPageByCreatorIdAfter(
+                        creatorId, after.getStartTime(), after.getId(), limit));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EventDTO> searchEvents(String keyword, Long employeeId, SecurityLevel level) {
+        if (eventSearchIndex.canSearch(keyword)) {
+            return findSummariesInOrder(eventSearchIndex.search(keyword, employeeId, level)).stream()
+                                .map(EventDTO::new)
+                                .collect(Collectors.toList());
+        }
+        return eventRepository.searchSummaries(keyword, employeeId, level.getAccessibleLevels()).stream()
                             .map(EventDTO::new)
                             .collect(Collectors.toList());
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EventPageDTO searchEventsPage(String keyword, String cursor, Integer size, Long employeeId,
+                                         SecurityLevel level) {
+        if (eventSearchIndex.canSearch(keyword)) {
+            return findPage(cursor, size,
+                    limit -> findSummariesInOrder(eventSearchIndex.searchPage(
+                            keyword, employeeId, level, null, null, limit.max())),
+                    (after, limit) -> findSummariesInOrder(eventSearchIndex.searchPage(
+                            keyword, employeeId, level, after.getStartTime(), after.getId(), limit.max())));
+        }
+        Set<SecurityLevel> levels = level.getAccessibleLevels();
+        return findPage(cursor, size,
+                limit -> eventRepository.searchSummariesPage(keyword, employeeId, levels, limit),
+                (after, limit) -> eventRepository.searchSummariesPageAfter(
+                        keyword, employeeId, levels, after.getStartTime(), after.getId(), limit));
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -292,7 +711,10 @@ public class CalendarServiceImpl implements CalendarService {
         
         // 添加查看權限
         event.addViewPermission(employee);
-        eventRepository.save(event);
+        eventIntervalIndex.grant(eventId, employeeId);
+        eventSearchIndex.grant(eventId, employeeId);
+        eventMonthSnapshotCache.invalidate(event.getStartTime(), event.getLastEndTime());
+        calendarChangeStamps.monthsChanged(event.getStartTime(), event.getLastEndTime());
         return true;
     }
     
@@ -321,6 +743,11 @@ public class CalendarServiceImpl implements CalendarService {
         // 移除查看權限
         EventViewPermission permission = permissionOpt.get();
         eventViewPermissionRepository.delete(permission);
+        event.removeSpecialViewer(employeeId);
+        eventIntervalIndex.revoke(eventId, employeeId);
+        eventSearchIndex.revoke(eventId, employeeId);
+        eventMonthSnapshotCache.invalidate(event.getStartTime(), event.getLastEndTime());
+        calendarChangeStamps.monthsChanged(event.getStartTime(), event.getLastEndTime());
         return true;
     }
     
@@ -328,17 +755,33 @@ public class CalendarServiceImpl implements CalendarService {
      * {@inheritDoc}
      */
     @Override
-    public Set<Long> getSpecialViewerIds(Long eventId) {
+    @Transactional
+    public Set<Long> replaceViewPermissions(Long eventId, Set<Long> employeeIds) {
         Optional<Event> eventOpt = eventRepository.findById(eventId);
         if (eventOpt.isEmpty()) {
-            return new HashSet<>();
+            return null;
         }
         
         Event event = eventOpt.get();
+        syncViewPermissions(event, employeeIds);
+        eventIntervalIndex.put(event);
+        eventSearchIndex.put(event);
+        eventMonthSnapshotCache.invalidate(event.getStartTime(), event.getLastEndTime());
+        calendarChangeStamps.monthsChanged(event.getStartTime(), event.getLastEndTime());
+        return event.getSpecialViewerIds();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Long> getSpecialViewerIds(Long eventId) {
+        Optional<Event> eventOpt = eventRepository.findById(eventId);
+        if (eventOpt.isEmpty()) {
+            return new HashSet<>();
+        }
         
-        return eventViewPermissionRepository.findByEvent(event).stream()
-                                         .map(permission -> permission.getEmployee().getId())
-                                         .collect(Collectors.toSet());
+        return eventOpt.get().getSpecialViewerIds();
     }
     
     /**
@@ -359,6 +802,361 @@ public class CalendarServiceImpl implements CalendarService {
         return event.canBeViewedBy(employee);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canEmployeeViewEvent(Long eventId, Long employeeId, SecurityLevel securityLevel) {
+        return eventRepository.findById(eventId)
+                              .map(event -> event.canBeViewedBy(employeeId, securityLevel))
+                              .orElse(false);
+    }
+    
+    /**
+     * 依ID取回事件並轉換為資料傳輸物件，結果依開始時間排序
+     * 
+     * @param ids 事件ID列表
+     * @return 事件資料傳輸物件列表
+     */
+    private List<EventDTO> findEventsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return eventRepository.findSummariesByIdIn(ids).stream()
+                            .map(EventDTO::new)
+                            .sorted(EVENT_DTO_ORDER)
+                            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 依ID取回事件摘要，保持ID列表的順序；已被刪除的事件略過
+     * 
+     * @param ids 事件ID列表
+     * @return 事件摘要列表
+     */
+    private List<EventSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, EventSummary> byId = new HashMap<>();
+        for (EventSummary summary : eventRepository.findSummariesByIdIn(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        return ids.stream()
+                  .map(byId::get)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toList());
+    }
+    
+    /**
+     * 將事件的特殊查看權限同步為指定集合
+     * <p>
+     * 以事件上的查看者點陣圖計算差異，新員工以一次查詢取回後批次插入，
+     * 撤銷的權限以單一 DELETE ... IN 語句刪除，最後一次性更新點陣圖。
+     * </p>
+     * 
+     * @param event 受管理的事件實體
+     * @param employeeIds 完整的特殊查看者員工ID集合
+     */
+    private void syncViewPermissions(Event event, Set<Long> employeeIds) {
+        Set<Long> currentIds = event.getSpecialViewerIds();
+        
+        Set<Long> revokedIds = new HashSet<>(currentIds);
+        revokedIds.removeAll(employeeIds);
+        if (!revokedIds.isEmpty()) {
+            eventViewPermissionRepository.deleteByEventIdAndEmployeeIdIn(event.getId(), revokedIds);
+        }
+        
+        Set<Long> grantedIds = new HashSet<>(employeeIds);
+        grantedIds.removeAll(currentIds);
+        List<EventViewPermission> granted = new ArrayList<>();
+        if (!grantedIds.isEmpty()) {
+            for (Employee employee : employeeRepository.findAllById(grantedIds)) {
+                granted.add(new EventViewPermission(event, employee));
+            }
+            eventViewPermissionRepository.saveAll(granted);
+        }
+        
+        Set<Long> viewerIds = new HashSet<>(currentIds);
+        viewerIds.removeAll(revokedIds);
+        granted.forEach(permission -> viewerIds.add(permission.getEmployee().getId()));
+        event.replaceSpecialViewers(viewerIds);
+        
+        // 權限集合已載入時一併同步，避免同一交易內讀到過期內容；未載入時不觸發載入
+        if (Hibernate.isInitialized(event.getViewPermissions())) {
+            event.getViewPermissions().removeIf(
+                    permission -> revokedIds.contains(permission.getEmployee().getId()));
+            event.getViewPermissions().addAll(granted);
+        }
+    }
+    
+    /**
+     * 以游標讀取一頁事件
+     * <p>
+     * 多讀一筆以判斷是否還有下一頁，不使用OFFSET，翻頁成本與頁碼無關。
+     * </p>
+     * 
+     * @param cursor 續讀標記，第一頁為null
+     * @param size 每頁筆數
+     * @param firstPage 第一頁查詢
+     * @param nextPage 游標之後的查詢
+     * @return 事件分頁
+     */
+    private EventPageDTO findPage(String cursor, Integer size,
+                                  Function<Limit, List<EventSummary>> firstPage,
+                                  BiFunction<EventPageCursor, Limit, List<EventSummary>> nextPage) {
+        int pageSize = Math.max(1, Math.min(size == null ? defaultPageSize : size, maxPageSize));
+        Limit limit = Limit.of(pageSize + 1);
+        List<EventSummary> rows = cursor == null || cursor.isEmpty()
+                ? firstPage.apply(limit)
+                : nextPage.apply(EventPageCursor.decode(cursor), limit);
+        
+        List<EventDTO> items = rows.stream()
+                                   .limit(pageSize)
+                                   .map(EventDTO::new)
+                                   .collect(Collectors.toList());
+        String nextCursor = rows.size() > pageSize ? EventPageCursor.encode(items.get(items.size() - 1)) : null;
+        return new EventPageDTO(items, nextCursor);
+    }
+    
+    /**
+     * 應用程式啟動後為既有事件補齊月份鍵
+     * <p>
+     * 月份鍵表是後來加入的，舊資料沒有對應的列，會被安全等級查詢分支漏掉。
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMonthKeys() {
+        backfill(eventRepository::findIdsWithoutMonthKeys, ids -> {
+            for (Event event : eventRepository.findAllWithMonthKeysByIdIn(ids)) {
+                event.refreshMonthKeys();
+            }
+        });
+    }
+    
+    /**
+     * 應用程式啟動後為既有事件建立特殊查看者點陣圖
+     * <p>
+     * 點陣圖欄位是後來加入的，舊資料需由權限表重建一次，之後隨權限異動同步維護。
+     * 每批以一次查詢取得所有權限的事件ID與員工ID，不載入各事件的權限集合。
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSpecialViewers() {
+        backfill(eventRepository::findIdsWithoutSpecialViewerBitmap, ids -> {
+            Map<Long, List<Long>> viewersByEvent = eventViewPermissionRepository.findGrantsByEventIds(ids).stream()
+                    .collect(Collectors.groupingBy(ViewerGrant::getEventId,
+                                                   Collectors.mapping(ViewerGrant::getEmployeeId,
+                                                                      Collectors.toList())));
+            for (Event event : eventRepository.findAllById(ids)) {
+                event.replaceSpecialViewers(viewersByEvent.getOrDefault(event.getId(), List.of()));
+            }
+        });
+    }
+    
+    /**
+     * 依ID順序分批處理需要補齊資料的事件
+     * <p>
+     * 每批在各自的交易中提交，持久化上下文隨交易結束清空，載入的實體不會在記憶體中累積。
+     * 以上一批最後一筆的ID為游標，無法補齊的事件不會被反覆處理。
+     * </p>
+     * 
+     * @param nextIds 依游標與筆數上限查詢下一批事件ID
+     * @param batch 在交易中處理一批事件ID
+     */
+    private void backfill(BiFunction<Long, Limit, List<Long>> nextIds, Consumer<List<Long>> batch) {
+        Long afterId = Long.MIN_VALUE;
+        while (afterId != null) {
+            Long cursor = afterId;
+            afterId = transactionTemplate.execute(status -> {
+                List<Long> ids = nextIds.apply(cursor, Limit.of(BACKFILL_BATCH_SIZE));
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                batch.accept(ids);
+                return ids.get(ids.size() - 1);
+            });
+        }
+    }
+    
+    /**
+     * 檢查批次建立的單筆事件資料
+     * 
+     * @param creator 創建者
+     * @param eventDTO 事件資料傳輸物件
+     * @return 錯誤訊息，資料有效時返回null
+     */
+    private String validateNewEvent(Employee creator, EventDTO eventDTO) {
+        if (eventDTO == null) {
+            return "事件資料不可為空";
+        }
+        if (eventDTO.getTitle() == null || eventDTO.getTitle().isBlank()) {
+            return "事件標題不可為空";
+        }
+        if (eventDTO.getStartTime() == null || eventDTO.getEndTime() == null) {
+            return "事件開始與結束時間不可為空";
+        }
+        if (eventDTO.getSecurityLevel() == null) {
+            return "事件安全等級不可為空";
+        }
+        try {
+            validateSecurityLevel(creator.getSecurityLevel(), eventDTO.getSecurityLevel());
+            parseRecurrence(eventDTO.getRecurrenceRule(), eventDTO.getStartTime());
+            RecurrenceRule.formatDates(eventDTO.getRecurrenceExceptions());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+    
+    /**
+     * 解析重複規則並檢查事件開始時間是否符合規則
+     * 
+     * @param recurrenceRule RRULE 文字，null 或空白表示單次事件
+     * @param startTime 事件開始時間
+     * @return 重複規則，單次事件返回 null
+     * @throws IllegalArgumentException 如果規則無效或開始時間不符合規則
+     */
+    private RecurrenceRule parseRecurrence(String recurrenceRule, LocalDateTime startTime) {
+        if (recurrenceRule == null || recurrenceRule.isBlank()) {
+            return null;
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(recurrenceRule);
+        if (startTime != null) {
+            rule.validateStart(startTime);
+        }
+        return rule;
+    }
+    
+    /**
+     * 將重複事件的例外日期與單次例外的原開始時間平移開始時間的變動量
+     * <p>
+     * 例外日期以變更前的發生時間表示；不平移的話，已取消的發生會重新出現，已修改的發生會與單次例外同時顯示。
+     * 平移後的時間都須是新規則的發生，否則拒絕變更。單次例外的原開始時間一律保留在例外日期中。
+     * </p>
+     * 
+     * @param rule 變更後的重複規則，null 表示改為單次事件
+     * @param startTime 變更後的開始時間
+     * @param shift 開始時間的變動量
+     * @param exceptions 變更前的例外日期
+     * @param overrides 重複事件的單次例外
+     * @return 平移後的例外日期
+     * @throws IllegalArgumentException 如果有單次例外時移除重複規則，或平移後的時間不是新規則的發生
+     */
+    private static List<LocalDateTime> realignExceptions(RecurrenceRule rule, LocalDateTime startTime,
+                                                         Duration shift, List<LocalDateTime> exceptions,
+                                                         List<Event> overrides) {
+        if (rule == null) {
+            if (!overrides.isEmpty()) {
+                throw new IllegalArgumentException("重複事件仍有單次例外，不可移除重複規則");
+            }
+            return List.of();
+        }
+        Set<LocalDateTime> shifted = new TreeSet<>();
+        for (LocalDateTime exception : exceptions) {
+            shifted.add(exception.plus(shift));
+        }
+        for (Event override : overrides) {
+            shifted.add(override.getOriginalStartTime().plus(shift));
+        }
+        List<LocalDateTime> unmatched = shifted.stream()
+                .filter(time -> !rule.isOccurrence(startTime, time))
+                .collect(Collectors.toList());
+        if (!unmatched.isEmpty()) {
+            throw new IllegalArgumentException("變更後的重複規則不包含已取消或修改的發生: " + unmatched);
+        }
+        for (Event override : overrides) {
+            override.setOverrideOf(override.getSeriesId(), override.getOriginalStartTime().plus(shift));
+        }
+        return new ArrayList<>(shifted);
+    }
+    
+    /**
+     * 獲取DTO中的例外日期
+     * 
+     * @param eventDTO 事件資料傳輸物件
+     * @return 例外日期列表，未指定時為空列表
+     */
+    private static List<LocalDateTime> exceptionsOf(EventDTO eventDTO) {
+        return eventDTO.getRecurrenceExceptions() != null ? eventDTO.getRecurrenceExceptions() : List.of();
+    }
+    
+    /**
+     * 刪除事件及其查看權限，並同步索引與快取
+     * 
+     * @param event 要刪除的事件
+     */
+    private void removeEvent(Event event) {
+        eventViewPermissionRepository.deleteByEvent(event);
+        eventRepository.delete(event);
+        eventIntervalIndex.remove(event.getId());
+        eventSearchIndex.remove(event.getId());
+        eventMonthSnapshotCache.invalidate(event.getStartTime(), event.getLastEndTime());
+        calendarChangeStamps.monthsChanged(event.getStartTime(), event.getLastEndTime());
+    }
+    
+    /**
+     * 獲取重複事件並檢查指定時間是否為其尚未被取消或修改的一次發生
+     * 
+     * @param seriesId 重複事件ID
+     * @param originalStart 該次發生原本的開始時間
+     * @return 重複事件
+     * @throws IllegalArgumentException 如果事件不存在、不是重複事件或該時間不是有效的發生
+     */
+    private Event findSeriesForOccurrence(Long seriesId, LocalDateTime originalStart) {
+        Event series = eventRepository.findWithCreatorById(seriesId)
+                .orElseThrow(() -> new IllegalArgumentException("事件不存在: " + seriesId));
+        if (!series.isRecurring()) {
+            throw new IllegalArgumentException("事件不是重複事件: " + seriesId);
+        }
+        if (!RecurrenceRule.parse(series.getRecurrenceRule()).isOccurrence(series.getStartTime(), originalStart)) {
+            throw new IllegalArgumentException("指定時間不是重複事件的發生: " + originalStart);
+        }
+        if (series.getRecurrenceExceptions().contains(originalStart)) {
+            throw new IllegalArgumentException("該次發生已被取消或修改: " + originalStart);
+        }
+        return series;
+    }
+    
+    /**
+     * 查詢員工可見的重複事件，並只展開與時間區間重疊的發生
+     * 
+     * @param employeeId 員工ID
+     * @param level 員工的安全等級
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
+     * @return 各次發生的資料傳輸物件列表
+     */
+    private List<EventDTO> findVisibleOccurrences(Long employeeId, SecurityLevel level,
+                                                  LocalDateTime start, LocalDateTime end) {
+        List<EventDTO> occurrences = new ArrayList<>();
+        for (EventSummary series : eventRepository.findVisibleSeriesSummariesInWindow(
+                employeeId, level.getAccessibleLevels(), start, end)) {
+            EventDTO template = new EventDTO(series);
+            RecurrenceRule.Occurrences it = RecurrenceRule.parse(series.getRecurrenceRule()).occurrences(
+                    series.getStartTime(), series.getEndTime(), template.getRecurrenceExceptions(), start, end);
+            while (it.next()) {
+                occurrences.add(template.occurrence(it.getStart(), it.getEnd()));
+            }
+        }
+        return occurrences;
+    }
+    
+    /**
+     * 合併單次事件與重複事件的發生，依開始時間排序
+     * 
+     * @param events 單次事件列表
+     * @param occurrences 重複事件的發生列表
+     * @return 合併後的事件列表
+     */
+    private static List<EventDTO> mergeOccurrences(List<EventDTO> events, List<EventDTO> occurrences) {
+        List<EventDTO> merged = new ArrayList<>(events.size() + occurrences.size());
+        merged.addAll(events);
+        merged.addAll(occurrences);
+        merged.sort(EVENT_DTO_ORDER);
+        return merged;
+    }
+    
     /**
      * 驗證安全等級 - 確保用戶不能選擇比自己等級高的安全等級
      * 
@@ -0,0 +1,449 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Event;
+import com.company.calendar.repository.EventRepository;
+import com.company.calendar.repository.EventViewPermissionRepository;
+import com.company.calendar.repository.projection.EventTimeSlot;
+import com.company.calendar.repository.projection.ViewerGrant;
+import com.company.calendar.util.CalendarPeriod;
+import com.company.calendar.util.TransactionUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 記憶體中的事件時間索引
+ * <p>
+ * 以月份分桶保存每個事件的ID、開始與結束時間、安全等級、創建者及特殊查看者，
+ * 讓時間區間查詢在記憶體中完成，只需再依ID從資料庫取回符合的事件。
+ * 重複事件只以第一次發生建立索引，可見事件查詢不包含重複事件，由呼叫端另行展開。
+ * 索引於應用程式啟動後載入，並在事件寫入的交易提交後增量更新；載入期間提交的寫入會記錄下來，
+ * 在換上新索引前重新套用，不會被載入時讀到的舊資料覆蓋。
+ * 透過 {@code app.calendar.interval-index.enabled} 開關，方便與資料庫查詢路徑比較。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class EventIntervalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventIntervalIndex.class);
+
+    /**
+     * 是否啟用記憶體索引
+     */
+    private final boolean enabled;
+
+    /**
+     * 事件資料庫操作介面
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * 事件查看權限資料庫操作介面
+     */
+    private final EventViewPermissionRepository eventViewPermissionRepository;
+
+    /**
+     * 保護索引資料的讀寫鎖
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 目前使用的索引資料
+     */
+    private Tables tables = new Tables();
+
+    /**
+     * 載入期間發生的寫入，載入完成後套用到新索引；未載入時為null
+     */
+    private List<Consumer<Tables>> pendingWrites;
+
+    /**
+     * 索引是否已載入完成
+     */
+    private volatile boolean loaded;
+
+    /**
+     * 構造函數
+     *
+     * @param eventRepository 事件資料庫操作介面
+     * @param eventViewPermissionRepository 事件查看權限資料庫操作介面
+     * @param enabled 是否啟用記憶體索引
+     */
+    @Autowired
+    public EventIntervalIndex(EventRepository eventRepository,
+                              EventViewPermissionRepository eventViewPermissionRepository,
+                              @Value("${app.calendar.interval-index.enabled:false}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.eventViewPermissionRepository = eventViewPermissionRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 檢查索引是否可用於查詢
+     *
+     * @return 已啟用且載入完成時返回true
+     */
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    /**
+     * 應用程式啟動後從資料庫載入索引
+     * <p>
+     * 讀取資料庫期間不持有鎖。期間提交的寫入可能已包含在讀到的資料中，重新套用的結果相同。
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                return;
+            }
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Tables loadedTables = new Tables();
+        try {
+            Map<Long, Entry> loadedEntries = new HashMap<>();
+            for (EventTimeSlot slot : eventRepository.findAllTimeSlots()) {
+                loadedEntries.put(slot.getId(), new Entry(slot.getId(), slot.getStartTime(), slot.getEndTime(),
+                                                          slot.getSecurityLevel(), slot.getCreatorId(),
+                                                          new HashSet<>(), slot.getRecurrenceRule() != null));
+            }
+            for (ViewerGrant grant : eventViewPermissionRepository.findAllGrants()) {
+                Entry entry = loadedEntries.get(grant.getEventId());
+                if (entry != null) {
+                    entry.viewerIds.add(grant.getEmployeeId());
+                }
+            }
+            loadedEntries.values().forEach(loadedTables::insert);
+
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(change -> change.accept(loadedTables));
+                tables = loadedTables;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("事件時間索引已載入，共 {} 筆事件", loadedTables.entries.size());
+    }
+
+    /**
+     * 新增或更新事件的索引項目，於目前交易提交後生效
+     *
+     * @param event 已保存的事件
+     */
+    public void put(Event event) {
+        if (!enabled) {
+            return;
+        }
+        Long id = event.getId();
+        LocalDateTime start = event.getStartTime();
+        LocalDateTime end = event.getEndTime();
+        SecurityLevel securityLevel = event.getSecurityLevel();
+        Long creatorId = event.getCreator().getId();
+        Set<Long> viewerIds = event.getSpecialViewerIds();
+        boolean recurring = event.isRecurring();
+        // 每份索引資料各自建立項目，載入期間重新套用時不會與目前的索引共用查看者集合
+        write(target -> {
+            target.delete(id);
+            target.insert(new Entry(id, start, end, securityLevel, creatorId, new HashSet<>(viewerIds), recurring));
+        });
+    }
+
+    /**
+     * 移除事件的索引項目，於目前交易提交後生效
+     *
+     * @param eventId 事件ID
+     */
+    public void remove(Long eventId) {
+        write(target -> target.delete(eventId));
+    }
+
+    /**
+     * 記錄新增的特殊查看權限，於目前交易提交後生效
+     *
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     */
+    public void grant(Long eventId, Long employeeId) {
+        updateViewers(eventId, viewerIds -> viewerIds.add(employeeId));
+    }
+
+    /**
+     * 記錄移除的特殊查看權限，於目前交易提交後生效
+     *
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     */
+    public void revoke(Long eventId, Long employeeId) {
+        updateViewers(eventId, viewerIds -> viewerIds.remove(employeeId));
+    }
+
+    /**
+     * 移除與員工相關的索引資料（其創建的事件及特殊查看權限），於目前交易提交後生效
+     *
+     * @param employeeId 員工ID
+     */
+    public void removeEmployee(Long employeeId) {
+        write(target -> {
+            List<Long> createdIds = target.entries.values().stream()
+                                                  .filter(entry -> entry.creatorId.equals(employeeId))
+                                                  .map(entry -> entry.id)
+                                                  .collect(Collectors.toList());
+            createdIds.forEach(target::delete);
+            target.entries.values().forEach(entry -> entry.viewerIds.remove(employeeId));
+        });
+    }
+
+    /**
+     * 查找開始時間位於 [start, end] 的事件ID
+     *
+     * @param start 開始時間（包含）
+     * @param end 結束時間（包含）
+     * @return 符合的事件ID列表
+     */
+    public List<Long> findIdsStartingBetween(LocalDateTime start, LocalDateTime end) {
+        return findIdsStarting(start, end, true);
+    }
+
+    /**
+     * 查找開始時間位於指定期間的事件ID
+     *
+     * @param period 行事曆期間
+     * @return 符合的事件ID列表
+     */
+    public List<Long> findIdsStartingIn(CalendarPeriod period) {
+        return findIdsStarting(period.getStart(), period.getEnd(), false);
+    }
+
+    /**
+     * 查找員工有權限查看且與半開區間 [start, end) 重疊的單次事件ID，不包含重複事件
+     *
+     * @param employeeId 員工ID
+     * @param employeeLevel 員工安全等級
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
+     * @return 符合的事件ID列表
+     */
+    public List<Long> findVisibleIds(Long employeeId, SecurityLevel employeeLevel,
+                                     LocalDateTime start, LocalDateTime end) {
+        List<Long> ids = new ArrayList<>();
+        if (start.isAfter(end)) {
+            return ids;
+        }
+        Set<Long> seen = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Entry> entries = tables.entries;
+            for (Set<Long> bucket : tables.buckets.subMap(Event.monthKeyOf(start), true,
+                                                   Event.monthKeyOf(end), true).values()) {
+                for (Long id : bucket) {
+                    Entry entry = entries.get(id);
+                    if (!entry.recurring && entry.overlaps(start, end) && entry.isVisibleTo(employeeId, employeeLevel)
+                            && seen.add(id)) {
+                        ids.add(id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * 查找開始時間位於指定範圍的事件ID
+     *
+     * @param start 開始時間（包含）
+     * @param end 結束時間
+     * @param inclusiveEnd 結束時間是否包含在範圍內
+     * @return 符合的事件ID列表
+     */
+    private List<Long> findIdsStarting(LocalDateTime start, LocalDateTime end, boolean inclusiveEnd) {
+        List<Long> ids = new ArrayList<>();
+        if (start.isAfter(end)) {
+            return ids;
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Entry> entries = tables.entries;
+            for (Map.Entry<Integer, Set<Long>> bucket : tables.buckets.subMap(Event.monthKeyOf(start), true,
+                                                                              Event.monthKeyOf(end), true)
+                                                                      .entrySet()) {
+                for (Long id : bucket.getValue()) {
+                    Entry entry = entries.get(id);
+                    // 每個事件只在其開始月份的桶中計算一次
+                    if (Event.monthKeyOf(entry.start) == bucket.getKey() && !entry.start.isBefore(start)
+                            && (inclusiveEnd ? !entry.start.isAfter(end) : entry.start.isBefore(end))) {
+                        ids.add(id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * 修改事件的特殊查看者集合
+     *
+     * @param eventId 事件ID
+     * @param change 對查看者集合的修改
+     */
+    private void updateViewers(Long eventId, Consumer<Set<Long>> change) {
+        write(target -> {
+            Entry entry = target.entries.get(eventId);
+            if (entry != null) {
+                change.accept(entry.viewerIds);
+            }
+        });
+    }
+
+    /**
+     * 於目前交易提交後修改索引，載入期間同時記錄下來
+     *
+     * @param change 對索引資料的修改
+     */
+    private void write(Consumer<Tables> change) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                change.accept(tables);
+                if (pendingWrites != null) {
+                    pendingWrites.add(change);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 索引資料：事件ID到索引項目的對照，及月份鍵到涵蓋該月份的事件ID集合（呼叫者需持有寫鎖才能修改）
+     */
+    private static final class Tables {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final NavigableMap<Integer, Set<Long>> buckets = new TreeMap<>();
+
+        /**
+         * 將索引項目加入索引
+         *
+         * @param entry 索引項目
+         */
+        private void insert(Entry entry) {
+            entries.put(entry.id, entry);
+            for (int key = entry.firstMonth(); key <= entry.lastMonth(); key++) {
+                buckets.computeIfAbsent(key, k -> new HashSet<>()).add(entry.id);
+            }
+        }
+
+        /**
+         * 從索引移除事件
+         *
+         * @param eventId 事件ID
+         */
+        private void delete(Long eventId) {
+            Entry entry = entries.remove(eventId);
+            if (entry == null) {
+                return;
+            }
+            for (int key = entry.firstMonth(); key <= entry.lastMonth(); key++) {
+                Set<Long> bucket = buckets.get(key);
+                if (bucket != null) {
+                    bucket.remove(eventId);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 索引項目，保存判斷時間區間與可見性所需的事件資料
+     */
+    private static final class Entry {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final SecurityLevel securityLevel;
+        private final Long creatorId;
+        private final Set<Long> viewerIds;
+        private final boolean recurring;
+
+        private Entry(Long id, LocalDateTime start, LocalDateTime end, SecurityLevel securityLevel,
+                      Long creatorId, Set<Long> viewerIds, boolean recurring) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.securityLevel = securityLevel;
+            this.creatorId = creatorId;
+            this.viewerIds = viewerIds;
+            this.recurring = recurring;
+        }
+
+        private int firstMonth() {
+            return Event.monthKeyOf(start);
+        }
+
+        private int lastMonth() {
+            return Event.monthKeyOf(end.isBefore(start) ? start : end);
+        }
+
+        private boolean overlaps(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+            return start.isBefore(rangeEnd) && (end.isAfter(rangeStart) || start.isEqual(rangeStart));
+        }
+
+        private boolean isVisibleTo(Long employeeId, SecurityLevel employeeLevel) {
+            return creatorId.equals(employeeId)
+                    || employeeLevel.hasAccessTo(securityLevel)
+                    || viewerIds.contains(employeeId);
+        }
+    }
+}
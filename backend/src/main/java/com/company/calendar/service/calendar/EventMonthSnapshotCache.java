@@ -0,0 +1,224 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.EventDTO;
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.util.TransactionUtil;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 依安全等級與月份快取的事件快照
+ * <p>
+ * 系統只有四個安全等級，同一等級的員工在同一個月份看到的「依等級可見」事件完全相同。
+ * 此快取以 (安全等級, 年月) 為鍵保存已轉換好的事件列表，請求時只需再合併該員工自己創建
+ * 及被特別授權的事件。事件寫入時只讓受影響的月份失效。
+ * 容量由 {@code app.calendar.month-cache.max-entries} 設定，設為0則停用快取。
+ * </p>
+ * <p>
+ * 本機的寫入在交易提交後立即讓快照失效，並通知所有 {@link EventMonthSnapshotInvalidationHook}。
+ * 其他節點的寫入只能經由掛鉤轉送；沒有註冊掛鉤時，快照最多落後其他節點的寫入
+ * {@code app.calendar.month-cache.ttl-seconds} 秒，之後過期重新載入。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class EventMonthSnapshotCache {
+
+    /**
+     * 最多保存的快照數量
+     */
+    private final int maxEntries;
+
+    /**
+     * 快照存活時間（毫秒）
+     */
+    private final long ttlMillis;
+
+    /**
+     * 失效掛鉤
+     */
+    private final ObjectProvider<EventMonthSnapshotInvalidationHook> invalidationHooks;
+
+    /**
+     * 快照資料，依存取順序排列以淘汰最久未使用的項目
+     */
+    private final Map<Key, Entry> snapshots;
+
+    /**
+     * 失效次數計數，用於避免載入期間發生的失效被舊資料覆蓋
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 構造函數
+     *
+     * @param maxEntries 最多保存的快照數量
+     * @param ttlSeconds 快照存活秒數
+     * @param invalidationHooks 失效掛鉤
+     */
+    public EventMonthSnapshotCache(@Value("${app.calendar.month-cache.max-entries:480}") int maxEntries,
+                                   @Value("${app.calendar.month-cache.ttl-seconds:60}") long ttlSeconds,
+                                   ObjectProvider<EventMonthSnapshotInvalidationHook> invalidationHooks) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.invalidationHooks = invalidationHooks;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > EventMonthSnapshotCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 獲取指定安全等級與月份的事件快照，不存在時透過載入器建立
+     *
+     * @param securityLevel 安全等級
+     * @param yearMonth 年月
+     * @param loader 快照載入器
+     * @return 不可修改的事件列表
+     */
+    public List<EventDTO> get(SecurityLevel securityLevel, YearMonth yearMonth, Supplier<List<EventDTO>> loader) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+        Key key = new Key(securityLevel, yearMonth);
+        long now = System.currentTimeMillis();
+        synchronized (snapshots) {
+            Entry entry = snapshots.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    return entry.events;
+                }
+                snapshots.remove(key);
+            }
+        }
+
+        long generation = invalidations.get();
+        List<EventDTO> snapshot = Collections.unmodifiableList(loader.get());
+        synchronized (snapshots) {
+            if (invalidations.get() == generation) {
+                snapshots.put(key, new Entry(snapshot, now + ttlMillis));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 讓與時間區間相交的月份快照失效並通知失效掛鉤，於目前交易提交後生效
+     *
+     * @param start 開始時間
+     * @param end 結束時間
+     */
+    public void invalidate(LocalDateTime start, LocalDateTime end) {
+        if (maxEntries <= 0 || start == null || end == null) {
+            return;
+        }
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end.isBefore(start) ? start : end);
+        TransactionUtil.afterCommit(() -> {
+            evict(first, last);
+            invalidationHooks.orderedStream().forEach(hook -> hook.invalidated(first, last));
+        });
+    }
+
+    /**
+     * 讓所有快照失效並通知失效掛鉤，於目前交易提交後生效
+     */
+    public void invalidateAll() {
+        if (maxEntries <= 0) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            evictAll();
+            invalidationHooks.orderedStream().forEach(hook -> hook.invalidated(null, null));
+        });
+    }
+
+    /**
+     * 立即從本機快取移除月份區間內的快照，不通知失效掛鉤
+     * <p>
+     * 供失效掛鉤在收到其他節點的通知時呼叫。
+     * </p>
+     *
+     * @param first 第一個月份
+     * @param last 最後一個月份
+     */
+    public void evict(YearMonth first, YearMonth last) {
+        synchronized (snapshots) {
+            invalidations.incrementAndGet();
+            snapshots.keySet().removeIf(key -> !key.yearMonth.isBefore(first) && !key.yearMonth.isAfter(last));
+        }
+    }
+
+    /**
+     * 立即清空本機快取，不通知失效掛鉤
+     * <p>
+     * 供失效掛鉤在收到其他節點的通知時呼叫。
+     * </p>
+     */
+    public void evictAll() {
+        synchronized (snapshots) {
+            invalidations.incrementAndGet();
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * 快取項目：事件快照與過期時間
+     */
+    private static final class Entry {
+        private final List<EventDTO> events;
+        private final long expiresAt;
+
+        private Entry(List<EventDTO> events, long expiresAt) {
+            this.events = events;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 快照鍵：安全等級與年月
+     */
+    private static final class Key {
+        private final SecurityLevel securityLevel;
+        private final YearMonth yearMonth;
+
+        private Key(SecurityLevel securityLevel, YearMonth yearMonth) {
+            this.securityLevel = securityLevel;
+            this.yearMonth = yearMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return securityLevel == other.securityLevel && yearMonth.equals(other.yearMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(securityLevel, yearMonth);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.calendar.service.calendar;
+
+import java.time.YearMonth;
+
+/**
+ * 月份事件快照失效掛鉤
+ * <p>
+ * {@link EventMonthSnapshotCache} 只存在於各節點本機。多節點部署時可註冊此介面的Bean，
+ * 將本機發生的失效轉送給其他節點，由其他節點呼叫 {@link EventMonthSnapshotCache#evict(YearMonth, YearMonth)}
+ * 或 {@link EventMonthSnapshotCache#evictAll()}。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public interface EventMonthSnapshotInvalidationHook {
+
+    /**
+     * 本機快取中的月份快照已失效，於交易提交後呼叫
+     *
+     * @param first 第一個失效的月份，所有月份都失效時為null
+     * @param last 最後一個失效的月份，所有月份都失效時為null
+     */
+    void invalidated(YearMonth first, YearMonth last);
+}
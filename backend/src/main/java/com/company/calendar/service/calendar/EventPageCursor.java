@@ -0,0 +1,67 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.EventDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 事件分頁游標
+ * <p>
+ * 記錄上一頁最後一筆事件的 (開始時間, ID)，下一頁從其後開始讀取。
+ * 對外以Base64編碼的字串傳遞，呼叫端不應解析其內容。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+final class EventPageCursor {
+
+    private final LocalDateTime startTime;
+    private final Long id;
+
+    private EventPageCursor(LocalDateTime startTime, Long id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    /**
+     * 以事件建立指向其後的游標標記
+     *
+     * @param last 本頁最後一筆事件
+     * @return 續讀標記
+     */
+    static String encode(EventDTO last) {
+        String raw = last.getStartTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析續讀標記
+     *
+     * @param token 續讀標記
+     * @return 分頁游標
+     * @throws IllegalArgumentException 如果標記格式無效
+     */
+    static EventPageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new EventPageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                       Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("無效的分頁標記: " + token);
+        }
+    }
+
+    LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,298 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Event;
+import com.company.calendar.repository.EventRepository;
+import com.company.calendar.repository.projection.EventSummary;
+import com.company.calendar.service.calendar.EventSearchSegment.Document;
+import com.company.calendar.util.SearchTokenizer;
+import com.company.calendar.util.SearchTokenizer.QueryTerm;
+import com.company.calendar.util.TransactionUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 記憶體中的事件全文搜索索引
+ * <p>
+ * 取代對標題與描述的前後萬用字元 LIKE 掃描：標題、地點與描述以 {@link SearchTokenizer} 切詞後建立倒排索引，
+ * 中文以單字與二字組索引，不依賴資料庫的全文索引。查詢在記憶體中完成並排序，只需再依ID取回該頁的事件。
+ * </p>
+ * <p>
+ * 可見性在索引內以點陣圖交集過濾，排序與分頁只在呼叫者可見的命中中進行，不會取回看不到的事件。
+ * </p>
+ * <p>
+ * 索引於應用程式啟動後從資料庫串流重建，並在事件寫入的交易提交後增量更新。
+ * 更新只讓舊文件失效，失效文件超過有效文件的一定比例時由背景工作重建；重建期間的寫入會記錄下來，
+ * 換上新索引前重新套用，查詢在重建期間仍使用舊索引。
+ * 透過 {@code app.calendar.search-index.enabled} 開關，關閉或尚未載入時使用資料庫查詢路徑。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    /**
+     * 事件資料庫操作介面
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * 是否啟用搜索索引
+     */
+    private final boolean enabled;
+
+    /**
+     * 失效文件數超過有效文件數的此比例時重建
+     */
+    private final double compactRatio;
+
+    /**
+     * 保護索引資料的讀寫鎖
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 目前使用的索引資料
+     */
+    private EventSearchSegment segment = new EventSearchSegment();
+
+    /**
+     * 重建期間發生的寫入，重建完成後套用到新索引；未重建時為null
+     */
+    private List<Consumer<EventSearchSegment>> pendingWrites;
+
+    /**
+     * 索引是否已載入完成
+     */
+    private volatile boolean loaded;
+
+    /**
+     * 構造函數
+     *
+     * @param eventRepository 事件資料庫操作介面
+     * @param enabled 是否啟用搜索索引
+     * @param compactRatio 失效文件數超過有效文件數的此比例時重建
+     */
+    public EventSearchIndex(EventRepository eventRepository,
+                            @Value("${app.calendar.search-index.enabled:true}") boolean enabled,
+                            @Value("${app.calendar.search-index.compact-ratio:0.25}") double compactRatio) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.compactRatio = compactRatio;
+    }
+
+    /**
+     * 檢查關鍵字是否可由索引查詢
+     *
+     * @param keyword 關鍵字
+     * @return 索引已啟用、載入完成且關鍵字含有可查詢的詞時返回true
+     */
+    public boolean canSearch(String keyword) {
+        return enabled && loaded && !SearchTokenizer.queryTerms(keyword).isEmpty();
+    }
+
+    /**
+     * 應用程式啟動後從資料庫載入索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 失效文件過多時重建索引
+     */
+    @Scheduled(fixedDelayString = "${app.calendar.search-index.compact-interval-ms:600000}",
+               initialDelayString = "${app.calendar.search-index.compact-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void compact() {
+        if (!enabled || !loaded) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (segment.deadCount() <= segment.liveCount() * compactRatio) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild();
+    }
+
+    /**
+     * 新增或更新事件的索引文件，於目前交易提交後生效
+     *
+     * @param event 已保存的事件
+     */
+    public void put(Event event) {
+        Document document = new Document(event.getId(), event.getStartTime(), event.getCreator().getId(),
+                                         event.getSecurityLevel(), event.getSpecialViewerIds(), event.getTitle(),
+                                         event.getLocation(), event.getDescription());
+        write(target -> target.add(document));
+    }
+
+    /**
+     * 移除事件的索引文件，於目前交易提交後生效
+     *
+     * @param eventId 事件ID
+     */
+    public void remove(Long eventId) {
+        write(target -> target.remove(eventId));
+    }
+
+    /**
+     * 授予員工查看事件的特殊權限，於目前交易提交後生效
+     *
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     */
+    public void grant(Long eventId, Long employeeId) {
+        write(target -> target.grant(eventId, employeeId));
+    }
+
+    /**
+     * 撤銷員工查看事件的特殊權限，於目前交易提交後生效
+     *
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     */
+    public void revoke(Long eventId, Long employeeId) {
+        write(target -> target.revoke(eventId, employeeId));
+    }
+
+    /**
+     * 移除員工創建的事件文件及其特殊查看權限，於目前交易提交後生效
+     *
+     * @param employeeId 員工ID
+     */
+    public void removeEmployee(Long employeeId) {
+        write(target -> target.removeEmployee(employeeId));
+    }
+
+    /**
+     * 依相關度排序搜索員工可見的事件
+     *
+     * @param keyword 關鍵字
+     * @param employeeId 查詢的員工ID
+     * @param level 查詢員工的安全等級
+     * @return 依相關度排序的事件ID列表
+     */
+    public List<Long> search(String keyword, Long employeeId, SecurityLevel level) {
+        List<QueryTerm> terms = SearchTokenizer.queryTerms(keyword);
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, employeeId, level);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 依開始時間與ID排序搜索員工可見的事件，只返回排在游標之後的一頁
+     *
+     * @param keyword 關鍵字
+     * @param employeeId 查詢的員工ID
+     * @param level 查詢員工的安全等級
+     * @param afterStart 上一頁最後一筆的開始時間，第一頁為null
+     * @param afterId 上一頁最後一筆的ID，第一頁為null
+     * @param limit 筆數上限
+     * @return 依開始時間與ID排序的事件ID列表
+     */
+    public List<Long> searchPage(String keyword, Long employeeId, SecurityLevel level, LocalDateTime afterStart,
+                                 Long afterId, int limit) {
+        List<QueryTerm> terms = SearchTokenizer.queryTerms(keyword);
+        lock.readLock().lock();
+        try {
+            return segment.searchAfter(terms, employeeId, level, afterStart, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 於目前交易提交後修改索引，重建期間同時記錄下來
+     *
+     * @param change 對索引資料的修改
+     */
+    private void write(Consumer<EventSearchSegment> change) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                change.accept(segment);
+                if (pendingWrites != null) {
+                    pendingWrites.add(change);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 從資料庫重建索引並換上
+     * <p>
+     * 讀取資料庫期間不持有鎖。期間提交的寫入可能已包含在讀到的資料中，重新套用的結果相同。
+     * </p>
+     */
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                return;
+            }
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        EventSearchSegment rebuilt = new EventSearchSegment();
+        try {
+            try (Stream<EventSummary> events = eventRepository.streamAllSummaries()) {
+                events.forEach(event -> rebuilt.add(new Document(event)));
+            }
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(change -> change.accept(rebuilt));
+                segment = rebuilt;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("事件搜索索引已載入，共 {} 筆事件", rebuilt.liveCount());
+    }
+}
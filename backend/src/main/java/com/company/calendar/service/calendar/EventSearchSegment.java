@@ -0,0 +1,455 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.repository.projection.EventSummary;
+import com.company.calendar.util.SearchTokenizer;
+import com.company.calendar.util.SearchTokenizer.QueryTerm;
+import com.company.calendar.util.ViewerBitmapUtil;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * 事件全文搜索的倒排索引資料
+ * <p>
+ * 每個詞對應標題、地點、描述三個欄位的文件點陣圖。文件編號只增不減：更新事件時舊文件只從存活點陣圖移除，
+ * 再以新編號加入，倒排列表不需逐一刪除，殘留的舊編號在重建時清除。
+ * 可見性同樣以點陣圖表示：依安全等級分區，加上每位員工創建及被特別授權的文件，
+ * 查詢時先求出呼叫者可見的文件，再與詞的倒排列表交集。
+ * 此類別本身不是執行緒安全的，由 {@link EventSearchIndex} 負責加鎖。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+final class EventSearchSegment {
+
+    /**
+     * 欄位：標題
+     */
+    static final int TITLE = 0;
+
+    /**
+     * 欄位：地點
+     */
+    static final int LOCATION = 1;
+
+    /**
+     * 欄位：描述
+     */
+    static final int DESCRIPTION = 2;
+
+    /**
+     * 各欄位命中時的權重
+     */
+    private static final float[] FIELD_WEIGHTS = {3f, 2f, 1f};
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 詞到各欄位文件點陣圖的對照，依詞排序以支援前綴比對
+     */
+    private final NavigableMap<String, RoaringBitmap[]> postings = new TreeMap<>();
+
+    /**
+     * 事件ID到目前文件編號的對照
+     */
+    private final Map<Long, Integer> docIds = new HashMap<>();
+
+    /**
+     * 仍有效的文件編號
+     */
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    /**
+     * 依文件編號保存的事件ID
+     */
+    private long[] eventIds = new long[INITIAL_CAPACITY];
+
+    /**
+     * 依文件編號保存的開始時間（UTC微秒）
+     */
+    private long[] starts = new long[INITIAL_CAPACITY];
+
+    /**
+     * 依安全等級分區的文件，以等級序數為索引
+     */
+    private final RoaringBitmap[] levelDocs = new RoaringBitmap[SecurityLevel.values().length];
+
+    /**
+     * 創建者ID到其創建文件的對照
+     */
+    private final Map<Long, RoaringBitmap> creatorDocs = new HashMap<>();
+
+    /**
+     * 員工ID到其被特別授權查看文件的對照
+     */
+    private final Map<Long, RoaringBitmap> viewerDocs = new HashMap<>();
+
+    /**
+     * 已分配的文件編號數量
+     */
+    private int size;
+
+    /**
+     * 構造函數
+     */
+    EventSearchSegment() {
+        for (int i = 0; i < levelDocs.length; i++) {
+            levelDocs[i] = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * 加入或取代事件的文件
+     *
+     * @param document 事件文件
+     */
+    void add(Document document) {
+        remove(document.eventId);
+        int docId = size++;
+        if (docId == eventIds.length) {
+            int capacity = eventIds.length * 2;
+            eventIds = Arrays.copyOf(eventIds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+        }
+        eventIds[docId] = document.eventId;
+        starts[docId] = document.start;
+        docIds.put(document.eventId, docId);
+        live.add(docId);
+
+        levelDocs[document.securityLevel.ordinal()].add(docId);
+        creatorDocs.computeIfAbsent(document.creatorId, id -> new RoaringBitmap()).add(docId);
+        for (Long viewerId : document.viewerIds) {
+            viewerDocs.computeIfAbsent(viewerId, id -> new RoaringBitmap()).add(docId);
+        }
+
+        indexField(docId, TITLE, document.title);
+        indexField(docId, LOCATION, document.location);
+        indexField(docId, DESCRIPTION, document.description);
+    }
+
+    /**
+     * 移除事件的文件
+     *
+     * @param eventId 事件ID
+     */
+    void remove(long eventId) {
+        Integer docId = docIds.remove(eventId);
+        if (docId != null) {
+            live.remove(docId);
+        }
+    }
+
+    /**
+     * 授予員工查看事件的特殊權限
+     *
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     */
+    void grant(long eventId, long employeeId) {
+        Integer docId = docIds.get(eventId);
+        if (docId != null) {
+            viewerDocs.computeIfAbsent(employeeId, id -> new RoaringBitmap()).add(docId);
+        }
+    }
+
+    /**
+     * 撤銷員工查看事件的特殊權限
+     *
+     * @param eventId 事件ID
+     * @param employeeId 員工ID
+     */
+    void revoke(long eventId, long employeeId) {
+        Integer docId = docIds.get(eventId);
+        RoaringBitmap granted = viewerDocs.get(employeeId);
+        if (docId != null && granted != null) {
+            granted.remove(docId);
+        }
+    }
+
+    /**
+     * 移除員工創建的所有事件文件及其特殊查看權限
+     *
+     * @param employeeId 員工ID
+     */
+    void removeEmployee(long employeeId) {
+        viewerDocs.remove(employeeId);
+        RoaringBitmap created = creatorDocs.remove(employeeId);
+        if (created != null) {
+            RoaringBitmap.and(created, live).forEach((int docId) -> remove(eventIds[docId]));
+        }
+    }
+
+    /**
+     * 獲取有效文件數量
+     *
+     * @return 有效文件數量
+     */
+    int liveCount() {
+        return live.getCardinality();
+    }
+
+    /**
+     * 獲取已失效但仍留在倒排列表中的文件數量
+     *
+     * @return 失效文件數量
+     */
+    int deadCount() {
+        return size - live.getCardinality();
+    }
+
+    /**
+     * 依相關度排序搜索
+     * <p>
+     * 所有查詢詞都須出現在任一欄位。每個詞依其逆文件頻率與命中欄位的權重累加分數，
+     * 分數相同時依開始時間與事件ID排序。只有呼叫者可見的文件參與排序。
+     * </p>
+     *
+     * @param terms 查詢詞
+     * @param employeeId 查詢的員工ID
+     * @param level 查詢員工的安全等級
+     * @return 依相關度排序的可見事件ID列表
+     */
+    List<Long> search(List<QueryTerm> terms, long employeeId, SecurityLevel level) {
+        RoaringBitmap[][] termFields = new RoaringBitmap[terms.size()][];
+        RoaringBitmap candidates = match(terms, termFields, visibleTo(employeeId, level));
+        int[] docs = candidates.toArray();
+        if (docs.length == 0) {
+            return new ArrayList<>();
+        }
+
+        float[] scores = new float[docs.length];
+        int liveDocs = live.getCardinality();
+        for (RoaringBitmap[] fields : termFields) {
+            RoaringBitmap any = RoaringBitmap.or(fields[TITLE], fields[LOCATION], fields[DESCRIPTION]);
+            int frequency = Math.max(1, RoaringBitmap.andCardinality(any, live));
+            float idf = (float) Math.log(1 + (double) liveDocs / frequency);
+            for (int field = 0; field < fields.length; field++) {
+                float weight = idf * FIELD_WEIGHTS[field];
+                RoaringBitmap.and(fields[field], candidates).forEach((int docId) ->
+                        scores[Arrays.binarySearch(docs, docId)] += weight);
+            }
+        }
+
+        Integer[] order = new Integer[docs.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> -scores[i])
+                                     .thenComparing(i -> docs[i], this::compareByStart));
+        List<Long> ids = new ArrayList<>(docs.length);
+        for (Integer i : order) {
+            ids.add(eventIds[docs[i]]);
+        }
+        return ids;
+    }
+
+    /**
+     * 依開始時間與事件ID排序搜索，只返回排在游標之後的前幾筆可見文件
+     *
+     * @param terms 查詢詞
+     * @param employeeId 查詢的員工ID
+     * @param level 查詢員工的安全等級
+     * @param afterStart 上一頁最後一筆的開始時間，第一頁為null
+     * @param afterId 上一頁最後一筆的事件ID，第一頁為null
+     * @param limit 筆數上限
+     * @return 依開始時間與事件ID排序的可見事件ID列表
+     */
+    List<Long> searchAfter(List<QueryTerm> terms, long employeeId, SecurityLevel level, LocalDateTime afterStart,
+                           Long afterId, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        RoaringBitmap candidates = match(terms, new RoaringBitmap[terms.size()][], visibleTo(employeeId, level));
+        long cursorStart = afterStart != null ? toMicros(afterStart) : Long.MIN_VALUE;
+        long cursorId = afterId != null ? afterId : Long.MIN_VALUE;
+
+        // 以最大堆保留排序最前的 limit 筆
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit,
+                ((Comparator<Integer>) this::compareByStart).reversed());
+        candidates.forEach((int docId) -> {
+            if (starts[docId] < cursorStart || (starts[docId] == cursorStart && eventIds[docId] <= cursorId)) {
+                return;
+            }
+            if (top.size() < limit) {
+                top.add(docId);
+            } else if (compareByStart(docId, top.peek()) < 0) {
+                top.poll();
+                top.add(docId);
+            }
+        });
+
+        Integer[] page = top.toArray(new Integer[0]);
+        Arrays.sort(page, this::compareByStart);
+        List<Long> ids = new ArrayList<>(page.length);
+        for (Integer docId : page) {
+            ids.add(eventIds[docId]);
+        }
+        return ids;
+    }
+
+    /**
+     * 求出員工可見的有效文件：可存取等級的分區、自己創建的文件與被特別授權的文件
+     *
+     * @param employeeId 員工ID
+     * @param level 員工的安全等級
+     * @return 可見的文件編號
+     */
+    private RoaringBitmap visibleTo(long employeeId, SecurityLevel level) {
+        RoaringBitmap visible = new RoaringBitmap();
+        for (SecurityLevel accessible : level.getAccessibleLevels()) {
+            visible.or(levelDocs[accessible.ordinal()]);
+        }
+        RoaringBitmap created = creatorDocs.get(employeeId);
+        if (created != null) {
+            visible.or(created);
+        }
+        RoaringBitmap granted = viewerDocs.get(employeeId);
+        if (granted != null) {
+            visible.or(granted);
+        }
+        visible.and(live);
+        return visible;
+    }
+
+    /**
+     * 找出候選文件中包含所有查詢詞的文件
+     *
+     * @param terms 查詢詞
+     * @param termFields 輸出每個查詢詞在各欄位命中的文件
+     * @param candidates 候選文件，會被就地縮小
+     * @return 符合的文件編號
+     */
+    private RoaringBitmap match(List<QueryTerm> terms, RoaringBitmap[][] termFields, RoaringBitmap candidates) {
+        for (int i = 0; i < terms.size(); i++) {
+            RoaringBitmap[] fields = lookup(terms.get(i));
+            termFields[i] = fields;
+            candidates.and(RoaringBitmap.or(fields[TITLE], fields[LOCATION], fields[DESCRIPTION]));
+        }
+        return candidates;
+    }
+
+    /**
+     * 查找查詢詞在各欄位命中的文件，前綴比對時合併所有符合前綴的詞
+     *
+     * @param term 查詢詞
+     * @return 各欄位的文件點陣圖
+     */
+    private RoaringBitmap[] lookup(QueryTerm term) {
+        RoaringBitmap[] merged = {new RoaringBitmap(), new RoaringBitmap(), new RoaringBitmap()};
+        Iterable<RoaringBitmap[]> matches = term.isPrefix()
+                ? postings.subMap(term.getText(), true, term.getText() + Character.MAX_VALUE, false).values()
+                : postings.containsKey(term.getText()) ? List.<RoaringBitmap[]>of(postings.get(term.getText()))
+                                                       : List.of();
+        for (RoaringBitmap[] fields : matches) {
+            for (int field = 0; field < fields.length; field++) {
+                if (fields[field] != null) {
+                    merged[field].or(fields[field]);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 將欄位文字的詞加入倒排列表
+     *
+     * @param docId 文件編號
+     * @param field 欄位
+     * @param text 欄位文字
+     */
+    private void indexField(int docId, int field, String text) {
+        for (String term : SearchTokenizer.indexTerms(text)) {
+            RoaringBitmap[] fields = postings.computeIfAbsent(term, t -> new RoaringBitmap[3]);
+            if (fields[field] == null) {
+                fields[field] = new RoaringBitmap();
+            }
+            fields[field].add(docId);
+        }
+    }
+
+    /**
+     * 依開始時間與事件ID比較兩個文件
+     *
+     * @param left 文件編號
+     * @param right 文件編號
+     * @return 比較結果
+     */
+    private int compareByStart(int left, int right) {
+        int byStart = Long.compare(starts[left], starts[right]);
+        return byStart != 0 ? byStart : Long.compare(eventIds[left], eventIds[right]);
+    }
+
+    /**
+     * 將時間轉換為UTC微秒，與資料庫的時間精度相同
+     *
+     * @param time 時間
+     * @return 微秒
+     */
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * 事件文件：索引所需的事件資料快照
+     */
+    static final class Document {
+        private final long eventId;
+        private final long start;
+        private final long creatorId;
+        private final SecurityLevel securityLevel;
+        private final Collection<Long> viewerIds;
+        private final String title;
+        private final String location;
+        private final String description;
+
+        /**
+         * 構造函數
+         *
+         * @param eventId 事件ID
+         * @param start 開始時間
+         * @param creatorId 創建者ID
+         * @param securityLevel 安全等級
+         * @param viewerIds 特殊查看者員工ID
+         * @param title 標題
+         * @param location 地點
+         * @param description 描述
+         */
+        Document(long eventId, LocalDateTime start, long creatorId, SecurityLevel securityLevel,
+                 Collection<Long> viewerIds, String title, String location, String description) {
+            this.eventId = eventId;
+            this.start = start != null ? toMicros(start) : Long.MIN_VALUE;
+            this.creatorId = creatorId;
+            this.securityLevel = securityLevel;
+            this.viewerIds = viewerIds;
+            this.title = title;
+            this.location = location;
+            this.description = description;
+        }
+
+        /**
+         * 由事件摘要建立文件
+         *
+         * @param summary 事件摘要
+         */
+        Document(EventSummary summary) {
+            this(summary.getId(), summary.getStartTime(), summary.getCreatorId(), summary.getSecurityLevel(),
+                 ViewerBitmapUtil.toIds(summary.getSpecialViewerBitmap()), summary.getTitle(),
+                 summary.getLocation(), summary.getDescription());
+        }
+    }
+}
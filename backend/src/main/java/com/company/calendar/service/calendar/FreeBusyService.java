@@ -0,0 +1,46 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.FreeBusyDTO;
+import com.company.calendar.dto.FreeSlotDTO;
+import com.company.calendar.dto.FreeSlotRequestDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 忙碌時段服務介面
+ * <p>
+ * 計算多位員工在時間區間內的忙碌時段，供安排會議使用。員工創建或被特別授權的事件都視為忙碌，
+ * 不論查詢者能否查看該事件，回傳結果只有時間，不含事件內容。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+public interface FreeBusyService {
+    
+    /**
+     * 獲取多位員工在時間區間內合併後的忙碌時段
+     * 
+     * @param employeeIds 員工ID列表
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
+     * @return 每位員工的忙碌時段，依請求中的員工順序排列，重複的ID只回傳一次
+     * @throws IllegalArgumentException 如果員工不存在、員工數超過上限或區間無效
+     */
+    List<FreeBusyDTO> getFreeBusy(List<Long> employeeIds, LocalDateTime start, LocalDateTime end);
+    
+    /**
+     * 找出必要參與者與地點都有空的最早時段
+     * <p>
+     * 只在每天的工作時間內搜尋，時段開始時間對齊到固定的分鐘單位。每段連續空檔先回傳最早的時段，
+     * 之後只有在能出席的選擇性參與者變多時，才在同一段空檔內再回傳較晚的時段。
+     * </p>
+     * 
+     * @param request 參與者、地點、搜尋區間、時段長度與工作時間
+     * @return 依開始時間排序的時段，最多為請求的數量
+     * @throws IllegalArgumentException 如果員工不存在、員工數超過上限、區間或工作時間無效
+     */
+    List<FreeSlotDTO> findFreeSlots(FreeSlotRequestDTO request);
+}
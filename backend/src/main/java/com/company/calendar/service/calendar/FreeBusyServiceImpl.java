@@ -0,0 +1,345 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.FreeBusyDTO;
+import com.company.calendar.dto.FreeSlotDTO;
+import com.company.calendar.dto.FreeSlotRequestDTO;
+import com.company.calendar.dto.TimeRangeDTO;
+import com.company.calendar.repository.EmployeeRepository;
+import com.company.calendar.repository.EventRepository;
+import com.company.calendar.repository.projection.EmployeeBusySlot;
+import com.company.calendar.util.BusyIntervals;
+import com.company.calendar.util.FreeSlotFinder;
+import com.company.calendar.util.RecurrenceRule;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 忙碌時段服務實現類
+ * <p>
+ * 以一次查詢取回所有員工在區間內的事件時段，重複事件只展開區間內的發生，
+ * 再對每位員工以掃描線合併為不重疊的忙碌區間。共同空檔由合併後的忙碌區間與工作時段交給
+ * {@link FreeSlotFinder} 依時間推進搜尋。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@Service
+public class FreeBusyServiceImpl implements FreeBusyService {
+
+    /**
+     * 未指定時回傳的共同空檔數
+     */
+    private static final int DEFAULT_SLOTS = 5;
+
+    /**
+     * 一次查詢的員工數上限
+     */
+    @Value("${app.calendar.freebusy.max-employees:500}")
+    private int maxEmployees;
+
+    /**
+     * 查詢區間的天數上限
+     */
+    @Value("${app.calendar.freebusy.max-days:62}")
+    private int maxDays;
+
+    /**
+     * 共同空檔一次回傳的時段數上限
+     */
+    @Value("${app.calendar.freebusy.max-slots:50}")
+    private int maxSlots;
+
+    /**
+     * 共同空檔開始時間的對齊分鐘數
+     */
+    @Value("${app.calendar.freebusy.slot-step-minutes:15}")
+    private int slotStepMinutes;
+
+    /**
+     * 事件時間所在的時區
+     */
+    @Value("${app.calendar.time-zone:Asia/Taipei}")
+    private String calendarTimeZone;
+
+    /**
+     * 事件資料庫操作介面
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * 員工資料庫操作介面
+     */
+    private final EmployeeRepository employeeRepository;
+
+    /**
+     * 構造函數
+     *
+     * @param eventRepository 事件資料庫操作介面
+     * @param employeeRepository 員工資料庫操作介面
+     */
+    @Autowired
+    public FreeBusyServiceImpl(EventRepository eventRepository, EmployeeRepository employeeRepository) {
+        this.eventRepository = eventRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FreeBusyDTO> getFreeBusy(List<Long> employeeIds, LocalDateTime start, LocalDateTime end) {
+        Map<Long, long[]> busy = findMergedBusy(employeeIds, start, end);
+        List<FreeBusyDTO> result = new ArrayList<>(busy.size());
+        for (Map.Entry<Long, long[]> entry : busy.entrySet()) {
+            long[] intervals = entry.getValue();
+            List<TimeRangeDTO> ranges = new ArrayList<>(intervals.length / 2);
+            for (int i = 0; i < intervals.length; i += 2) {
+                ranges.add(new TimeRangeDTO(BusyIntervals.toDateTime(intervals[i]),
+                                            BusyIntervals.toDateTime(intervals[i + 1])));
+            }
+            result.add(new FreeBusyDTO(entry.getKey(), ranges));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FreeSlotDTO> findFreeSlots(FreeSlotRequestDTO request) {
+        long duration = validateSlotRequest(request);
+        ZoneId zone = workdayZone(request.getTimeZone());
+        int limit = request.getMaxResults() == null ? Math.min(DEFAULT_SLOTS, maxSlots) : request.getMaxResults();
+        Set<Long> required = new LinkedHashSet<>(request.getRequiredEmployeeIds());
+        Set<Long> optional = new LinkedHashSet<>(request.getOptionalEmployeeIds() == null
+                                                 ? List.of() : request.getOptionalEmployeeIds());
+        optional.removeAll(required);
+        String location = request.getLocation() == null || request.getLocation().isBlank()
+                          ? null : request.getLocation().trim();
+        LocalDateTime start = request.getStart();
+        LocalDateTime end = request.getEnd();
+
+        List<Long> employeeIds = new ArrayList<>(required);
+        employeeIds.addAll(optional);
+        Map<Long, long[]> busy = findMergedBusy(employeeIds, start, end);
+
+        long[][] requiredBusy = new long[required.size() + (location == null ? 0 : 1)][];
+        int index = 0;
+        for (Long id : required) {
+            requiredBusy[index++] = busy.get(id);
+        }
+        if (location != null) {
+            BusyIntervals intervals = new BusyIntervals();
+            for (EmployeeBusySlot slot : eventRepository.findLocationBusySlotsInWindow(location, start, end)) {
+                collect(intervals, slot, start, end);
+            }
+            requiredBusy[index] = intervals.merge();
+        }
+        Long[] optionalIds = optional.toArray(new Long[0]);
+        long[][] optionalBusy = new long[optionalIds.length][];
+        for (int i = 0; i < optionalIds.length; i++) {
+            optionalBusy[i] = busy.get(optionalIds[i]);
+        }
+
+        long[] windows = workingWindows(start, end, request.getWorkdayStart(), request.getWorkdayEnd(), zone,
+                                        request.isIncludeWeekends());
+        List<FreeSlotDTO> result = new ArrayList<>();
+        for (FreeSlotFinder.Slot slot : FreeSlotFinder.find(requiredBusy, optionalBusy, windows, duration,
+                                                             slotStepMinutes * 60_000_000L, limit)) {
+            List<Long> available = new ArrayList<>(slot.getAvailableOptional().length);
+            for (int i : slot.getAvailableOptional()) {
+                available.add(optionalIds[i]);
+            }
+            result.add(new FreeSlotDTO(BusyIntervals.toDateTime(slot.getStart()),
+                                       BusyIntervals.toDateTime(slot.getEnd()), available));
+        }
+        return result;
+    }
+
+    /**
+     * 計算每位員工在區間內合併後的忙碌區間，超出區間的部分會被截掉
+     *
+     * @param employeeIds 員工ID
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
+     * @return 依請求順序以員工ID為鍵的忙碌區間，每段以開始與結束的微秒數交錯排列
+     * @throws IllegalArgumentException 如果員工不存在、員工數超過上限或區間無效
+     */
+    private Map<Long, long[]> findMergedBusy(Collection<Long> employeeIds, LocalDateTime start,
+                                             LocalDateTime end) {
+        Set<Long> ids = validate(employeeIds, start, end);
+
+        Map<Long, BusyIntervals> collected = new LinkedHashMap<>();
+        for (Long id : ids) {
+            collected.put(id, new BusyIntervals());
+        }
+        for (EmployeeBusySlot slot : eventRepository.findBusySlotsInWindow(ids, start, end)) {
+            collect(collected.get(slot.getEmployeeId()), slot, start, end);
+        }
+
+        Map<Long, long[]> merged = new LinkedHashMap<>();
+        for (Map.Entry<Long, BusyIntervals> entry : collected.entrySet()) {
+            merged.put(entry.getKey(), entry.getValue().merge());
+        }
+        return merged;
+    }
+
+    /**
+     * 將事件時段加入忙碌區間，重複事件只展開區間內的發生，超出區間的部分會被截掉
+     *
+     * @param intervals 忙碌區間
+     * @param slot 事件時段
+     * @param start 開始時間（包含）
+     * @param end 結束時間（不包含）
+     */
+    private static void collect(BusyIntervals intervals, EmployeeBusySlot slot, LocalDateTime start,
+                                LocalDateTime end) {
+        long from = BusyIntervals.toMicros(start);
+        long to = BusyIntervals.toMicros(end);
+        if (slot.getRecurrenceRule() == null) {
+            intervals.add(Math.max(from, BusyIntervals.toMicros(slot.getStartTime())),
+                          Math.min(to, BusyIntervals.toMicros(slot.getEndTime())));
+            return;
+        }
+        RecurrenceRule.Occurrences occurrences = RecurrenceRule.parse(slot.getRecurrenceRule()).occurrences(
+                slot.getStartTime(), slot.getEndTime(),
+                RecurrenceRule.parseDates(slot.getRecurrenceExceptions()), start, end);
+        while (occurrences.next()) {
+            intervals.add(Math.max(from, occurrences.getStartMicros()), Math.min(to, occurrences.getEndMicros()));
+        }
+    }
+
+    /**
+     * 將每天的工作時間轉換為行事曆時區的時段，並截在搜尋區間內
+     *
+     * @param start 搜尋區間開始時間
+     * @param end 搜尋區間結束時間
+     * @param workdayStart 工作時間開始，以 zone 的當地時間表示
+     * @param workdayEnd 工作時間結束，以 zone 的當地時間表示
+     * @param zone 工作時間所在的時區
+     * @param includeWeekends 是否包含週六與週日
+     * @return 依時間排序的工作時段，以開始與結束的微秒數交錯排列
+     */
+    private long[] workingWindows(LocalDateTime start, LocalDateTime end, LocalTime workdayStart,
+                                  LocalTime workdayEnd, ZoneId zone, boolean includeWeekends) {
+        ZoneId calendarZone = ZoneId.of(calendarTimeZone);
+        LocalDate first = start.atZone(calendarZone).withZoneSameInstant(zone).toLocalDate();
+        LocalDate last = end.atZone(calendarZone).withZoneSameInstant(zone).toLocalDate();
+        long from = BusyIntervals.toMicros(start);
+        long to = BusyIntervals.toMicros(end);
+
+        BusyIntervals windows = new BusyIntervals();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            if (!includeWeekends && (day.getDayOfWeek() == DayOfWeek.SATURDAY
+                                     || day.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+                continue;
+            }
+            LocalDateTime dayStart = ZonedDateTime.of(day, workdayStart, zone)
+                                                  .withZoneSameInstant(calendarZone).toLocalDateTime();
+            LocalDateTime dayEnd = ZonedDateTime.of(day, workdayEnd, zone)
+                                                .withZoneSameInstant(calendarZone).toLocalDateTime();
+            windows.add(Math.max(from, BusyIntervals.toMicros(dayStart)),
+                        Math.min(to, BusyIntervals.toMicros(dayEnd)));
+        }
+        return windows.merge();
+    }
+
+    /**
+     * 驗證共同空檔的查詢條件，員工與搜尋區間由 {@link #validate} 驗證
+     *
+     * @param request 查詢條件
+     * @return 時段長度的微秒數
+     * @throws IllegalArgumentException 如果條件無效
+     */
+    private long validateSlotRequest(FreeSlotRequestDTO request) {
+        if (request.getRequiredEmployeeIds() == null || request.getRequiredEmployeeIds().isEmpty()) {
+            throw new IllegalArgumentException("必要參與者不可為空");
+        }
+        Integer durationMinutes = request.getDurationMinutes();
+        if (durationMinutes == null || durationMinutes <= 0 || durationMinutes > 24 * 60) {
+            throw new IllegalArgumentException("時段長度須介於 1 至 1440 分鐘");
+        }
+        if (request.getMaxResults() != null && (request.getMaxResults() <= 0 || request.getMaxResults() > maxSlots)) {
+            throw new IllegalArgumentException("回傳的時段數須介於 1 至 " + maxSlots);
+        }
+        if (request.getWorkdayStart() == null || request.getWorkdayEnd() == null
+            || !request.getWorkdayStart().isBefore(request.getWorkdayEnd())) {
+            throw new IllegalArgumentException("工作時間無效，開始時間須早於結束時間");
+        }
+        return durationMinutes * 60_000_000L;
+    }
+
+    /**
+     * 解析工作時間所在的時區
+     *
+     * @param timeZone 時區ID，為空時使用行事曆的時區
+     * @return 時區
+     * @throws IllegalArgumentException 如果時區ID無效
+     */
+    private ZoneId workdayZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return ZoneId.of(calendarTimeZone);
+        }
+        try {
+            return ZoneId.of(timeZone.trim());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("無效的時區: " + timeZone);
+        }
+    }
+
+    /**
+     * 驗證查詢條件，並確認所有員工都存在
+     *
+     * @param employeeIds 員工ID
+     * @param start 開始時間
+     * @param end 結束時間
+     * @return 去除重複且保持順序的員工ID
+     * @throws IllegalArgumentException 如果條件無效或有員工不存在
+     */
+    private Set<Long> validate(Collection<Long> employeeIds, LocalDateTime start, LocalDateTime end) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("員工ID不可為空");
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("查詢區間無效，開始時間須早於結束時間");
+        }
+        if (Duration.between(start, end).compareTo(Duration.ofDays(maxDays)) > 0) {
+            throw new IllegalArgumentException("查詢區間不可超過 " + maxDays + " 天");
+        }
+        Set<Long> ids = new LinkedHashSet<>(employeeIds);
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("員工ID不可為空");
+        }
+        if (ids.size() > maxEmployees) {
+            throw new IllegalArgumentException("查詢的員工數量超過上限: " + maxEmployees);
+        }
+
+        Set<Long> missing = new HashSet<>(ids);
+        employeeRepository.findExistingIds(ids).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("員工不存在: " + missing);
+        }
+        return ids;
+    }
+}
@@ -58,6 +58,17 @@ public interface EmployeeService {
      */
     EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO);
     
+    /**
+     * 以版本為條件更新員工信息
+     * 
+     * @param id 員工ID
+     * @param employeeDTO 員工資料傳輸物件
+     * @param expectedVersion 預期的員工版本，為null時不檢查
+     * @return 更新後的員工資料傳輸物件
+     * @throws com.company.calendar.exception.PreconditionFailedException 如果員工目前的版本與預期不同
+     */
+    EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion);
+    
     /**
      * 更新員工密碼
      * 
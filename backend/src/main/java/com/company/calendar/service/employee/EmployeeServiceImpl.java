@@ -2,9 +2,18 @@ package com.company.calendar.service.employee;
 
 import com.company.calendar.dto.EmployeeDTO;
 import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.exception.PreconditionFailedException;
 import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
 import com.company.calendar.repository.EmployeeRepository;
 import com.company.calendar.repository.EventViewPermissionRepository;
+import com.company.calendar.repository.RefreshTokenRepository;
+import com.company.calendar.service.auth.TokenVersionRegistry;
+import com.company.calendar.service.auth.UserDetailsCache;
+import com.company.calendar.service.calendar.CalendarChangeStamps;
+import com.company.calendar.service.calendar.EventIntervalIndex;
+import com.company.calendar.service.calendar.EventMonthSnapshotCache;
+import com.company.calendar.service.calendar.EventSearchIndex;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -13,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -39,25 +49,81 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     private final EventViewPermissionRepository eventViewPermissionRepository;
     
+    /**
+     * 刷新令牌資料庫操作介面
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+    
     /**
      * 密碼編碼器
      */
     private final PasswordEncoder passwordEncoder;
     
+    /**
+     * 記憶體中的事件時間索引
+     */
+    private final EventIntervalIndex eventIntervalIndex;
+    
+    /**
+     * 記憶體中的事件全文搜索索引
+     */
+    private final EventSearchIndex eventSearchIndex;
+    
+    /**
+     * 依安全等級與月份快取的事件快照
+     */
+    private final EventMonthSnapshotCache eventMonthSnapshotCache;
+    
+    /**
+     * 行事曆讀取端點的變更戳記
+     */
+    private final CalendarChangeStamps calendarChangeStamps;
+    
+    /**
+     * 員工目前令牌版本的登記表
+     */
+    private final TokenVersionRegistry tokenVersionRegistry;
+    
+    /**
+     * 用戶詳情快取
+     */
+    private final UserDetailsCache userDetailsCache;
+    
     /**
      * 構造函數
      * 
      * @param employeeRepository 員工資料庫操作介面
      * @param eventViewPermissionRepository 事件查看權限資料庫操作介面
+     * @param refreshTokenRepository 刷新令牌資料庫操作介面
      * @param passwordEncoder 密碼編碼器
+     * @param eventIntervalIndex 記憶體中的事件時間索引
+     * @param eventSearchIndex 記憶體中的事件全文搜索索引
+     * @param eventMonthSnapshotCache 依安全等級與月份快取的事件快照
+     * @param calendarChangeStamps 行事曆讀取端點的變更戳記
+     * @param tokenVersionRegistry 員工目前令牌版本的登記表
+     * @param userDetailsCache 用戶詳情快取
      */
     @Autowired
     public EmployeeServiceImpl(EmployeeRepository employeeRepository,
                                EventViewPermissionRepository eventViewPermissionRepository,
-                               PasswordEncoder passwordEncoder) {
+                               RefreshTokenRepository refreshTokenRepository,
+                               PasswordEncoder passwordEncoder,
+                               EventIntervalIndex eventIntervalIndex,
+                               EventSearchIndex eventSearchIndex,
+                               EventMonthSnapshotCache eventMonthSnapshotCache,
+                               CalendarChangeStamps calendarChangeStamps,
+                               TokenVersionRegistry tokenVersionRegistry,
+                               UserDetailsCache userDetailsCache) {
         this.employeeRepository = employeeRepository;
         this.eventViewPermissionRepository = eventViewPermissionRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventIntervalIndex = eventIntervalIndex;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventMonthSnapshotCache = eventMonthSnapshotCache;
+        this.calendarChangeStamps = calendarChangeStamps;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userDetailsCache = userDetailsCache;
     }
     
     /**
@@ -111,6 +177,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setActive(true);
         
         Employee savedEmployee = employeeRepository.save(employee);
+        calendarChangeStamps.employeesChanged();
         return new EmployeeDTO(savedEmployee);
     }
     
@@ -120,12 +187,24 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     @Transactional
     public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
+        return updateEmployee(id, employeeDTO, null);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion) {
         Optional<Employee> employeeOpt = employeeRepository.findById(id);
         if (employeeOpt.isEmpty()) {
             throw new IllegalArgumentException("員工不存在: " + id);
         }
         
         Employee employee = employeeOpt.get();
+        if (expectedVersion != null && employee.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("員工資料已被其他人修改: " + id, employee.getVersion());
+        }
         
         // 檢查用戶名和電子郵件是否與其他員工重複
         if (!employee.getUsername().equals(employeeDTO.getUsername()) &&
@@ -138,6 +217,17 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new IllegalArgumentException("電子郵件已存在: " + employeeDTO.getEmail());
         }
         
+        // 令牌聲明中的帳號資料或啟用狀態變更時，使已簽發的令牌失效
+        if (!employee.getUsername().equals(employeeDTO.getUsername()) ||
+            employee.getSecurityLevel() != employeeDTO.getSecurityLevel() ||
+            !Objects.equals(employee.getDepartment(), employeeDTO.getDepartment()) ||
+            employee.isActive() != employeeDTO.isActive()) {
+            employee.revokeTokens();
+        }
+        
+        // 以變更前的用戶名讓快取項目失效
+        userDetailsCache.invalidate(employee.getUsername());
+        
         // 更新員工信息
         employee.setUsername(employeeDTO.getUsername());
         employee.setFullName(employeeDTO.getFullName());
@@ -147,7 +237,13 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setActive(employeeDTO.isActive());
         employee.setUpdatedAt(LocalDateTime.now());
         
-        Employee updatedEmployee = employeeRepository.save(employee);
+        // 以 version 為條件寫入，回應中的版本為寫入後的版本
+        Employee updatedEmployee = employeeRepository.saveAndFlush(employee);
+        tokenVersionRegistry.update(id, updatedEmployee.getTokenVersion(), updatedEmployee.isActive());
+        
+        // 快照中的事件帶有創建者用戶名
+        eventMonthSnapshotCache.invalidateAll();
+        calendarChangeStamps.employeesChanged();
         return new EmployeeDTO(updatedEmployee);
     }
     
@@ -164,9 +260,13 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         Employee employee = employeeOpt.get();
         employee.setPassword(passwordEncoder.encode(newPassword));
+        employee.revokeTokens();
         employee.setUpdatedAt(LocalDateTime.now());
         
         employeeRepository.save(employee);
+        tokenVersionRegistry.update(id, employee.getTokenVersion(), employee.isActive());
+        userDetailsCache.invalidate(employee.getUsername());
+        calendarChangeStamps.employeesChanged();
         return true;
     }
     
@@ -183,11 +283,21 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         Employee employee = employeeOpt.get();
         
-        // 刪除員工的事件查看權限
+        // 刪除員工的事件查看權限，並同步移除事件上的特殊查看者記錄
+        for (Event event : eventViewPermissionRepository.findEventsByEmployee(employee)) {
+            event.removeSpecialViewer(id);
+        }
         eventViewPermissionRepository.deleteByEmployee(employee);
+        refreshTokenRepository.deleteByEmployee(employee);
         
         // 刪除員工
         employeeRepository.delete(employee);
+        eventIntervalIndex.removeEmployee(id);
+        eventSearchIndex.removeEmployee(id);
+        tokenVersionRegistry.revoke(id);
+        userDetailsCache.invalidate(employee.getUsername());
+        eventMonthSnapshotCache.invalidateAll();
+        calendarChangeStamps.employeesChanged();
         return true;
     }
     
@@ -0,0 +1,95 @@
+package com.company.calendar.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 忙碌時段集合
+ * 以自 1970-01-01 起的微秒數（視為 UTC）收集半開區間 [start, end)，
+ * 再以掃描線合併為不重疊、依時間排序的區間；相接的區間會合併為一段。不是執行緒安全的
+ */
+public final class BusyIntervals {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private int size;
+
+    /**
+     * 加入一個區間，長度不為正的區間會被忽略
+     * @param start 開始時間的微秒數（包含）
+     * @param end 結束時間的微秒數（不包含）
+     */
+    public void add(long start, long end) {
+        if (end <= start) {
+            return;
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    /**
+     * 獲取已加入的區間數
+     * @return 區間數
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 合併所有區間
+     * 開始與結束時間各自排序後依時間掃描，進行中的區間數由 0 變 1 時開啟一段、由 1 變 0 時結束該段；
+     * 時間相同時先處理開始，使相接的區間合併
+     * @return 合併後的區間，以 [start0, end0, start1, end1, ...] 交錯排列
+     */
+    public long[] merge() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(starts, 0, size);
+        Arrays.sort(ends, 0, size);
+        long[] merged = new long[size * 2];
+        int length = 0;
+        int active = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (ends[j] < starts[i]) {
+                if (--active == 0) {
+                    merged[length++] = ends[j];
+                }
+                j++;
+            }
+            if (active++ == 0) {
+                merged[length++] = starts[i];
+            }
+        }
+        merged[length++] = ends[size - 1];
+        return Arrays.copyOf(merged, length);
+    }
+
+    /**
+     * 將時間轉換為微秒數
+     * @param time 時間
+     * @return 自 1970-01-01 起的微秒數
+     */
+    public static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * 將微秒數轉換為時間
+     * @param micros 自 1970-01-01 起的微秒數
+     * @return 時間
+     */
+    public static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                                           (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
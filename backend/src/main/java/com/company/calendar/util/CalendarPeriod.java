@@ -0,0 +1,86 @@
+package com.company.calendar.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 行事曆期間
+ * 以半開區間 [start, end) 表示月、週、季或會計年度，
+ * 讓期間查詢直接比較 start_time 欄位而能使用索引，不需在欄位上套用函數
+ */
+public final class CalendarPeriod {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    private CalendarPeriod(LocalDate firstDay, LocalDate dayAfterLast) {
+        this.start = firstDay.atStartOfDay();
+        this.end = dayAfterLast.atStartOfDay();
+    }
+
+    /**
+     * 指定月份
+     * @param yearMonth 年月
+     * @return 月份期間
+     */
+    public static CalendarPeriod ofMonth(YearMonth yearMonth) {
+        return new CalendarPeriod(yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * 包含指定日期的一週
+     * @param date 日期
+     * @param firstDayOfWeek 每週第一天
+     * @return 週期間
+     */
+    public static CalendarPeriod ofWeek(LocalDate date, DayOfWeek firstDayOfWeek) {
+        LocalDate first = date.with(TemporalAdjusters.previousOrSame(firstDayOfWeek));
+        return new CalendarPeriod(first, first.plusWeeks(1));
+    }
+
+    /**
+     * 指定季度
+     * @param year 年份
+     * @param quarter 季度（1-4）
+     * @return 季度期間
+     * @throws IllegalArgumentException 如果季度不在1到4之間
+     */
+    public static CalendarPeriod ofQuarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("季度必須介於1到4: " + quarter);
+        }
+        YearMonth first = YearMonth.of(year, (quarter - 1) * 3 + 1);
+        return new CalendarPeriod(first.atDay(1), first.plusMonths(3).atDay(1));
+    }
+
+    /**
+     * 指定會計年度，以開始月份所在的年份命名
+     * @param fiscalYear 會計年度
+     * @param firstMonth 會計年度的第一個月
+     * @return 會計年度期間
+     */
+    public static CalendarPeriod ofFiscalYear(int fiscalYear, Month firstMonth) {
+        YearMonth first = YearMonth.of(fiscalYear, firstMonth);
+        return new CalendarPeriod(first.atDay(1), first.plusYears(1).atDay(1));
+    }
+
+    /**
+     * 獲取期間開始時間（包含）
+     * @return 期間開始時間
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * 獲取期間結束時間（不包含）
+     * @return 期間結束時間
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,104 @@
+package com.company.calendar.util;
+
+import com.company.calendar.exception.PreconditionFailedException;
+
+import org.springframework.http.CacheControl;
+
+/**
+ * ETag相關工具
+ * 單一資源的ETag為其樂觀鎖版本的強驗證標籤，例如 {@code "3"}；回應內容還包含其他資料時，
+ * 版本之後附加該資料的戳記，例如 {@code "3-k2x9.4"}，If-Match 只比對版本部分
+ */
+public final class ETagUtil {
+
+    /**
+     * 帶ETag的讀取回應使用的快取指示：只供瀏覽器私有快取，每次使用前都須以 If-None-Match 重新驗證。
+     * 明確設定後，Spring Security 不會再覆寫為 no-store。
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETagUtil() {
+    }
+
+    /**
+     * 由版本產生強驗證ETag
+     * @param version 版本
+     * @return 帶引號的ETag
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * 由版本與相關資料的戳記產生強驗證ETag
+     * @param version 版本
+     * @param stamp 回應中其他資料的戳記
+     * @return 帶引號的ETag
+     */
+    public static String of(long version, String stamp) {
+        return "\"" + version + "-" + stamp + "\"";
+    }
+
+    /**
+     * 為戳記加上引號成為ETag
+     * @param stamp 戳記
+     * @return 帶引號的ETag
+     */
+    public static String quote(String stamp) {
+        return "\"" + stamp + "\"";
+    }
+
+    /**
+     * 檢查 If-None-Match 標頭是否與目前的ETag相符
+     * <p>
+     * If-None-Match 使用弱比較，忽略 {@code W/} 前綴；{@code *} 與任何現存資源相符。
+     * </p>
+     * @param ifNoneMatch If-None-Match 標頭值
+     * @param eTag 目前帶引號的ETag
+     * @return 是否相符，相符時應回應 304
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析 If-Match 標頭中的版本
+     * <p>
+     * 未提供或為 {@code *} 時返回null，表示不做版本檢查。If-Match 使用強比較，
+     * 弱驗證標籤或格式不符的標籤永遠不會相符，直接拋出 {@link PreconditionFailedException}。
+     * </p>
+     * @param ifMatch If-Match 標頭值
+     * @return 預期的版本，不檢查時返回null
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            int stampStart = value.indexOf('-');
+            try {
+                return Long.parseLong(stampStart < 0 ? value : value.substring(0, stampStart));
+            } catch (NumberFormatException e) {
+                // 落到下方統一處理
+            }
+        }
+        throw new PreconditionFailedException("If-Match 與目前版本不符", null);
+    }
+}
@@ -0,0 +1,236 @@
+package com.company.calendar.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 共同空檔搜尋
+ * 所有時間都是 {@link BusyIntervals#toMicros} 的微秒數，忙碌區間與工作時段都以 [start0, end0, start1, end1, ...]
+ * 交錯排列，且各自依時間排序、互不重疊。必要參與者的忙碌列表以最小堆積做 k 路合併，依時間往前推進一次，
+ * 不會建立所有人的聯集；選擇性參與者各有一個只往前移動的游標，只用來為候選時段評分
+ */
+public final class FreeSlotFinder {
+
+    private FreeSlotFinder() {
+    }
+
+    /**
+     * 找出最早的空檔
+     * 每段連續空檔先回傳最早的時段；之後只有在選擇性參與者的忙碌結束而能出席更多人時，
+     * 才在同一段空檔內再回傳一個較晚的時段
+     * @param required 必要參與者的忙碌區間，每人一個列表，所有人都必須有空
+     * @param optional 選擇性參與者的忙碌區間，每人一個列表，只影響評分
+     * @param windows 可安排的工作時段，依時間排序且互不重疊
+     * @param duration 時段長度的微秒數
+     * @param step 時段開始時間的對齊單位微秒數
+     * @param limit 最多回傳的時段數
+     * @return 依開始時間排序的空檔
+     */
+    public static List<Slot> find(long[][] required, long[][] optional, long[] windows,
+                                  long duration, long step, int limit) {
+        RequiredBusy busy = new RequiredBusy(required);
+        int[] cursors = new int[optional.length];
+        int[] available = new int[optional.length];
+        List<Slot> slots = new ArrayList<>(Math.min(limit, 16));
+
+        for (int w = 0; w + 1 < windows.length && slots.size() < limit; w += 2) {
+            long windowEnd = windows[w + 1];
+            long start = align(windows[w], step);
+            // 目前這段連續空檔內已回傳的最高分數，-1 表示尚未回傳
+            int bestScore = -1;
+            while (start + duration <= windowEnd && slots.size() < limit) {
+                long blockedUntil = busy.blockedUntil(start, start + duration);
+                if (blockedUntil != RequiredBusy.FREE) {
+                    start = align(blockedUntil, step);
+                    bestScore = -1;
+                    continue;
+                }
+
+                int score = 0;
+                long improvesAt = Long.MAX_VALUE;
+                for (int i = 0; i < optional.length; i++) {
+                    long[] intervals = optional[i];
+                    int c = cursors[i];
+                    while (c < intervals.length && intervals[c + 1] <= start) {
+                        c += 2;
+                    }
+                    cursors[i] = c;
+                    if (c == intervals.length || intervals[c] >= start + duration) {
+                        available[score++] = i;
+                    } else {
+                        improvesAt = Math.min(improvesAt, intervals[c + 1]);
+                    }
+                }
+                if (score > bestScore) {
+                    slots.add(new Slot(start, start + duration, Arrays.copyOf(available, score)));
+                    bestScore = score;
+                }
+
+                // 在下一個選擇性參與者結束忙碌之前評分不會提高；若先遇到必要忙碌區間，
+                // 這段空檔就不會再更好，直接跳到該區間，由下一輪移到它結束之後
+                long next = busy.nextStart();
+                long improved = improvesAt == Long.MAX_VALUE
+                                ? Long.MAX_VALUE : Math.max(start + step, align(improvesAt, step));
+                if (improved != Long.MAX_VALUE && improved + duration <= next) {
+                    start = improved;
+                } else if (next >= windowEnd) {
+                    break;
+                } else {
+                    start = next;
+                    bestScore = -1;
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * 將時間往後對齊到對齊單位的整數倍
+     */
+    private static long align(long time, long step) {
+        return Math.floorDiv(time + step - 1, step) * step;
+    }
+
+    /**
+     * 找到的空檔
+     */
+    public static final class Slot {
+
+        private final long start;
+        private final long end;
+        private final int[] availableOptional;
+
+        Slot(long start, long end, int[] availableOptional) {
+            this.start = start;
+            this.end = end;
+            this.availableOptional = availableOptional;
+        }
+
+        /**
+         * 獲取開始時間
+         * @return 開始時間的微秒數
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * 獲取結束時間
+         * @return 結束時間的微秒數
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * 獲取整段時間都有空的選擇性參與者
+         * @return 選擇性參與者在輸入中的索引，由小到大
+         */
+        public int[] getAvailableOptional() {
+            return availableOptional;
+        }
+    }
+
+    /**
+     * 必要參與者忙碌列表的 k 路合併
+     * 最小堆積以各列表目前區間的開始時間排序，已結束的區間在時間往前推進時才移出
+     */
+    private static final class RequiredBusy {
+
+        static final long FREE = Long.MIN_VALUE;
+
+        private final long[][] lists;
+        private final int[] positions;
+        private final int[] heap;
+        private int size;
+
+        RequiredBusy(long[][] lists) {
+            this.lists = lists;
+            this.positions = new int[lists.length];
+            this.heap = new int[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                if (lists[i].length > 0) {
+                    heap[size] = i;
+                    siftUp(size++);
+                }
+            }
+        }
+
+        /**
+         * 找出與 [from, to) 重疊的忙碌區間，並移出在 from 之前已結束的區間
+         * @return 重疊區間的結束時間，沒有重疊則為 {@link #FREE}
+         */
+        long blockedUntil(long from, long to) {
+            while (size > 0) {
+                int list = heap[0];
+                long start = lists[list][positions[list]];
+                long end = lists[list][positions[list] + 1];
+                if (start >= to) {
+                    return FREE;
+                }
+                if (end > from) {
+                    return end;
+                }
+                advance();
+            }
+            return FREE;
+        }
+
+        /**
+         * 獲取下一個忙碌區間的開始時間，須在 {@link #blockedUntil} 回傳 {@link #FREE} 之後呼叫
+         * @return 開始時間，沒有更多忙碌區間則為 {@link Long#MAX_VALUE}
+         */
+        long nextStart() {
+            return size == 0 ? Long.MAX_VALUE : lists[heap[0]][positions[heap[0]]];
+        }
+
+        private void advance() {
+            int list = heap[0];
+            positions[list] += 2;
+            if (positions[list] == lists[list].length) {
+                heap[0] = heap[--size];
+            }
+            siftDown(0);
+        }
+
+        private long key(int index) {
+            return lists[heap[index]][positions[heap[index]]];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (key(parent) <= key(index)) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = index * 2 + 1;
+                if (left < size && key(left) < key(smallest)) {
+                    smallest = left;
+                }
+                if (left + 1 < size && key(left + 1) < key(smallest)) {
+                    smallest = left + 1;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -0,0 +1,677 @@
+package com.company.calendar.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 事件重複規則，支援 RFC 5545 RRULE 的子集
+ * 頻率為 DAILY、WEEKLY 或 MONTHLY，可搭配 INTERVAL、BYDAY（DAILY 與 WEEKLY）以及 COUNT 或 UNTIL。
+ * 每週從星期一開始；MONTHLY 在開始日期的同一天重複，當月沒有該日時略過該月。
+ * 第一次發生即為事件本身的開始時間，時間一律為不帶時區的本地時間
+ */
+public final class RecurrenceRule {
+
+    /**
+     * 重複頻率
+     */
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final int MAX_INTERVAL = 1000;
+
+    /**
+     * 例外日期數量上限，以逗號分隔的文字不超過 4000 個字元
+     */
+    public static final int MAX_EXCEPTIONS = 250;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long MICROS_PER_DAY = 86_400L * MICROS_PER_SECOND;
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / MICROS_PER_SECOND - 1;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private final Frequency frequency;
+    private final int interval;
+
+    /**
+     * BYDAY 的星期位元，第 0 位為星期一；0 表示未指定
+     */
+    private final int byDay;
+
+    /**
+     * 發生次數上限，0 表示未指定
+     */
+    private final int count;
+
+    private final LocalDateTime until;
+
+    private RecurrenceRule(Frequency frequency, int interval, int byDay, int count, LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * 解析 RRULE 文字，可帶有 "RRULE:" 前綴，不分大小寫
+     * @param text RRULE 文字，例如 FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=10
+     * @return 重複規則
+     * @throws IllegalArgumentException 如果規則無效或使用了不支援的部分
+     */
+    public static RecurrenceRule parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("重複規則不可為空");
+        }
+        String body = text.trim();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        int byDay = 0;
+        int count = 0;
+        LocalDateTime until = null;
+        for (String part : body.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int separator = part.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("無效的重複規則: " + part);
+            }
+            String name = part.substring(0, separator).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(separator + 1).trim().toUpperCase(Locale.ROOT);
+            if (name.equals("FREQ")) {
+                frequency = parseFrequency(value);
+            } else if (name.equals("INTERVAL")) {
+                interval = parsePositive(name, value);
+                if (interval > MAX_INTERVAL) {
+                    throw new IllegalArgumentException("INTERVAL 不可超過 " + MAX_INTERVAL);
+                }
+            } else if (name.equals("BYDAY")) {
+                byDay = parseDays(value);
+            } else if (name.equals("COUNT")) {
+                count = parsePositive(name, value);
+            } else if (name.equals("UNTIL")) {
+                until = parseUntil(value);
+            } else if (!(name.equals("WKST") && value.equals("MO"))) {
+                throw new IllegalArgumentException("不支援的重複規則: " + part);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("重複規則缺少 FREQ");
+        }
+        if (count > 0 && until != null) {
+            throw new IllegalArgumentException("COUNT 與 UNTIL 不可同時指定");
+        }
+        if (byDay != 0 && frequency == Frequency.MONTHLY) {
+            throw new IllegalArgumentException("MONTHLY 不支援 BYDAY");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * 解析以逗號分隔的例外日期（EXDATE），格式為 yyyyMMdd'T'HHmmss
+     * @param text 例外日期文字，null 或空白視為沒有例外
+     * @return 例外日期列表
+     * @throws IllegalArgumentException 如果日期格式無效
+     */
+    public static List<LocalDateTime> parseDates(String text) {
+        List<LocalDateTime> dates = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return dates;
+        }
+        for (String value : text.split(",")) {
+            try {
+                dates.add(LocalDateTime.parse(value.trim(), BASIC_DATE_TIME));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("無效的例外日期: " + value, e);
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * 將例外日期格式化為以逗號分隔的文字，依時間排序並去除重複
+     * @param dates 例外日期
+     * @return 例外日期文字，沒有例外時返回 null
+     * @throws IllegalArgumentException 如果例外日期超過上限
+     */
+    public static String formatDates(Collection<LocalDateTime> dates) {
+        if (dates == null || dates.isEmpty()) {
+            return null;
+        }
+        Set<String> values = new TreeSet<>();
+        for (LocalDateTime date : dates) {
+            values.add(date.format(BASIC_DATE_TIME));
+        }
+        if (values.size() > MAX_EXCEPTIONS) {
+            throw new IllegalArgumentException("例外日期不可超過 " + MAX_EXCEPTIONS + " 筆");
+        }
+        return String.join(",", values);
+    }
+
+    /**
+     * 獲取重複頻率
+     * @return 重複頻率
+     */
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * 獲取重複間隔
+     * @return 每隔幾個頻率單位重複一次
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * 獲取 BYDAY 指定的星期
+     * @return 星期集合，未指定時為空集合
+     */
+    public Set<DayOfWeek> getByDay() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((byDay & bit(day.getValue() - 1)) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * 獲取發生次數上限
+     * @return 發生次數上限，未指定時為 null
+     */
+    public Integer getCount() {
+        return count > 0 ? count : null;
+    }
+
+    /**
+     * 獲取最後一次發生的開始時間上限
+     * @return UNTIL，未指定時為 null
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    /**
+     * 檢查事件開始時間是否符合規則，第一次發生必須是事件本身
+     * @param start 事件開始時間
+     * @throws IllegalArgumentException 如果開始時間不符合規則
+     */
+    public void validateStart(LocalDateTime start) {
+        if (byDay != 0 && (byDay & bit(weekday(start.toLocalDate().toEpochDay()))) == 0) {
+            throw new IllegalArgumentException("事件開始時間的星期須包含在 BYDAY 中");
+        }
+        if (until != null && until.isBefore(start)) {
+            throw new IllegalArgumentException("UNTIL 不可早於事件開始時間");
+        }
+    }
+
+    /**
+     * 計算最後一次發生開始時間的上限
+     * @param start 事件開始時間
+     * @return 指定 COUNT 時為最後一次發生的開始時間，指定 UNTIL 時為 UNTIL，無限重複時為 null
+     */
+    public LocalDateTime lastStartBound(LocalDateTime start) {
+        if (until != null) {
+            return until;
+        }
+        if (count == 0) {
+            return null;
+        }
+        Occurrences occurrences = new Occurrences(this, start, start, List.of(), start, null);
+        return Occurrences.toDateTime(occurrences.startOf(count - 1));
+    }
+
+    /**
+     * 檢查指定時間是否為規則產生的某次發生的開始時間（不考慮例外日期）
+     * @param start 事件開始時間
+     * @param candidate 要檢查的時間
+     * @return 是否為某次發生的開始時間
+     */
+    public boolean isOccurrence(LocalDateTime start, LocalDateTime candidate) {
+        Occurrences occurrences = new Occurrences(this, start, start, List.of(), candidate, candidate.plusNanos(1_000));
+        return occurrences.next() && occurrences.getStart().equals(candidate);
+    }
+
+    /**
+     * 建立只走訪與半開區間 [from, to) 重疊的發生的迭代器
+     * @param start 事件開始時間
+     * @param end 事件結束時間，與開始時間的差為每次發生的長度
+     * @param exceptions 例外日期，與某次發生的開始時間相同（精確到秒）時略過該次
+     * @param from 區間開始時間（包含）
+     * @param to 區間結束時間（不包含），null 表示不限
+     * @return 發生迭代器
+     */
+    public Occurrences occurrences(LocalDateTime start, LocalDateTime end, Collection<LocalDateTime> exceptions,
+                                   LocalDateTime from, LocalDateTime to) {
+        return new Occurrences(this, start, end, exceptions, from, to);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            text.append(";INTERVAL=").append(interval);
+        }
+        if (byDay != 0) {
+            text.append(";BYDAY=");
+            String separator = "";
+            for (int day = 0; day < DAY_CODES.length; day++) {
+                if ((byDay & bit(day)) != 0) {
+                    text.append(separator).append(DAY_CODES[day]);
+                    separator = ",";
+                }
+            }
+        }
+        if (count > 0) {
+            text.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            text.append(";UNTIL=").append(until.format(BASIC_DATE_TIME));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof RecurrenceRule && toString().equals(o.toString()));
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支援的重複頻率: " + value);
+        }
+    }
+
+    private static int parsePositive(String name, String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // 與非正數一併回報
+        }
+        throw new IllegalArgumentException(name + " 必須為正整數: " + value);
+    }
+
+    private static int parseDays(String value) {
+        int days = 0;
+        for (String code : value.split(",")) {
+            int day = Arrays.asList(DAY_CODES).indexOf(code.trim());
+            if (day < 0) {
+                throw new IllegalArgumentException("不支援的 BYDAY: " + code);
+            }
+            days |= bit(day);
+        }
+        return days;
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            if (local.length() == 8) {
+                return LocalDate.parse(local, BASIC_DATE).atTime(LocalTime.of(23, 59, 59));
+            }
+            return LocalDateTime.parse(local, BASIC_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("無效的 UNTIL: " + value, e);
+        }
+    }
+
+    private static int bit(int weekday) {
+        return 1 << weekday;
+    }
+
+    /**
+     * 計算星期，0 為星期一
+     * @param epochDay 自 1970-01-01 起的天數
+     * @return 星期
+     */
+    private static int weekday(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    /**
+     * 發生迭代器
+     * 以自 1970-01-01 起的微秒數推算每次發生，走訪期間不建立物件；
+     * 開始時會依區間直接跳到附近的發生，不需從第一次逐一計算。不是執行緒安全的
+     */
+    public static final class Occurrences {
+
+        private static final long NONE = Long.MIN_VALUE;
+
+        private final int count;
+        private final int interval;
+        private final boolean monthly;
+        private final long timeOfDay;
+        private final long duration;
+        private final long[] exceptionSeconds;
+        private final long untilMicros;
+        private final long fromMicros;
+        private final long toMicros;
+
+        /**
+         * DAILY 與 WEEKLY：以 anchorDay 起每 period 天重複 offsets 中的日子
+         */
+        private final long anchorDay;
+        private final int period;
+        private final int[] offsets;
+        private final int firstIndex;
+
+        /**
+         * MONTHLY：自 anchorMonth（年 * 12 + 月 - 1）起每 interval 個月的 dayOfMonth 日
+         */
+        private final long anchorMonth;
+        private final int dayOfMonth;
+
+        /**
+         * 下一個要檢查的位置：DAILY 與 WEEKLY 為 offsets 的累計索引，MONTHLY 為第幾個間隔
+         */
+        private long index;
+
+        /**
+         * 已經過的發生次數，計入 COUNT
+         */
+        private long number;
+
+        private long current = NONE;
+        private boolean started;
+        private boolean done;
+
+        private Occurrences(RecurrenceRule rule, LocalDateTime start, LocalDateTime end,
+                            Collection<LocalDateTime> exceptions, LocalDateTime from, LocalDateTime to) {
+            this.count = rule.count;
+            this.interval = rule.interval;
+            this.monthly = rule.frequency == Frequency.MONTHLY;
+            this.timeOfDay = start.toLocalTime().toNanoOfDay() / 1_000;
+            this.duration = Math.max(0, toMicros(end) - toMicros(start));
+            this.exceptionSeconds = new long[exceptions.size()];
+            int i = 0;
+            for (LocalDateTime exception : exceptions) {
+                exceptionSeconds[i++] = exception.toEpochSecond(ZoneOffset.UTC);
+            }
+            Arrays.sort(exceptionSeconds);
+            this.untilMicros = rule.until != null ? toMicros(rule.until) : Long.MAX_VALUE;
+            this.fromMicros = toMicros(from);
+            this.toMicros = to != null ? toMicros(to) : Long.MAX_VALUE;
+
+            long startDay = start.toLocalDate().toEpochDay();
+            int startWeekday = weekday(startDay);
+            if (monthly) {
+                this.anchorMonth = start.getYear() * 12L + start.getMonthValue() - 1;
+                this.dayOfMonth = start.getDayOfMonth();
+                this.anchorDay = 0;
+                this.period = 0;
+                this.offsets = null;
+                this.firstIndex = 0;
+            } else if (rule.frequency == Frequency.WEEKLY) {
+                int days = rule.byDay != 0 ? rule.byDay : bit(startWeekday);
+                this.anchorDay = startDay - startWeekday;
+                this.period = 7 * interval;
+                this.offsets = new int[Integer.bitCount(days)];
+                int first = 0;
+                for (int day = 0, k = 0; day < 7; day++) {
+                    if ((days & bit(day)) != 0) {
+                        offsets[k++] = day;
+                        if (day < startWeekday) {
+                            first++;
+                        }
+                    }
+                }
+                this.firstIndex = first;
+                this.anchorMonth = 0;
+                this.dayOfMonth = 0;
+            } else {
+                this.anchorDay = startDay;
+                if (rule.byDay == 0) {
+                    this.period = interval;
+                    this.offsets = new int[] {0};
+                } else {
+                    // 間隔與星期的組合每 lcm(interval, 7) 天循環一次
+                    this.period = interval % 7 == 0 ? interval : interval * 7;
+                    int[] matches = new int[period / interval];
+                    int k = 0;
+                    for (int offset = 0; offset < period; offset += interval) {
+                        if ((rule.byDay & bit(weekday(startDay + offset))) != 0) {
+                            matches[k++] = offset;
+                        }
+                    }
+                    this.offsets = Arrays.copyOf(matches, k);
+                }
+                this.firstIndex = 0;
+                this.anchorMonth = 0;
+                this.dayOfMonth = 0;
+            }
+            this.index = firstIndex;
+        }
+
+        /**
+         * 前進到下一次與區間重疊且不在例外日期的發生
+         * @return 有下一次發生時返回 true
+         */
+        public boolean next() {
+            if (done) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                seek(fromMicros == Long.MIN_VALUE ? Long.MIN_VALUE : fromMicros - duration);
+            }
+            while (true) {
+                if (count > 0 && number >= count) {
+                    return finish();
+                }
+                long start = candidate(index++);
+                if (start == NONE) {
+                    continue;
+                }
+                number++;
+                if (start > untilMicros || start >= toMicros) {
+                    return finish();
+                }
+                if ((start + duration > fromMicros || start == fromMicros) && !isException(start)) {
+                    current = start;
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * 獲取目前發生的開始時間（自 1970-01-01 起的微秒數，視為 UTC），不建立物件
+         * @return 開始時間的微秒數
+         */
+        public long getStartMicros() {
+            return current;
+        }
+
+        /**
+         * 獲取目前發生的結束時間（自 1970-01-01 起的微秒數，視為 UTC），不建立物件
+         * @return 結束時間的微秒數
+         */
+        public long getEndMicros() {
+            return current + duration;
+        }
+
+        /**
+         * 獲取目前發生的開始時間
+         * @return 開始時間
+         */
+        public LocalDateTime getStart() {
+            return toDateTime(current);
+        }
+
+        /**
+         * 獲取目前發生的結束時間
+         * @return 結束時間
+         */
+        public LocalDateTime getEnd() {
+            return toDateTime(current + duration);
+        }
+
+        /**
+         * 跳到第一個開始時間可能不早於指定時間的位置，並計算之前經過的發生次數
+         * @param target 目標時間的微秒數
+         */
+        private void seek(long target) {
+            long targetDay = Math.floorDiv(target, MICROS_PER_DAY) - 1;
+            if (monthly) {
+                if (target == Long.MIN_VALUE) {
+                    return;
+                }
+                LocalDate date = LocalDate.ofEpochDay(targetDay);
+                long steps = Math.floorDiv(date.getYear() * 12L + date.getMonthValue() - 1 - anchorMonth, interval);
+                if (steps <= 0) {
+                    return;
+                }
+                long passed = steps;
+                if (dayOfMonth > 28) {
+                    passed = 0;
+                    for (long step = 0; step < steps; step++) {
+                        if (candidate(step) != NONE) {
+                            passed++;
+                        }
+                    }
+                }
+                index = steps;
+                number = passed;
+                return;
+            }
+            long cycle = Math.floorDiv(targetDay - anchorDay, period);
+            int remainder = (int) (targetDay - anchorDay - cycle * period);
+            int before = 0;
+            while (before < offsets.length && offsets[before] < remainder) {
+                before++;
+            }
+            long position = cycle * offsets.length + before;
+            if (position > firstIndex) {
+                index = position;
+                number = position - firstIndex;
+            }
+        }
+
+        /**
+         * 計算第 n 次發生（從 0 起算）的開始時間，不考慮 COUNT、UNTIL 與例外日期
+         * @param n 發生序號
+         * @return 開始時間的微秒數
+         */
+        private long startOf(long n) {
+            if (!monthly) {
+                return candidate(firstIndex + n);
+            }
+            long step = n;
+            if (dayOfMonth > 28) {
+                long seen = -1;
+                for (step = 0; ; step++) {
+                    if (candidate(step) != NONE && ++seen == n) {
+                        break;
+                    }
+                }
+            }
+            return candidate(step);
+        }
+
+        /**
+         * 計算指定位置的開始時間
+         * @param position DAILY 與 WEEKLY 為 offsets 的累計索引，MONTHLY 為第幾個間隔
+         * @return 開始時間的微秒數，當月沒有該日時返回 NONE
+         */
+        private long candidate(long position) {
+            long day;
+            if (monthly) {
+                long month = anchorMonth + position * interval;
+                long year = Math.floorDiv(month, 12L);
+                int monthOfYear = (int) Math.floorMod(month, 12L) + 1;
+                if (dayOfMonth > Month.of(monthOfYear).length(Year.isLeap(year))) {
+                    return NONE;
+                }
+                day = epochDay(year, monthOfYear, dayOfMonth);
+            } else {
+                day = anchorDay + position / offsets.length * period + offsets[(int) (position % offsets.length)];
+            }
+            return day * MICROS_PER_DAY + timeOfDay;
+        }
+
+        private boolean isException(long start) {
+            return exceptionSeconds.length > 0
+                    && Arrays.binarySearch(exceptionSeconds, Math.floorDiv(start, MICROS_PER_SECOND)) >= 0;
+        }
+
+        private boolean finish() {
+            done = true;
+            current = NONE;
+            return false;
+        }
+
+        private static long toMicros(LocalDateTime time) {
+            long seconds = time.toEpochSecond(ZoneOffset.UTC);
+            if (seconds > MAX_EPOCH_SECOND) {
+                return Long.MAX_VALUE;
+            }
+            if (seconds < -MAX_EPOCH_SECOND) {
+                return Long.MIN_VALUE;
+            }
+            return seconds * MICROS_PER_SECOND + time.getNano() / 1_000;
+        }
+
+        private static LocalDateTime toDateTime(long micros) {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                                               (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000,
+                                               ZoneOffset.UTC);
+        }
+
+        /**
+         * 計算日期自 1970-01-01 起的天數，與 {@link LocalDate#toEpochDay()} 相同但不建立物件
+         */
+        private static long epochDay(long year, int month, int day) {
+            long total = 365 * year;
+            if (year >= 0) {
+                total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+            } else {
+                total -= year / -4 - year / -100 + year / -400;
+            }
+            total += (367 * month - 362) / 12;
+            total += day - 1;
+            if (month > 2) {
+                total--;
+                if (!Year.isLeap(year)) {
+                    total--;
+                }
+            }
+            return total - DAYS_0000_TO_1970;
+        }
+    }
+}
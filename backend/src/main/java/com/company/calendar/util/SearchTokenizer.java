@@ -0,0 +1,160 @@
+package com.company.calendar.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 全文搜索的分詞工具
+ * 文字先經NFKC正規化（全形轉半形）並轉為小寫；中日韓文字連續段落切成單字與相鄰二字組，
+ * 其他文字以字母數字組成的單字為詞。查詢時中日韓段落只取二字組（單一字時取單字），
+ * 拉丁單字以前綴比對，使「meet」能找到「meeting」，與原本的部分比對行為相近
+ */
+public final class SearchTokenizer {
+
+    /**
+     * 以前綴比對的拉丁單字最短長度，更短的單字只做完全比對
+     */
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 將欄位文字切成索引用的詞，結果不重複
+     * @param text 欄位文字，可為null
+     * @return 詞集合
+     */
+    public static Set<String> indexTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        scan(text, true, (term, prefix) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * 將查詢關鍵字切成查詢詞，結果不重複
+     * @param keyword 查詢關鍵字，可為null
+     * @return 查詢詞列表，沒有可查詢的詞時為空列表
+     */
+    public static List<QueryTerm> queryTerms(String keyword) {
+        Set<String> seen = new LinkedHashSet<>();
+        List<QueryTerm> terms = new ArrayList<>();
+        scan(keyword, false, (term, prefix) -> {
+            if (seen.add(term)) {
+                terms.add(new QueryTerm(term, prefix));
+            }
+        });
+        return terms;
+    }
+
+    /**
+     * 逐字掃描文字並輸出詞
+     * @param text 文字
+     * @param indexing 是否為建立索引（中日韓段落同時輸出單字）
+     * @param sink 詞的接收者
+     */
+    private static void scan(String text, boolean indexing, TermSink sink) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int end = i;
+                while (end < length && isCjk(normalized.codePointAt(end))) {
+                    end += Character.charCount(normalized.codePointAt(end));
+                }
+                emitCjk(normalized.substring(i, end), indexing, sink);
+                i = end;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int end = i;
+                while (end < length) {
+                    int next = normalized.codePointAt(end);
+                    if (isCjk(next) || !Character.isLetterOrDigit(next)) {
+                        break;
+                    }
+                    end += Character.charCount(next);
+                }
+                String word = normalized.substring(i, end);
+                sink.accept(word, !indexing && word.length() >= MIN_PREFIX_LENGTH);
+                i = end;
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+    }
+
+    /**
+     * 輸出中日韓文字段落的單字與二字組
+     * @param run 連續的中日韓文字
+     * @param indexing 是否為建立索引
+     * @param sink 詞的接收者
+     */
+    private static void emitCjk(String run, boolean indexing, TermSink sink) {
+        int[] codePoints = run.codePoints().toArray();
+        if (indexing || codePoints.length == 1) {
+            for (int codePoint : codePoints) {
+                sink.accept(new String(Character.toChars(codePoint)), false);
+            }
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            sink.accept(new String(codePoints, i, 2), false);
+        }
+    }
+
+    /**
+     * 判斷字元是否屬於以字元切分的文字（漢字、假名、諺文）
+     * @param codePoint 字元
+     * @return 是否為中日韓文字
+     */
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 詞的接收者
+     */
+    @FunctionalInterface
+    private interface TermSink {
+        void accept(String term, boolean prefix);
+    }
+
+    /**
+     * 查詢詞
+     */
+    public static final class QueryTerm {
+        private final String text;
+        private final boolean prefix;
+
+        private QueryTerm(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+
+        /**
+         * 獲取詞
+         * @return 詞
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * 是否以前綴比對
+         * @return 是否以前綴比對
+         */
+        public boolean isPrefix() {
+            return prefix;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.calendar.util;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 特殊查看者點陣圖工具
+ * 負責員工ID與RoaringBitmap之間的轉換及序列化，供事件實體與投影查詢共用
+ */
+public final class ViewerBitmapUtil {
+
+    private ViewerBitmapUtil() {
+    }
+
+    /**
+     * 將序列化的點陣圖解碼；null視為空點陣圖
+     * @param bytes 序列化的點陣圖
+     * @return 點陣圖
+     */
+    public static RoaringBitmap decode(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (bytes != null) {
+            try {
+                bitmap.deserialize(ByteBuffer.wrap(bytes));
+            } catch (IOException e) {
+                throw new UncheckedIOException("無法解析特殊查看者點陣圖", e);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * 壓縮並序列化點陣圖
+     * @param bitmap 點陣圖
+     * @return 序列化的點陣圖
+     */
+    public static byte[] encode(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * 將點陣圖轉換為員工ID集合
+     * @param bitmap 點陣圖
+     * @return 員工ID集合
+     */
+    public static Set<Long> toIds(RoaringBitmap bitmap) {
+        Set<Long> ids = new HashSet<>(bitmap.getCardinality() * 4 / 3 + 1);
+        bitmap.forEach((int key) -> ids.add(Integer.toUnsignedLong(key)));
+        return ids;
+    }
+
+    /**
+     * 將序列化的點陣圖直接轉換為員工ID集合
+     * @param bytes 序列化的點陣圖
+     * @return 員工ID集合
+     */
+    public static Set<Long> toIds(byte[] bytes) {
+        return toIds(decode(bytes));
+    }
+
+    /**
+     * 將員工ID轉換為點陣圖中的鍵
+     * @param employeeId 員工ID
+     * @return 點陣圖鍵
+     * @throws ArithmeticException 如果員工ID超出32位元無號整數範圍
+     */
+    public static int toKey(Long employeeId) {
+        if (employeeId < 0 || employeeId > 0xFFFFFFFFL) {
+            throw new ArithmeticException("員工ID超出點陣圖範圍: " + employeeId);
+        }
+        return (int) employeeId.longValue();
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.calendar.config;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ID產生器初始化測試類
+ * <p>
+ * 模擬由自動遞增ID升級的資料庫：資料表中已有較大的ID時，產生器必須被推進到其後，
+ * 且推進須在伺服器開始接受請求之前完成。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({IdGeneratorInitializer.class, IdGeneratorInitializerTest.StartupProbe.class})
+class IdGeneratorInitializerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdGeneratorInitializer initializer;
+
+    @Autowired
+    private StartupProbe startupProbe;
+
+    /**
+     * 測試產生器會跳過既有的最大ID，且不會被往回調
+     */
+    @Test
+    void generatorSkipsExistingIds() {
+        Employee creator = entityManager.persist(new Employee("creator", "x", "Creator", "creator@example.com",
+                                                              "IT", SecurityLevel.LEVEL_1));
+        entityManager.flush();
+        jdbcTemplate.update("INSERT INTO events (id, title, start_time, end_time, creator_id, security_level) " +
+                            "VALUES (500, 'legacy', TIMESTAMP '2025-03-01 09:00:00', TIMESTAMP '2025-03-01 10:00:00', ?, 'LEVEL_4')",
+                            creator.getId());
+
+        initializer.alignWithExistingIds();
+        assertThat(nextValue("events")).isGreaterThan(500L + 50);
+
+        jdbcTemplate.update("UPDATE id_generators SET next_val = 10000 WHERE sequence_name = 'events'");
+        initializer.alignWithExistingIds();
+        assertThat(nextValue("events")).isEqualTo(10000L);
+        assertThat(nextValue("event_view_permissions")).isPositive();
+    }
+
+    /**
+     * 測試產生器在生命週期元件啟動前就已推進；內嵌伺服器也是在這個階段開始接受請求
+     */
+    @Test
+    void generatorsAreAlignedBeforeLifecycleStart() {
+        assertThat(startupProbe.alignedAtStart).isEqualTo(2L);
+    }
+
+    private Long nextValue(String generator) {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM id_generators WHERE sequence_name = ?",
+                                           Long.class, generator);
+    }
+
+    /**
+     * 最早啟動的生命週期元件，記錄啟動當下已推進的產生器數
+     */
+    static class StartupProbe implements SmartLifecycle {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private volatile boolean running;
+
+        private volatile Long alignedAtStart;
+
+        StartupProbe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Override
+        public void start() {
+            alignedAtStart = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_generators WHERE next_val > 50", Long.class);
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPhase() {
+            return Integer.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.company.calendar.controller;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
+import com.company.calendar.repository.EmployeeRepository;
+import com.company.calendar.repository.EventRepository;
+import com.company.calendar.service.auth.AuthService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 可見事件查詢的並行負載測試基底
+ * <p>
+ * 以逐步增加的並行請求數呼叫 {@code /api/calendar/events/visible}，每個請求都需查詢資料庫
+ * （月份快照快取已停用），找出 p99 延遲仍在預算內的最大並行數。
+ * 平台執行緒與虛擬執行緒兩種模式各由一個子類以不同設定啟動，結果會輸出至標準輸出以便比較。
+ * 延遲取決於執行環境，測試只斷言過載時的回應：連線池等不到連線的請求必須是 503，而不是 500。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+abstract class AbstractVisibleEventsLoadTest {
+
+    /**
+     * 依序嘗試的並行請求數
+     */
+    static final int[] CONCURRENCY_LEVELS = {8, 32, 128};
+
+    /**
+     * 每個並行客戶端送出的請求數
+     */
+    static final int REQUESTS_PER_CLIENT = 5;
+
+    /**
+     * p99 延遲預算（毫秒）
+     */
+    static final long P99_BUDGET_MILLIS = 1000;
+
+    private static final int EVENT_COUNT = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    /**
+     * 既不是200也不是503的回應數
+     */
+    private final AtomicInteger unexpectedResponses = new AtomicInteger();
+
+    /**
+     * 逐步增加並行數，返回 p99 仍在預算內且沒有請求被以 503 拒絕的最大並行數
+     *
+     * @param mode 執行緒模式名稱，用於輸出
+     * @return 最大並行數，連最低一級都超出預算時返回0
+     */
+    int maxConcurrencyWithinBudget(String mode) throws Exception {
+        String token = seed();
+        run(token, CONCURRENCY_LEVELS[0]);
+
+        int max = 0;
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            Level level = run(token, concurrency);
+            System.out.printf("[%s] concurrency=%d p50=%dms p99=%dms shed=%d%n",
+                              mode, concurrency, level.p50Millis, level.p99Millis, level.shed);
+            if (level.shed == 0 && level.p99Millis <= P99_BUDGET_MILLIS) {
+                max = concurrency;
+            }
+        }
+        System.out.printf("[%s] max concurrency within p99 %dms: %d%n", mode, P99_BUDGET_MILLIS, max);
+        return max;
+    }
+
+    /**
+     * 建立查詢用的員工與當月事件，返回該員工的存取令牌
+     *
+     * @return 存取令牌
+     */
+    private String seed() {
+        Employee viewer = new Employee("viewer", "x", "Viewer", "viewer@example.com", "IT", SecurityLevel.LEVEL_2);
+        viewer.setActive(true);
+        viewer = employeeRepository.save(viewer);
+
+        LocalDateTime monthStart = LocalDateTime.of(2025, 3, 1, 9, 0);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            LocalDateTime start = monthStart.plusDays(i % 28).plusHours(i % 8);
+            events.add(new Event("event" + i, "meeting", start, start.plusHours(1), null, viewer,
+                                 SecurityLevel.values()[i % SecurityLevel.values().length]));
+        }
+        eventRepository.saveAll(events);
+        return authService.createToken(viewer.getUsername());
+    }
+
+    /**
+     * 以指定並行數送出請求並統計延遲
+     *
+     * @param token 存取令牌
+     * @param concurrency 並行客戶端數
+     * @return 統計結果
+     */
+    private Level run(String token, int concurrency) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .connectTimeout(Duration.ofSeconds(5))
+                                      .build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/calendar/events/visible/year/2025/month/3"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger shed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long begin = System.nanoTime();
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        latencies.add(System.nanoTime() - begin);
+                        if (response.statusCode() == 503) {
+                            shed.incrementAndGet();
+                        } else if (response.statusCode() != 200) {
+                            unexpectedResponses.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Level(percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), shed.get());
+    }
+
+    /**
+     * 獲取既不是200也不是503的回應數
+     *
+     * @return 回應數
+     */
+    int unexpectedResponses() {
+        return unexpectedResponses.get();
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000;
+    }
+
+    /**
+     * 單一並行等級的統計結果
+     */
+    private static final class Level {
+        private final long p50Millis;
+        private final long p99Millis;
+        private final int shed;
+
+        private Level(long p50Millis, long p99Millis, int shed) {
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.shed = shed;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.company.calendar.controller;
+
+import com.company.calendar.dto.EmployeeDTO;
+import com.company.calendar.dto.EventDTO;
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.repository.ChangeStampRepository;
+import com.company.calendar.repository.EmployeeRepository;
+import com.company.calendar.service.auth.AuthService;
+import com.company.calendar.service.calendar.CalendarChangeStamps;
+import com.company.calendar.service.calendar.CalendarService;
+import com.company.calendar.service.employee.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 條件式GET測試
+ * <p>
+ * 在內嵌伺服器上驗證讀取端點的ETag：內容未變時 If-None-Match 得到 304 且只讀取變更戳記，
+ * 事件或員工資料變更後舊ETag不再相符，另一個節點也算出相同的ETag。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-get;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.com.company.calendar=WARN"
+})
+class ConditionalGetTest {
+
+    private static final String MONTH_PATH = "/api/calendar/events/visible/year/2025/month/3";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ChangeStampRepository changeStampRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Employee viewer;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        viewer = employeeRepository.findByUsername("viewer").orElseGet(() -> {
+            Employee employee = new Employee("viewer", "x", "Viewer", "viewer@example.com", "IT",
+                                             SecurityLevel.LEVEL_2);
+            employee.setActive(true);
+            return employeeRepository.save(employee);
+        });
+        token = authService.createToken(viewer.getUsername());
+    }
+
+    /**
+     * 測試可見月份事件未變更時返回 304 且只查詢一次戳記，同月份有新事件後返回新內容
+     */
+    @Test
+    void visibleMonthAnswersNotModifiedFromStampsOnly() throws Exception {
+        calendarService.createEvent(event("planning", LocalDateTime.of(2025, 3, 10, 9, 0)), viewer.getId());
+
+        HttpResponse<String> first = get(MONTH_PATH, null);
+        assertThat(first.statusCode()).isEqualTo(200);
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+        assertThat(first.headers().firstValue("Cache-Control")).hasValue("no-cache, private");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        HttpResponse<String> second = get(MONTH_PATH, eTag);
+        assertThat(second.statusCode()).isEqualTo(304);
+        assertThat(second.body()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // 其他月份的變更不影響
+        calendarService.createEvent(event("offsite", LocalDateTime.of(2025, 7, 1, 9, 0)), viewer.getId());
+        assertThat(get(MONTH_PATH, eTag).statusCode()).isEqualTo(304);
+
+        calendarService.createEvent(event("review", LocalDateTime.of(2025, 3, 20, 9, 0)), viewer.getId());
+        HttpResponse<String> third = get(MONTH_PATH, eTag);
+        assertThat(third.statusCode()).isEqualTo(200);
+        assertThat(third.body()).contains("review");
+        assertThat(third.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(eTag);
+
+        assertThat(meterRegistry.get("http.conditional.get")
+                                .tag("uri", "/api/calendar/events/visible/year/{year}/month/{month}")
+                                .tag("result", "not_modified")
+                                .counter().count()).isEqualTo(2);
+    }
+
+    /**
+     * 測試單一事件與員工列表的ETag在內容變更後失效，包括事件中的創建者用戶名
+     */
+    @Test
+    void eventAndEmployeesTagsFollowChanges() throws Exception {
+        EventDTO created = calendarService.createEvent(event("standup", LocalDateTime.of(2025, 3, 3, 9, 0)),
+                                                       viewer.getId());
+        String eventPath = "/api/calendar/events/" + created.getId();
+
+        String eventTag = get(eventPath, null).headers().firstValue("ETag").orElseThrow();
+        String employeesTag = get("/api/employees", null).headers().firstValue("ETag").orElseThrow();
+        assertThat(get(eventPath, eventTag).statusCode()).isEqualTo(304);
+        assertThat(get("/api/employees", "W/" + employeesTag).statusCode()).isEqualTo(304);
+
+        EmployeeDTO renamed = employeeService.getEmployeeById(viewer.getId());
+        renamed.setFullName("Renamed Viewer");
+        employeeService.updateEmployee(viewer.getId(), renamed);
+
+        assertThat(get(eventPath, eventTag).statusCode()).isEqualTo(200);
+        assertThat(get("/api/employees", employeesTag).statusCode()).isEqualTo(200);
+    }
+
+    /**
+     * 測試戳記保存在資料庫中，另一個節點對相同資料算出相同的ETag，並看得到本節點的變更
+     */
+    @Test
+    void otherNodesComputeTheSameTags() throws Exception {
+        CalendarChangeStamps otherNode = new CalendarChangeStamps(changeStampRepository, jdbcTemplate);
+        YearMonth march = YearMonth.of(2025, 3);
+
+        String eTag = get(MONTH_PATH, null).headers().firstValue("ETag").orElseThrow();
+        assertThat(otherNode.visibleMonthTag(viewer.getId(), SecurityLevel.LEVEL_2, march)).isEqualTo(eTag);
+
+        calendarService.createEvent(event("retro", LocalDateTime.of(2025, 3, 25, 9, 0)), viewer.getId());
+        String changed = otherNode.visibleMonthTag(viewer.getId(), SecurityLevel.LEVEL_2, march);
+        assertThat(changed).isNotEqualTo(eTag);
+        assertThat(get(MONTH_PATH, null).headers().firstValue("ETag")).hasValue(changed);
+    }
+
+    private EventDTO event(String title, LocalDateTime start) {
+        EventDTO event = new EventDTO();
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        event.setSecurityLevel(SecurityLevel.LEVEL_2);
+        return event;
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                                 .header("Authorization", "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.calendar.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 跨域預檢測試
+ * <p>
+ * 前端開發伺服器與後端不同源，帶 If-Match 的更新請求會先送出預檢，
+ * 須由安全過濾鏈的 CORS 配置允許，否則所有編輯都會得到 403；回應的 ETag 也須公開給前端。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:cors-preflight;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.com.company.calendar=WARN"
+})
+class CorsPreflightTest {
+
+    private static final String FRONTEND_ORIGIN = "http://localhost:8081";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * 測試事件與員工更新的預檢允許 If-Match 標頭
+     */
+    @Test
+    void updatePreflightAllowsIfMatch() throws Exception {
+        for (String path : new String[] {"/api/calendar/events/1", "/api/employees/1"}) {
+            HttpResponse<String> response = preflight(path, "PUT", "authorization,content-type,if-match");
+
+            assertThat(response.statusCode()).as(path).isEqualTo(200);
+            assertThat(response.headers().firstValue("Access-Control-Allow-Origin")).hasValue(FRONTEND_ORIGIN);
+            assertThat(response.headers().firstValue("Access-Control-Allow-Headers").orElse("").toLowerCase())
+                    .contains("if-match");
+        }
+    }
+
+    /**
+     * 測試讀取的預檢允許 If-None-Match 標頭，未列出的標頭仍被拒絕
+     */
+    @Test
+    void readPreflightAllowsIfNoneMatchOnly() throws Exception {
+        assertThat(preflight("/api/calendar/events/1", "GET", "if-none-match").statusCode()).isEqualTo(200);
+        assertThat(preflight("/api/calendar/events/1", "GET", "x-unknown").statusCode()).isEqualTo(403);
+    }
+
+    /**
+     * 測試跨域回應公開 ETag 標頭，前端才讀得到條件式請求所需的版本
+     */
+    @Test
+    void crossOriginResponsesExposeETag() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/calendar/events/1"))
+                                         .header("Origin", FRONTEND_ORIGIN)
+                                         .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.headers().firstValue("Access-Control-Expose-Headers").orElse(""))
+                .contains("ETag");
+    }
+
+    private HttpResponse<String> preflight(String path, String method, String headers) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                         .method("OPTIONS", HttpRequest.BodyPublishers.noBody())
+                                         .header("Origin", FRONTEND_ORIGIN)
+                                         .header("Access-Control-Request-Method", method)
+                                         .header("Access-Control-Request-Headers", headers)
+                                         .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,134 @@
+package com.company.calendar.controller;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 登入尖峰負載測試
+ * <p>
+ * 在內嵌伺服器上重現上班時段大量同時登入：驗證執行緒與佇列都設得很小，
+ * 超出容量的登入必須立即得到 503 與 Retry-After，而其他API在尖峰期間仍可正常回應。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:login-burst;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.com.company.calendar=WARN",
+        "app.security.login.threads=2",
+        "app.security.login.queue-capacity=4",
+        "app.security.login.expected-verify-millis=1000"
+})
+class LoginBurstLoadTest {
+
+    private static final int USERS = 60;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 測試同時登入超出容量時快速回應 503，其餘登入成功，且其他API不受影響
+     */
+    @Test
+    void loginSpikeIsShedWithRetryAfter() throws Exception {
+        String hash = passwordEncoder.encode("secret");
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            Employee employee = new Employee("user" + i, hash, "User " + i, "user" + i + "@example.com",
+                                             "IT", SecurityLevel.LEVEL_4);
+            employee.setActive(true);
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<CompletableFuture<HttpResponse<String>>> logins = new ArrayList<>();
+        long[] loginNanos = new long[USERS];
+        long burstStart = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"user" + i + "\",\"password\":\"secret\"}"))
+                    .build();
+            int index = i;
+            logins.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+                loginNanos[index] = System.nanoTime() - burstStart;
+                return response;
+            }));
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> check = client.send(HttpRequest.newBuilder(uri("/api/auth/check")).build(),
+                                                 HttpResponse.BodyHandlers.ofString());
+        long checkNanos = System.nanoTime() - start;
+
+        int succeeded = 0;
+        int rejected = 0;
+        long slowestLoginNanos = 0;
+        for (int i = 0; i < USERS; i++) {
+            HttpResponse<String> response = logins.get(i).get();
+            if (response.statusCode() == 200) {
+                succeeded++;
+                slowestLoginNanos = Math.max(slowestLoginNanos, loginNanos[i]);
+            } else {
+                assertThat(response.statusCode()).isEqualTo(503);
+                assertThat(response.headers().firstValue("Retry-After")).hasValue("1");
+                rejected++;
+            }
+        }
+
+        assertThat(check.statusCode()).isEqualTo(200);
+        // 與登入延遲相比而非固定毫秒數：請求執行緒若被排隊的登入佔滿，檢查會和最慢的登入一樣慢
+        assertThat(checkNanos).isLessThan(slowestLoginNanos);
+        assertThat(succeeded).isPositive();
+        assertThat(rejected).isPositive();
+        assertThat(meterRegistry.get("auth.login.rejected").counter().count()
+                   + meterRegistry.get("auth.login.timeout").counter().count()).isEqualTo(rejected);
+        assertThat(meterRegistry.get("auth.login.verify").timer().count()).isEqualTo(succeeded);
+        assertThat(meterRegistry.get("auth.login.queue.depth").gauge().value()).isZero();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
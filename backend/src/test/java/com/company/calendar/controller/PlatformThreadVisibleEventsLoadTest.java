@@ -0,0 +1,47 @@
+package com.company.calendar.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 平台執行緒模式下的可見事件查詢負載測試
+ * <p>
+ * Tomcat使用預設的平台執行緒池，連線池上限與虛擬執行緒模式相同，作為比較的基準。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:visible-platform;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.com.company.calendar=WARN",
+        "app.calendar.month-cache.max-entries=0",
+        "spring.threads.virtual.enabled=false"
+})
+class PlatformThreadVisibleEventsLoadTest extends AbstractVisibleEventsLoadTest {
+
+    /**
+     * 測試平台執行緒模式下逐步加壓，過載的請求只會得到 503
+     */
+    @Test
+    void visibleEventsShedOverloadWith503() throws Exception {
+        maxConcurrencyWithinBudget("platform");
+        assertThat(unexpectedResponses()).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.calendar.controller;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 虛擬執行緒模式下的可見事件查詢負載測試
+ * <p>
+ * 需要Java 21以上，較舊的Java版本會略過。負載期間以JFR記錄 {@code jdk.VirtualThreadPinned} 事件，
+ * 堆疊中出現本專案程式碼的釘住事件即視為失敗，防止在持有 synchronized 鎖時進行阻塞操作的程式碼再次出現。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:visible-virtual;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.com.company.calendar=WARN",
+        "app.calendar.month-cache.max-entries=0",
+        "spring.threads.virtual.enabled=true"
+})
+class VirtualThreadVisibleEventsLoadTest extends AbstractVisibleEventsLoadTest {
+
+    /**
+     * 測試虛擬執行緒模式下逐步加壓，過載的請求只會得到 503，且本專案程式碼沒有釘住載體執行緒
+     */
+    @Test
+    void visibleEventsShedOverloadWithoutPinning() throws Exception {
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            maxConcurrencyWithinBudget("virtual");
+            assertThat(unexpectedResponses()).isZero();
+
+            recording.stop();
+            recording.dump(dump);
+            List<String> pinnedInOurCode = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getStackTrace() != null)
+                    .map(VirtualThreadVisibleEventsLoadTest::firstOwnFrame)
+                    .filter(frame -> frame != null)
+                    .collect(Collectors.toList());
+            assertThat(pinnedInOurCode).isEmpty();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static String firstOwnFrame(RecordedEvent event) {
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.company.calendar.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.company.calendar.repository;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
+import com.company.calendar.util.CalendarPeriod;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 事件資料庫操作介面測試類
+ * <p>
+ * 以一組邊界區間驗證可見性查詢的半開區間重疊語意：
+ * 跨越整個月份的長事件必須被找到，恰好結束於月初或開始於下月初的事件不可被找到。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.company.calendar.repository.EventRepositoryTest$LastStatement"
+})
+class EventRepositoryTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+    private static final LocalDateTime START = MONTH.atDay(1).atStartOfDay();
+    private static final LocalDateTime END = MONTH.plusMonths(1).atDay(1).atStartOfDay();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Employee creator;
+    private Employee viewer;
+
+    @BeforeEach
+    void setUp() {
+        creator = entityManager.persist(new Employee("creator", "x", "Creator", "creator@example.com",
+                                                     "IT", SecurityLevel.LEVEL_1));
+        viewer = entityManager.persist(new Employee("viewer", "x", "Viewer", "viewer@example.com",
+                                                    "IT", SecurityLevel.LEVEL_4));
+    }
+
+    /**
+     * 測試各種邊界區間在安全等級分支中的重疊判斷
+     */
+    @Test
+    void levelBranchUsesHalfOpenOverlap() {
+        persist("inside", "2025-03-10T09:00", "2025-03-10T10:00");
+        persist("startsBefore", "2025-02-25T09:00", "2025-03-02T10:00");
+        persist("endsAfter", "2025-03-30T09:00", "2025-04-03T10:00");
+        persist("coversMonth", "2025-02-01T00:00", "2025-05-01T00:00");
+        persist("coversYears", "2024-01-01T00:00", "2026-01-01T00:00");
+        persist("zeroLengthAtStart", "2025-03-01T00:00", "2025-03-01T00:00");
+        persist("lastSecond", "2025-03-31T23:59:59", "2025-04-01T00:00");
+        persist("endsAtStart", "2025-02-28T23:00", "2025-03-01T00:00");
+        persist("startsAtEnd", "2025-04-01T00:00", "2025-04-01T01:00");
+        persist("zeroLengthAtEnd", "2025-04-01T00:00", "2025-04-01T00:00");
+        persist("before", "2025-01-05T09:00", "2025-01-05T10:00");
+        persist("after", "2025-05-05T09:00", "2025-05-05T10:00");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Event> events = eventRepository.findEventsBySecurityLevelsInWindow(
+                SecurityLevel.LEVEL_4.getAccessibleLevels(),
+                Event.monthKeyOf(START), Event.monthKeyOf(END), START, END);
+
+        assertThat(titles(events)).containsExactlyInAnyOrder(
+                "inside", "startsBefore", "endsAfter", "coversMonth", "coversYears",
+                "zeroLengthAtStart", "lastSecond");
+        assertThat(events).allMatch(event -> event.overlaps(START, END));
+    }
+
+    /**
+     * 測試長事件在創建者、特殊權限與舊查詢中同樣可見
+     */
+    @Test
+    void longEventIsFoundByEveryBranch() {
+        Event event = persist("coversMonth", "2025-02-01T00:00", "2025-05-01T00:00");
+        event.setSecurityLevel(SecurityLevel.LEVEL_1);
+        event.addViewPermission(viewer);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(titles(eventRepository.findCreatedEventsInWindow(creator.getId(), START, END)))
+                .containsExactly("coversMonth");
+        assertThat(titles(eventRepository.findPermittedEventsInWindow(viewer.getId(), START, END)))
+                .containsExactly("coversMonth");
+        assertThat(eventRepository.findEventsBySecurityLevelsInWindow(
+                SecurityLevel.LEVEL_4.getAccessibleLevels(),
+                Event.monthKeyOf(START), Event.monthKeyOf(END), START, END)).isEmpty();
+        assertThat(titles(eventRepository.findVisibleEventsForEmployee(
+                viewer, viewer.getSecurityLevel(), START, END))).containsExactly("coversMonth");
+    }
+
+    /**
+     * 測試修改事件時間後月份鍵會同步更新
+     */
+    @Test
+    void movingEventUpdatesMonthKeys() {
+        Event event = persist("moved", "2025-03-10T09:00", "2025-03-10T10:00");
+        entityManager.flush();
+
+        event.setStartTime(LocalDateTime.parse("2025-06-10T09:00"));
+        event.setEndTime(LocalDateTime.parse("2025-07-02T10:00"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(reloaded.getMonthKeys()).containsExactlyInAnyOrder(
+                Event.monthKeyOf(LocalDateTime.parse("2025-06-01T00:00")),
+                Event.monthKeyOf(LocalDateTime.parse("2025-07-01T00:00")));
+        assertThat(eventRepository.findEventsBySecurityLevelsInWindow(
+                SecurityLevel.LEVEL_4.getAccessibleLevels(),
+                Event.monthKeyOf(START), Event.monthKeyOf(END), START, END)).isEmpty();
+    }
+
+    /**
+     * 測試特殊查看者點陣圖隨權限異動保存，且重新載入後不需權限實體即可判斷
+     */
+    @Test
+    void specialViewerBitmapFollowsPermissions() {
+        Event event = persist("shared", "2025-03-10T09:00", "2025-03-10T10:00");
+        event.addViewPermission(viewer);
+        event.addViewPermission(creator);
+        event.removeSpecialViewer(creator.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(reloaded.getSpecialViewerIds()).containsExactly(viewer.getId());
+        assertThat(reloaded.isSpecialViewer(viewer.getId())).isTrue();
+        assertThat(reloaded.isSpecialViewer(creator.getId())).isFalse();
+        assertThat(eventRepository.findIdsWithoutSpecialViewerBitmap(Long.MIN_VALUE, Limit.unlimited())).isEmpty();
+    }
+
+    /**
+     * 測試期間查詢以 start_time 範圍走索引，執行計畫不可退化為全表掃描
+     */
+    @Test
+    void periodQueryUsesStartTimeIndex() {
+        persist("inside", "2025-03-10T09:00", "2025-03-10T10:00");
+        persist("before", "2025-02-28T23:59:59", "2025-03-01T01:00");
+        persist("nextMonth", "2025-04-01T00:00", "2025-04-01T01:00");
+        entityManager.flush();
+        entityManager.clear();
+
+        CalendarPeriod period = CalendarPeriod.ofMonth(MONTH);
+        assertThat(eventRepository.findSummariesStartingIn(period.getStart(), period.getEnd()))
+                .extracting(summary -> summary.getTitle())
+                .containsExactly("inside");
+
+        String plan = String.valueOf(entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + LastStatement.sql)
+                .setParameter(1, period.getStart())
+                .setParameter(2, period.getEnd())
+                .getSingleResult());
+        assertThat(plan).containsIgnoringCase("IDX_EVENTS_WINDOW_LEVEL").doesNotContainIgnoringCase("tableScan");
+    }
+
+    private Event persist(String title, String start, String end) {
+        Event event = new Event(title, null, LocalDateTime.parse(start), LocalDateTime.parse(end),
+                                null, creator, SecurityLevel.LEVEL_4);
+        return entityManager.persist(event);
+    }
+
+    private static Set<String> titles(List<Event> events) {
+        return events.stream().map(Event::getTitle).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * 記錄Hibernate最後產生的SQL，供執行計畫檢查使用
+     */
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
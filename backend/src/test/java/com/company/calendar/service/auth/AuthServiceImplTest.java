@@ -0,0 +1,227 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.dto.TokenPairDTO;
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.RevokedToken;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 認證服務測試類
+ * <p>
+ * 驗證令牌聲明可還原為員工身分，且除每位員工第一次的令牌版本查詢外不再查詢資料庫。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({AuthServiceImpl.class, TokenVersionRegistry.class, TokenVerifier.class, TokenRevocationStore.class,
+         RefreshTokenService.class})
+class AuthServiceImplTest {
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private LoginVerificationExecutor loginVerificationExecutor;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+
+    private Employee employee;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // 撤銷測試會提交交易，每次使用不同的用戶名以免違反唯一約束
+        String username = "alice" + System.nanoTime();
+        employee = entityManager.persist(new Employee(username, "x", "Alice", username + "@example.com",
+                                                      "Finance", SecurityLevel.LEVEL_2));
+        entityManager.flush();
+        tokenRevocationStore.load();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 測試令牌聲明還原為員工身分，版本確認後的請求不需查詢資料庫
+     */
+    @Test
+    void principalIsRebuiltFromClaimsWithoutQueries() {
+        String token = authService.createToken(employee.getUsername());
+
+        statistics.clear();
+        CalendarPrincipal principal = authService.getPrincipalFromToken(token);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(principal.getId()).isEqualTo(employee.getId());
+        assertThat(principal.getUsername()).isEqualTo(employee.getUsername());
+        assertThat(principal.getSecurityLevel()).isEqualTo(SecurityLevel.LEVEL_2);
+        assertThat(principal.getDepartment()).isEqualTo("Finance");
+
+        statistics.clear();
+        for (int i = 0; i < 10; i++) {
+            assertThat(authService.getPrincipalFromToken(token)).isNotNull();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThat(authService.getPrincipalFromToken(token + "x")).isNull();
+        assertThat(authService.getPrincipalFromToken("not-a-token")).isNull();
+    }
+
+    /**
+     * 測試令牌版本遞增並提交或員工停用後，先前簽發的令牌失效
+     */
+    @Test
+    void revokedTokensAreRejected() {
+        String token = authService.createToken(employee.getUsername());
+        assertThat(authService.getPrincipalFromToken(token)).isNotNull();
+
+        employee.revokeTokens();
+        tokenVersionRegistry.update(employee.getId(), employee.getTokenVersion(), true);
+        assertThat(authService.getPrincipalFromToken(token)).isNotNull();
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertThat(authService.getPrincipalFromToken(token)).isNull();
+
+        String renewed = authService.createToken(employee.getUsername());
+        assertThat(authService.getPrincipalFromToken(renewed)).isNotNull();
+
+        TestTransaction.start();
+        Employee stored = entityManager.find(Employee.class, employee.getId());
+        stored.setActive(false);
+        entityManager.flush();
+        tokenVersionRegistry.update(stored.getId(), stored.getTokenVersion(), false);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertThat(authService.getPrincipalFromToken(renewed)).isNull();
+    }
+
+    /**
+     * 測試其他節點提交的令牌版本遞增與重新啟用不需通知本機登記表即生效
+     */
+    @Test
+    void changesCommittedElsewhereAreReloaded() {
+        String token = authService.createToken(employee.getUsername());
+        assertThat(authService.getPrincipalFromToken(token)).isNotNull();
+
+        // 其他節點修改密碼：只寫入資料庫，不經過本機登記表
+        employee.revokeTokens();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        String renewed = authService.createToken(employee.getUsername());
+        assertThat(authService.getPrincipalFromToken(renewed)).isNotNull();
+        assertThat(authService.getPrincipalFromToken(token)).isNull();
+
+        // 本機記錄為停用後，其他節點重新啟用員工
+        tokenVersionRegistry.revoke(employee.getId());
+        assertThat(authService.getPrincipalFromToken(renewed)).isNotNull();
+
+        statistics.clear();
+        assertThat(authService.getPrincipalFromToken(renewed)).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    /**
+     * 測試登出提交後令牌在伺服器端失效，且清理工作只刪除已到期的撤銷記錄
+     */
+    @Test
+    void logoutRevokesTokenUntilItExpires() {
+        String token = authService.createToken(employee.getUsername());
+        String other = authService.createToken(employee.getUsername());
+        CalendarPrincipal principal = authService.getPrincipalFromToken(token);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList()));
+
+        authService.logout(null);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertThat(authService.getPrincipalFromToken(token)).isNull();
+        assertThat(authService.getPrincipalFromToken(other)).isNotNull();
+
+        TestTransaction.start();
+        entityManager.persist(new RevokedToken("expired", LocalDateTime.now().minusMinutes(1)));
+        entityManager.flush();
+        tokenRevocationStore.sweep();
+        entityManager.clear();
+        assertThat(entityManager.find(RevokedToken.class, "expired")).isNull();
+        assertThat(entityManager.find(RevokedToken.class, principal.getTokenId())).isNotNull();
+        assertThat(authService.getPrincipalFromToken(token)).isNull();
+    }
+
+    /**
+     * 測試刷新令牌輪換後舊令牌不能再用，重放舊令牌會撤銷整個令牌家族
+     */
+    @Test
+    void refreshRotatesTokenAndRevokesFamilyOnReuse() {
+        TokenPairDTO issued = authService.createTokenPair(employee.getUsername());
+        assertThat(issued.getExpiresIn()).isEqualTo(900);
+
+        TokenPairDTO rotated = authService.refresh(issued.getRefreshToken());
+        assertThat(rotated).isNotNull();
+        assertThat(rotated.getRefreshToken()).isNotEqualTo(issued.getRefreshToken());
+        assertThat(authService.getPrincipalFromToken(rotated.getToken()).getId()).isEqualTo(employee.getId());
+
+        assertThat(authService.refresh(issued.getRefreshToken())).isNull();
+        assertThat(authService.refresh(rotated.getRefreshToken())).isNull();
+        assertThat(authService.refresh("not-a-token")).isNull();
+
+        TokenPairDTO another = authService.createTokenPair(employee.getUsername());
+        authService.logout(another.getRefreshToken());
+        assertThat(authService.refresh(another.getRefreshToken())).isNull();
+    }
+
+    /**
+     * 測試令牌版本遞增後（例如修改密碼），既有的刷新令牌不能再換取存取令牌
+     */
+    @Test
+    void refreshIsRejectedAfterTokenVersionChange() {
+        TokenPairDTO issued = authService.createTokenPair(employee.getUsername());
+
+        employee.revokeTokens();
+        entityManager.flush();
+
+        assertThat(authService.refresh(issued.getRefreshToken())).isNull();
+    }
+}
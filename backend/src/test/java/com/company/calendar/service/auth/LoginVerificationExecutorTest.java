@@ -0,0 +1,82 @@
+package com.company.calendar.service.auth;
+
+import com.company.calendar.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 登入密碼驗證執行器測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class LoginVerificationExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 一條執行緒、佇列容量 1、預期 50ms，等待上限為 100ms
+    private final LoginVerificationExecutor executor = new LoginVerificationExecutor(1, 1, 1, 50, meterRegistry);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    /**
+     * 測試佇列中的驗證等待超過上限時取消並拋出服務忙碌異常，且不再佔用佇列
+     */
+    @Test
+    void queuedVerificationTimesOutAsBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        // 和 BCrypt 一樣不理會中斷，呼叫端逾時後仍佔住唯一的驗證執行緒直到放行
+        CompletableFuture<Void> blocking = CompletableFuture.runAsync(() -> assertThatThrownBy(
+                () -> executor.execute(() -> {
+                    started.countDown();
+                    awaitUninterruptibly(release);
+                    return true;
+                })).isInstanceOf(ServiceBusyException.class));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long begin = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> true))
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting(e -> ((ServiceBusyException) e).getRetryAfterSeconds())
+                .isEqualTo(1L);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(5_000);
+        blocking.get(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("auth.login.timeout").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.login.queue.depth").gauge().value()).isZero();
+
+        release.countDown();
+        assertThat(executor.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
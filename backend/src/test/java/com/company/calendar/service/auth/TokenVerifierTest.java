@@ -0,0 +1,57 @@
+package com.company.calendar.service.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JWT令牌驗證器測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class TokenVerifierTest {
+
+    private static final String SECRET = "testSecretKeyNeedsToBeAtLeast32BytesLong";
+
+    private final TokenVerifier verifier = new TokenVerifier(SECRET, 2);
+
+    /**
+     * 測試同一令牌第二次驗證直接取自快取，且竄改與過期的令牌不會通過
+     */
+    @Test
+    void verifiedTokensAreCachedUntilExpiry() throws InterruptedException {
+        String token = sign("alice", System.currentTimeMillis() + 60_000);
+        Claims claims = verifier.verify(token);
+        assertThat(claims.getSubject()).isEqualTo("alice");
+        assertThat(verifier.verify(token)).isSameAs(claims);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> new TokenVerifier("anotherSecretKeyThatIsAtLeast32BytesLong", 2).verify(token))
+                .isInstanceOf(SignatureException.class);
+
+        String shortLived = sign("bob", System.currentTimeMillis() + 1_000);
+        assertThat(verifier.verify(shortLived).getSubject()).isEqualTo("bob");
+        Thread.sleep(1_100);
+        assertThatThrownBy(() -> verifier.verify(shortLived)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private String sign(String subject, long expiresAt) {
+        return Jwts.builder()
+                   .setSubject(subject)
+                   .setExpiration(new Date(expiresAt))
+                   .signWith(verifier.getSigningKey(), SignatureAlgorithm.HS256)
+                   .compact();
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.calendar.service.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用戶詳情快取測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class UserDetailsCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> notified = new ArrayList<>();
+
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return User.withUsername(username).password("hash").authorities(new String[0]).build();
+    };
+
+    /**
+     * 測試命中、容量淘汰及計數器，且返回的副本被清除密碼不影響快取
+     */
+    @Test
+    void cachesCopiesAndEvictsLeastRecentlyUsed() {
+        UserDetailsCache cache = newCache(2, 300);
+
+        User first = (User) cache.get("alice", loader);
+        first.eraseCredentials();
+        assertThat(cache.get("alice", loader).getPassword()).isEqualTo("hash");
+        assertThat(loads).hasValue(1);
+
+        cache.get("bob", loader);
+        cache.get("alice", loader);
+        cache.get("carol", loader);
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get("bob", loader);
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.getHits()).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(4);
+        assertThat(cache.getEvictions()).isEqualTo(2);
+    }
+
+    /**
+     * 測試過期項目會重新載入，失效會移除項目並通知掛鉤
+     */
+    @Test
+    void expiresAndInvalidates() {
+        UserDetailsCache expiring = newCache(10, 0);
+        expiring.get("alice", loader);
+        expiring.get("alice", loader);
+        assertThat(loads).hasValue(2);
+        assertThat(expiring.getEvictions()).isEqualTo(1);
+
+        UserDetailsCache cache = newCache(10, 300);
+        cache.get("alice", loader);
+        cache.invalidate("alice");
+        assertThat(notified).containsExactly("alice");
+        cache.get("alice", loader);
+        assertThat(loads).hasValue(4);
+
+        cache.evict("alice");
+        assertThat(cache.size()).isZero();
+        assertThat(notified).containsExactly("alice");
+    }
+
+    /**
+     * 測試載入期間發生的失效不會讓舊資料寫回快取
+     */
+    @Test
+    void invalidationDuringLoadIsNotOverwritten() {
+        UserDetailsCache cache = newCache(10, 300);
+        cache.get("alice", username -> {
+            cache.evict(username);
+            return loader.apply(username);
+        });
+        assertThat(cache.size()).isZero();
+    }
+
+    private UserDetailsCache newCache(int maxEntries, long ttlSeconds) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("hook", (UserDetailsInvalidationHook) notified::add);
+        return new UserDetailsCache(maxEntries, ttlSeconds,
+                                    beanFactory.getBeanProvider(UserDetailsInvalidationHook.class));
+    }
+}
@@ -0,0 +1,474 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.BulkEventResultDTO;
+import com.company.calendar.dto.EventDTO;
+import com.company.calendar.dto.EventPageDTO;
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.exception.PreconditionFailedException;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 行事曆服務實現類測試
+ * <p>
+ * 以Hibernate統計資料驗證列表方法的SQL語句數量固定，不隨事件、創建者或特殊查看者數量增加。
+ * </p>
+ * 
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "app.calendar.search-index.enabled=false"
+})
+@AutoConfigureJson
+@Import({CalendarServiceImpl.class, EventIntervalIndex.class, EventSearchIndex.class, EventMonthSnapshotCache.class,
+         CalendarChangeStamps.class})
+class CalendarServiceImplTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+    private static final LocalDateTime START = MONTH.atDay(1).atStartOfDay();
+    private static final LocalDateTime END = MONTH.plusMonths(1).atDay(1).atStartOfDay();
+    private static final int EVENT_COUNT = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarServiceImpl calendarServiceImpl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Employee viewer;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        viewer = entityManager.persist(new Employee("viewer", "x", "Viewer", "viewer@example.com",
+                                                    "IT", SecurityLevel.LEVEL_4));
+        List<Employee> creators = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            creators.add(entityManager.persist(new Employee("creator" + i, "x", "Creator " + i,
+                    "creator" + i + "@example.com", "IT", SecurityLevel.LEVEL_1)));
+        }
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            LocalDateTime start = START.plusDays(i % 28).plusHours(9);
+            Event event = entityManager.persist(new Event("event" + i, "meeting", start, start.plusHours(1),
+                    null, creators.get(i % creators.size()),
+                    i % 2 == 0 ? SecurityLevel.LEVEL_4 : SecurityLevel.LEVEL_1));
+            if (i % 3 == 0) {
+                event.addViewPermission(viewer);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 測試可見事件列表只需固定數量的查詢，且創建者與特殊查看者資料完整
+     */
+    @Test
+    void visibleEventsUseFixedNumberOfStatements() {
+        List<EventDTO> events = countStatements(5, () ->
+                calendarService.getVisibleEventsForEmployee(viewer.getId(), START, END));
+
+        // 偶數事件依安全等級可見，另有每三筆一筆的特殊授權（與偶數重疊者不重複計算）
+        assertThat(events).hasSize(20);
+        assertThat(events).allMatch(event -> event.getCreatorUsername().startsWith("creator"));
+        assertThat(events).filteredOn(event -> event.getTitle().equals("event3"))
+                          .singleElement()
+                          .satisfies(event -> assertThat(event.getSpecialViewerIds()).containsExactly(viewer.getId()));
+
+        assertThat(countStatements(5, () ->
+                calendarService.getVisibleEventsForEmployeeInMonth(viewer.getId(), MONTH))).hasSize(20);
+    }
+
+    /**
+     * 測試其他列表方法各只需固定數量的查詢
+     */
+    @Test
+    void listMethodsUseFixedNumberOfStatements() {
+        assertThat(countStatements(1, calendarService::getAllEvents)).hasSize(EVENT_COUNT);
+        assertThat(countStatements(1, () -> calendarService.getEventsBetween(START, END))).hasSize(EVENT_COUNT);
+        assertThat(countStatements(1, () -> calendarService.getEventsByYearAndMonth(2025, 3))).hasSize(EVENT_COUNT);
+        assertThat(countStatements(1, () -> calendarService.searchEvents("meeting", viewer.getId(),
+                                                                         viewer.getSecurityLevel()))).hasSize(20);
+        Long creatorId = calendarService.getAllEvents().get(0).getCreatorId();
+        assertThat(countStatements(2, () -> calendarService.getEventsByCreator(creatorId))).hasSize(EVENT_COUNT / 5);
+    }
+
+    /**
+     * 測試游標分頁依 (開始時間, ID) 逐頁讀完所有事件，不重複也不遺漏，每頁只需一次查詢
+     */
+    @Test
+    void cursorPagesWalkAllEventsInOrder() {
+        List<EventDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String current = cursor;
+            EventPageDTO page = countStatements(1, () -> calendarService.getEventsPage(current, 7));
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(7);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(seen).extracting(EventDTO::getId).doesNotHaveDuplicates().hasSize(EVENT_COUNT);
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(EventDTO::getStartTime)
+                                                           .thenComparing(EventDTO::getId));
+
+        EventPageDTO search = calendarService.searchEventsPage("meeting", null, 1000, viewer.getId(),
+                                                               viewer.getSecurityLevel());
+        assertThat(search.getItems()).hasSize(20);
+        assertThat(search.getNextCursor()).isNull();
+        assertThatThrownBy(() -> calendarService.getEventsPage("not-a-cursor", 7))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 測試匯出為每行一筆事件的JSON，且只需一次查詢
+     */
+    @Test
+    void exportWritesOneJsonLinePerEvent() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entityManager.clear();
+        statistics.clear();
+        calendarService.exportEvents(out);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(EVENT_COUNT);
+        EventDTO first = objectMapper.readValue(lines[0], EventDTO.class);
+        assertThat(first.getTitle()).isEqualTo("event0");
+        assertThat(first.getSpecialViewerIds()).containsExactly(viewer.getId());
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+    }
+
+    /**
+     * 測試批次建立以批次語句寫入，語句數量不隨事件數量增加，且單筆錯誤不影響其他事件
+     */
+    @Test
+    void bulkCreateBatchesInsertsAndReportsPerItem() {
+        Employee creator = entityManager.find(Employee.class,
+                calendarService.getAllEvents().get(0).getCreatorId());
+        List<EventDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            EventDTO request = new EventDTO();
+            request.setTitle("bulk" + i);
+            request.setStartTime(START.plusDays(i % 28).plusHours(14));
+            request.setEndTime(START.plusDays(i % 28).plusHours(15));
+            request.setSecurityLevel(SecurityLevel.LEVEL_2);
+            request.setSpecialViewerIds(Set.of(viewer.getId(), -1L));
+            requests.add(request);
+        }
+        requests.get(5).setTitle(" ");
+        entityManager.clear();
+        statistics.clear();
+
+        List<BulkEventResultDTO> results = calendarService.createEvents(requests, creator.getId());
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(39 * 2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(results).extracting(BulkEventResultDTO::getIndex)
+                           .containsExactly(IntStream.range(0, 40).boxed().toArray(Integer[]::new));
+        assertThat(results.get(5).isSuccess()).isFalse();
+        assertThat(results).filteredOn(BulkEventResultDTO::isSuccess).hasSize(39)
+                           .allSatisfy(result -> assertThat(result.getEvent().getSpecialViewerIds())
+                                   .containsExactly(viewer.getId()));
+    }
+
+    /**
+     * 測試權限同步以差異計算並批次寫入，語句數量不隨查看者數量增加
+     */
+    @Test
+    void replaceViewPermissionsAppliesDiffInFixedNumberOfStatements() {
+        List<Long> employeeIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            employeeIds.add(entityManager.persist(new Employee("extra" + i, "x", "Extra " + i,
+                    "extra" + i + "@example.com", "IT", SecurityLevel.LEVEL_4)).getId());
+        }
+        entityManager.flush();
+        Long eventId = calendarService.getAllEvents().get(0).getId();
+        Set<Long> desired = new HashSet<>(employeeIds);
+        desired.add(-1L);
+
+        entityManager.clear();
+        statistics.clear();
+        Set<Long> granted = calendarService.replaceViewPermissions(eventId, desired);
+        entityManager.flush();
+        assertThat(granted).containsExactlyInAnyOrderElementsOf(employeeIds);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(40);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+
+        Set<Long> kept = Set.of(employeeIds.get(0), employeeIds.get(1));
+        entityManager.clear();
+        statistics.clear();
+        assertThat(calendarService.replaceViewPermissions(eventId, kept)).containsExactlyInAnyOrderElementsOf(kept);
+        entityManager.flush();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(5);
+
+        entityManager.clear();
+        Event event = entityManager.find(Event.class, eventId);
+        assertThat(event.getViewPermissions()).extracting(permission -> permission.getEmployee().getId())
+                                              .containsExactlyInAnyOrderElementsOf(kept);
+        assertThat(event.getSpecialViewerIds()).isEqualTo(kept);
+        assertThat(calendarService.replaceViewPermissions(-1L, kept)).isNull();
+    }
+
+    /**
+     * 測試以版本為條件的更新：版本相符時只需一次查詢與一次條件式更新，版本不符時拒絕且不寫入
+     */
+    @Test
+    void updateEventChecksVersionAndWritesConditionally() {
+        EventDTO original = calendarService.getAllEvents().get(0);
+        EventDTO changes = calendarService.getEventById(original.getId());
+        changes.setTitle("renamed");
+        changes.setSpecialViewerIds(null);
+
+        EventDTO updated = countStatements(2, () -> calendarService.updateEvent(original.getId(), changes,
+                                                                                 original.getVersion()));
+        assertThat(updated.getTitle()).isEqualTo("renamed");
+        assertThat(updated.getVersion()).isEqualTo(original.getVersion() + 1);
+
+        changes.setTitle("stale");
+        entityManager.clear();
+        assertThatThrownBy(() -> calendarService.updateEvent(original.getId(), changes, original.getVersion()))
+                .isInstanceOf(PreconditionFailedException.class)
+                .extracting(e -> ((PreconditionFailedException) e).getCurrentVersion())
+                .isEqualTo(updated.getVersion());
+        entityManager.clear();
+        assertThat(calendarService.getEventById(original.getId()).getTitle()).isEqualTo("renamed");
+    }
+
+    /**
+     * 測試重複事件只展開查詢區間內的發生，單次修改與取消會取代原本的發生，刪除時一併刪除單次例外
+     */
+    @Test
+    void recurringEventsExpandInsideWindowWithOverrides() {
+        LocalDateTime standup = START.plusDays(2).plusHours(8);
+        EventDTO request = new EventDTO();
+        request.setTitle("standup");
+        request.setStartTime(standup);
+        request.setEndTime(standup.plusMinutes(15));
+        request.setSecurityLevel(SecurityLevel.LEVEL_4);
+        request.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+        EventDTO series = calendarService.createEvent(request, viewer.getId());
+        entityManager.flush();
+
+        // 三月 3 日（星期一）起每週一、三、五各一次，共 13 次
+        List<EventDTO> march = countStatements(5, () ->
+                calendarService.getVisibleEventsForEmployee(viewer.getId(), START, END));
+        assertThat(march).hasSize(20 + 13).isSortedAccordingTo(Comparator.comparing(EventDTO::getStartTime));
+        assertThat(march).filteredOn(event -> series.getId().equals(event.getSeriesId()))
+                         .hasSize(13)
+                         .allMatch(event -> event.getId().equals(series.getId())
+                                            && event.getStartTime().equals(event.getOriginalStartTime()));
+        assertThat(calendarService.getVisibleEventsForEmployeeInMonth(viewer.getId(), MONTH.plusMonths(1)))
+                .hasSize(13)
+                .allMatch(event -> event.getStartTime().getMonth() == MONTH.plusMonths(1).getMonth());
+
+        LocalDateTime farFuture = LocalDateTime.of(2035, 6, 4, 0, 0);
+        assertThat(calendarService.getVisibleEventsForEmployee(viewer.getId(), farFuture, farFuture.plusWeeks(1)))
+                .extracting(EventDTO::getStartTime)
+                .containsExactly(farFuture.plusHours(8), farFuture.plusDays(2).plusHours(8),
+                                 farFuture.plusDays(4).plusHours(8));
+
+        // 3 月 3 日改到 10 點，3 月 5 日取消
+        EventDTO moved = new EventDTO();
+        moved.setStartTime(standup.plusHours(2));
+        moved.setEndTime(standup.plusHours(2).plusMinutes(30));
+        EventDTO override = calendarService.overrideOccurrence(series.getId(), standup, moved);
+        calendarService.cancelOccurrence(series.getId(), standup.plusDays(2));
+        entityManager.flush();
+        assertThat(override.getTitle()).isEqualTo("standup");
+        assertThat(override.getSeriesId()).isEqualTo(series.getId());
+
+        List<EventDTO> afterChanges = calendarService.getVisibleEventsForEmployee(viewer.getId(), START, END);
+        assertThat(afterChanges).hasSize(20 + 12);
+        assertThat(afterChanges).filteredOn(event -> event.getStartTime().toLocalDate().equals(standup.toLocalDate())
+                                                     && "standup".equals(event.getTitle()))
+                                .singleElement()
+                                .satisfies(event -> {
+                                    assertThat(event.getId()).isEqualTo(override.getId());
+                                    assertThat(event.getStartTime()).isEqualTo(standup.plusHours(2));
+                                    assertThat(event.getOriginalStartTime()).isEqualTo(standup);
+                                });
+        assertThatThrownBy(() -> calendarService.cancelOccurrence(series.getId(), standup.plusDays(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calendarService.cancelOccurrence(series.getId(), standup.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(calendarService.deleteEvent(series.getId())).isTrue();
+        entityManager.flush();
+        assertThat(calendarService.getVisibleEventsForEmployee(viewer.getId(), START, END)).hasSize(20);
+        assertThat(calendarService.getEventById(override.getId())).isNull();
+    }
+
+    /**
+     * 測試重複事件改時間後，已取消與已修改的發生隨之平移，不會重新出現；規則不再包含它們時拒絕變更
+     */
+    @Test
+    void movingSeriesShiftsExceptionsAndOverrides() {
+        LocalDateTime monday = START.plusDays(2).plusHours(9);
+        EventDTO request = new EventDTO();
+        request.setTitle("standup");
+        request.setStartTime(monday);
+        request.setEndTime(monday.plusMinutes(15));
+        request.setSecurityLevel(SecurityLevel.LEVEL_4);
+        request.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+        EventDTO series = calendarService.createEvent(request, viewer.getId());
+        EventDTO moved = new EventDTO();
+        moved.setTitle("moved standup");
+        moved.setStartTime(monday.plusHours(2));
+        moved.setEndTime(monday.plusHours(2).plusMinutes(15));
+        EventDTO override = calendarService.overrideOccurrence(series.getId(), monday, moved);
+        calendarService.cancelOccurrence(series.getId(), monday.plusDays(2));
+        entityManager.flush();
+
+        // 如同前端送回完整的事件，例外日期仍是 09:00 的時間
+        EventDTO update = calendarService.getEventById(series.getId());
+        update.setStartTime(monday.plusHours(1));
+        update.setEndTime(monday.plusHours(1).plusMinutes(15));
+        EventDTO updated = calendarService.updateEvent(series.getId(), update);
+        entityManager.flush();
+        assertThat(updated.getRecurrenceExceptions()).containsExactly(monday.plusHours(1),
+                                                                     monday.plusDays(2).plusHours(1));
+        assertThat(calendarService.getEventById(override.getId()).getOriginalStartTime())
+                .isEqualTo(monday.plusHours(1));
+
+        List<EventDTO> week = calendarService.getVisibleEventsForEmployee(viewer.getId(), monday.minusHours(9),
+                                                                          monday.plusDays(7).minusHours(9));
+        assertThat(week).filteredOn(event -> event.getTitle().endsWith("standup"))
+                        .extracting(EventDTO::getTitle, EventDTO::getStartTime)
+                        .containsExactly(tuple("moved standup", monday.plusHours(2)),
+                                         tuple("standup", monday.plusDays(4).plusHours(1)));
+
+        // 星期三已取消的發生不在新規則中
+        EventDTO narrowed = calendarService.getEventById(series.getId());
+        narrowed.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,FR");
+        assertThatThrownBy(() -> calendarService.updateEvent(series.getId(), narrowed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(monday.plusDays(2).plusHours(1).toString());
+        EventDTO single = calendarService.getEventById(series.getId());
+        single.setRecurrenceRule("");
+        assertThatThrownBy(() -> calendarService.updateEvent(series.getId(), single))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 測試無效的重複規則與不符合規則的開始時間會被拒絕
+     */
+    @Test
+    void invalidRecurrenceIsRejected() {
+        EventDTO request = new EventDTO();
+        request.setTitle("standup");
+        request.setStartTime(START.plusDays(1).plusHours(8));
+        request.setEndTime(START.plusDays(1).plusHours(9));
+        request.setSecurityLevel(SecurityLevel.LEVEL_4);
+
+        request.setRecurrenceRule("FREQ=YEARLY");
+        assertThatThrownBy(() -> calendarService.createEvent(request, viewer.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        request.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+        assertThatThrownBy(() -> calendarService.createEvent(request, viewer.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(calendarService.createEvents(List.of(request), viewer.getId()))
+                .singleElement()
+                .satisfies(result -> assertThat(result.getError()).contains("BYDAY"));
+    }
+
+    /**
+     * 測試補齊月份鍵分批載入事件並一併取得月份鍵集合，語句數量不隨事件數增加
+     */
+    @Test
+    void backfillMonthKeysRestoresKeysInBatches() {
+        entityManager.getEntityManager().createNativeQuery("DELETE FROM event_month_spans").executeUpdate();
+        entityManager.clear();
+        statistics.clear();
+
+        calendarServiceImpl.backfillMonthKeys();
+        entityManager.flush();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(8);
+
+        assertThat(entityManager.getEntityManager()
+                                .createNativeQuery("SELECT COUNT(*) FROM event_month_spans")
+                                .getSingleResult()).isEqualTo((long) EVENT_COUNT);
+    }
+
+    /**
+     * 測試補齊特殊查看者點陣圖分批以一次查詢取得權限，不逐一載入各事件的權限集合
+     */
+    @Test
+    void backfillSpecialViewersRebuildsBitmapsFromGrants() {
+        entityManager.getEntityManager().createNativeQuery("UPDATE events SET special_viewer_bitmap = NULL")
+                     .executeUpdate();
+        entityManager.clear();
+        statistics.clear();
+
+        calendarServiceImpl.backfillSpecialViewers();
+        entityManager.flush();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(8);
+
+        entityManager.clear();
+        List<Event> events = entityManager.getEntityManager()
+                                          .createQuery("SELECT e FROM Event e", Event.class)
+                                          .getResultList();
+        assertThat(events).hasSize(EVENT_COUNT);
+        for (Event event : events) {
+            boolean granted = Integer.parseInt(event.getTitle().substring("event".length())) % 3 == 0;
+            assertThat(event.getSpecialViewerIds()).isEqualTo(granted ? Set.of(viewer.getId()) : Set.of());
+        }
+    }
+
+    private <T> T countStatements(long expected, Supplier<T> action) {
+        entityManager.clear();
+        statistics.clear();
+        T result = action.get();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
+import com.company.calendar.repository.EventRepository;
+import com.company.calendar.repository.EventViewPermissionRepository;
+import com.company.calendar.repository.projection.EventTimeSlot;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 事件時間索引測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class EventIntervalIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+
+    private final EventViewPermissionRepository eventViewPermissionRepository =
+            mock(EventViewPermissionRepository.class);
+
+    private final EventIntervalIndex index =
+            new EventIntervalIndex(eventRepository, eventViewPermissionRepository, true);
+
+    /**
+     * 測試讀取資料庫之後、換上新索引之前提交的寫入不會被載入的舊資料覆蓋
+     */
+    @Test
+    void writesCommittedDuringLoadSurviveTheSwap() {
+        Employee creator = new Employee("creator", "x", "Creator", "creator@example.com", "IT",
+                                        SecurityLevel.LEVEL_1);
+        creator.setId(1L);
+        Event removed = event(10L, creator);
+        Event added = event(11L, creator);
+        EventTimeSlot removedSlot = slot(removed);
+
+        // 讀到的資料仍含有事件10；讀取完成時其他交易刪除事件10、新增事件11並授權員工2查看
+        when(eventRepository.findAllTimeSlots()).thenAnswer(invocation -> {
+            index.remove(removed.getId());
+            index.put(added);
+            index.grant(added.getId(), 2L);
+            return List.of(removedSlot);
+        });
+        when(eventViewPermissionRepository.findAllGrants()).thenReturn(Collections.emptyList());
+
+        index.load();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.findIdsStartingBetween(START, START.plusDays(1))).containsExactly(added.getId());
+        assertThat(index.findVisibleIds(2L, SecurityLevel.LEVEL_4, START, START.plusDays(1)))
+                .containsExactly(added.getId());
+    }
+
+    private static Event event(Long id, Employee creator) {
+        Event event = new Event("event" + id, null, START, START.plusHours(1), null, creator,
+                                SecurityLevel.LEVEL_1);
+        event.setId(id);
+        return event;
+    }
+
+    private static EventTimeSlot slot(Event event) {
+        EventTimeSlot slot = mock(EventTimeSlot.class);
+        when(slot.getId()).thenReturn(event.getId());
+        when(slot.getStartTime()).thenReturn(event.getStartTime());
+        when(slot.getEndTime()).thenReturn(event.getEndTime());
+        when(slot.getSecurityLevel()).thenReturn(event.getSecurityLevel());
+        when(slot.getCreatorId()).thenReturn(event.getCreator().getId());
+        return slot;
+    }
+}
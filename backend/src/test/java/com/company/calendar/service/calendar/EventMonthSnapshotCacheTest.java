@@ -0,0 +1,87 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.EventDTO;
+import com.company.calendar.enums.SecurityLevel;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 月份事件快照快取測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class EventMonthSnapshotCacheTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+    private static final YearMonth APRIL = YearMonth.of(2025, 4);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> notified = new ArrayList<>();
+
+    private final Supplier<List<EventDTO>> loader = () -> {
+        loads.incrementAndGet();
+        return new ArrayList<>();
+    };
+
+    /**
+     * 測試過期的快照會重新載入，讓其他節點的寫入在存活時間後反映出來
+     */
+    @Test
+    void expiredSnapshotsAreReloaded() {
+        EventMonthSnapshotCache expiring = newCache(0);
+        expiring.get(SecurityLevel.LEVEL_2, MARCH, loader);
+        expiring.get(SecurityLevel.LEVEL_2, MARCH, loader);
+        assertThat(loads).hasValue(2);
+
+        EventMonthSnapshotCache cache = newCache(300);
+        cache.get(SecurityLevel.LEVEL_2, MARCH, loader);
+        cache.get(SecurityLevel.LEVEL_2, MARCH, loader);
+        assertThat(loads).hasValue(3);
+    }
+
+    /**
+     * 測試失效只移除相交的月份並通知掛鉤，收到其他節點通知時的移除不再轉送
+     */
+    @Test
+    void invalidationNotifiesHooks() {
+        EventMonthSnapshotCache cache = newCache(300);
+        cache.get(SecurityLevel.LEVEL_2, MARCH, loader);
+        cache.get(SecurityLevel.LEVEL_2, APRIL, loader);
+
+        cache.invalidate(LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 10, 0));
+        assertThat(notified).containsExactly("2025-03..2025-03");
+        cache.get(SecurityLevel.LEVEL_2, MARCH, loader);
+        cache.get(SecurityLevel.LEVEL_2, APRIL, loader);
+        assertThat(loads).hasValue(3);
+
+        cache.invalidateAll();
+        assertThat(notified).containsExactly("2025-03..2025-03", "null..null");
+
+        cache.get(SecurityLevel.LEVEL_2, APRIL, loader);
+        cache.evict(APRIL, APRIL);
+        cache.evictAll();
+        cache.get(SecurityLevel.LEVEL_2, APRIL, loader);
+        assertThat(loads).hasValue(5);
+        assertThat(notified).hasSize(2);
+    }
+
+    private EventMonthSnapshotCache newCache(long ttlSeconds) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("hook", (EventMonthSnapshotInvalidationHook)
+                (first, last) -> notified.add(first + ".." + last));
+        return new EventMonthSnapshotCache(10, ttlSeconds,
+                                           beanFactory.getBeanProvider(EventMonthSnapshotInvalidationHook.class));
+    }
+}
@@ -0,0 +1,170 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.EventDTO;
+import com.company.calendar.dto.EventPageDTO;
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 事件全文搜索索引測試
+ * <p>
+ * 每個測試先從測試交易中的資料重建索引，驗證搜索與分頁搜索由索引比對並套用可見性，每次只需一次查詢取回事件。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.calendar.search-index.enabled=true"
+})
+@AutoConfigureJson
+@Import({CalendarServiceImpl.class, EventIntervalIndex.class, EventSearchIndex.class, EventMonthSnapshotCache.class,
+         CalendarChangeStamps.class})
+class EventSearchIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 9, 0);
+    private static final int EVENT_COUNT = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    private Employee creator;
+    private Employee outsider;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        creator = entityManager.persist(new Employee("creator", "x", "Creator", "creator@example.com",
+                                                     "IT", SecurityLevel.LEVEL_1));
+        outsider = entityManager.persist(new Employee("outsider", "x", "Outsider", "outsider@example.com",
+                                                      "Sales", SecurityLevel.LEVEL_4));
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            LocalDateTime start = START.plusDays(i % 28);
+            Event event = entityManager.persist(new Event("event" + i, i % 2 == 0 ? "專案會議" : "meeting", start,
+                    start.plusHours(1), i % 5 == 0 ? "大會議室" : null, creator,
+                    i % 3 == 0 ? SecurityLevel.LEVEL_4 : SecurityLevel.LEVEL_1));
+            if (i == 1) {
+                event.addViewPermission(outsider);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        eventSearchIndex.load();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 測試搜索依相關度排序，地點命中排在只有描述命中之前，不分大小寫並以前綴比對拉丁單字
+     */
+    @Test
+    void searchRanksIndexHitsWithSingleQuery() {
+        List<EventDTO> hits = countStatements(1, () -> search("會議", creator));
+        assertThat(hits).hasSize(18);
+        assertThat(hits.subList(0, 6)).allMatch(event -> "大會議室".equals(event.getLocation()));
+
+        assertThat(countStatements(1, () -> search("EVENT1", creator)))
+                .extracting(EventDTO::getTitle)
+                .containsExactlyInAnyOrder("event1", "event10", "event11", "event12", "event13", "event14",
+                                           "event15", "event16", "event17", "event18", "event19");
+    }
+
+    /**
+     * 測試分頁搜索依 (開始時間, ID) 逐頁讀完所有命中，每頁只需一次查詢
+     */
+    @Test
+    void searchPagesWalkAllHitsInOrder() {
+        List<EventDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            EventPageDTO page = countStatements(1, () -> calendarService.searchEventsPage(
+                    "meet", current, 4, creator.getId(), creator.getSecurityLevel()));
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(EVENT_COUNT / 2)
+                        .isSortedAccordingTo(Comparator.comparing(EventDTO::getStartTime)
+                                                       .thenComparing(EventDTO::getId));
+    }
+
+    /**
+     * 測試只返回依安全等級或特殊權限可見的事件，分頁只在可見命中中進行，不取回看不到的事件
+     */
+    @Test
+    void searchReturnsOnlyVisibleEvents() {
+        // 每三筆一筆為 LEVEL_4，另有 event1 特別授權
+        assertThat(countStatements(1, () -> search("會議", outsider)))
+                .extracting(EventDTO::getTitle)
+                .containsExactlyInAnyOrder("event0", "event6", "event12", "event15", "event18", "event24");
+
+        List<EventDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            EventPageDTO page = countStatements(1, () -> calendarService.searchEventsPage(
+                    "meet", current, 2, outsider.getId(), outsider.getSecurityLevel()));
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(EventDTO::getTitle)
+                        .containsExactly("event1", "event3", "event9", "event15", "event21", "event27");
+    }
+
+    /**
+     * 測試沒有可查詢詞的關鍵字改用資料庫查詢，同樣套用可見性
+     */
+    @Test
+    void keywordsWithoutTermsFallBackToDatabase() {
+        assertThat(eventSearchIndex.canSearch("%")).isFalse();
+        assertThat(search("%", creator)).hasSize(EVENT_COUNT);
+        assertThat(search("%", outsider)).hasSize(EVENT_COUNT / 3 + 1);
+    }
+
+    private List<EventDTO> search(String keyword, Employee employee) {
+        return calendarService.searchEvents(keyword, employee.getId(), employee.getSecurityLevel());
+    }
+
+    private <T> T countStatements(long expected, Supplier<T> action) {
+        entityManager.clear();
+        statistics.clear();
+        T result = action.get();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.service.calendar.EventSearchSegment.Document;
+import com.company.calendar.util.SearchTokenizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 事件全文搜索索引資料測試
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class EventSearchSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    private EventSearchSegment segment;
+
+    @BeforeEach
+    void setUp() {
+        segment = new EventSearchSegment();
+        segment.add(new Document(1L, START, 10L, SecurityLevel.LEVEL_4, Set.of(),
+                                 "部門週會", "三樓會議室", "討論本週進度"));
+        segment.add(new Document(2L, START.plusDays(1), 10L, SecurityLevel.LEVEL_2, Set.of(30L),
+                                 "季度預算審查", "會議室A", "財務部門報告"));
+        segment.add(new Document(3L, START.plusDays(2), 20L, SecurityLevel.LEVEL_3, Set.of(),
+                                 "Weekly Meeting", "Room 301", "Sprint planning"));
+        segment.add(new Document(4L, START.plusDays(3), 20L, SecurityLevel.LEVEL_1, Set.of(30L),
+                                 "客戶拜訪", null, "準備會議資料與週報"));
+    }
+
+    /**
+     * 測試中文以二字組比對任意位置的子字串，單一字也能查詢
+     */
+    @Test
+    void cjkSubstringsMatchAnywhereInText() {
+        assertThat(search("週會")).containsExactly(1L);
+        assertThat(search("預算")).containsExactly(2L);
+        assertThat(search("會議室")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(search("週")).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(search("年會")).isEmpty();
+    }
+
+    /**
+     * 測試拉丁文字不分大小寫並以前綴比對，全形字元正規化後可比對
+     */
+    @Test
+    void latinWordsMatchByPrefixIgnoringCase() {
+        assertThat(search("meet")).containsExactly(3L);
+        assertThat(search("ＷＥＥＫＬＹ")).containsExactly(3L);
+        assertThat(search("sprint meeting")).containsExactly(3L);
+        assertThat(search("sprint budget")).isEmpty();
+        assertThat(SearchTokenizer.queryTerms(" !? ")).isEmpty();
+    }
+
+    /**
+     * 測試標題命中的事件排在只有描述命中的事件之前
+     */
+    @Test
+    void titleHitsRankAboveDescriptionHits() {
+        assertThat(search("部門")).containsExactly(1L, 2L);
+        assertThat(search("會議")).containsExactly(1L, 2L, 4L);
+    }
+
+    /**
+     * 測試更新事件後舊內容不再命中，移除創建者後其事件全部失效並計入失效文件
+     */
+    @Test
+    void updatesAndRemovalsRetireOldDocuments() {
+        segment.add(new Document(1L, START, 10L, SecurityLevel.LEVEL_4, Set.of(), "部門月會", "三樓會議室", null));
+        assertThat(search("週會")).isEmpty();
+        assertThat(search("月會")).containsExactly(1L);
+
+        segment.removeEmployee(20L);
+        assertThat(search("meeting")).isEmpty();
+        assertThat(segment.liveCount()).isEqualTo(2);
+        assertThat(segment.deadCount()).isEqualTo(3);
+    }
+
+    /**
+     * 測試游標分頁依開始時間與ID排序並只返回游標之後的結果
+     */
+    @Test
+    void pagesFollowStartTimeCursor() {
+        assertThat(page("會議", 0L, SecurityLevel.LEVEL_1, null, null, 2)).containsExactly(1L, 2L);
+        assertThat(page("會議", 0L, SecurityLevel.LEVEL_1, START.plusDays(1), 2L, 2)).containsExactly(4L);
+    }
+
+    /**
+     * 測試只有可存取等級、自己創建或被特別授權的文件會命中，授權變更後立即反映
+     */
+    @Test
+    void onlyVisibleDocumentsMatch() {
+        assertThat(search("會議", 30L, SecurityLevel.LEVEL_4)).containsExactly(1L, 2L, 4L);
+        assertThat(search("會議", 40L, SecurityLevel.LEVEL_4)).containsExactly(1L);
+        assertThat(search("會議", 40L, SecurityLevel.LEVEL_2)).containsExactly(1L, 2L);
+        assertThat(search("會議", 20L, SecurityLevel.LEVEL_4)).containsExactly(1L, 4L);
+
+        segment.revoke(4L, 30L);
+        segment.grant(3L, 40L);
+        assertThat(search("會議", 30L, SecurityLevel.LEVEL_4)).containsExactly(1L, 2L);
+        assertThat(search("meeting", 40L, SecurityLevel.LEVEL_4)).containsExactly(3L);
+
+        segment.removeEmployee(30L);
+        assertThat(search("會議", 30L, SecurityLevel.LEVEL_4)).containsExactly(1L);
+    }
+
+    /**
+     * 測試分頁只在可見文件中取前幾筆，不可見的文件不佔用頁面名額
+     */
+    @Test
+    void pagesSkipInvisibleDocuments() {
+        assertThat(page("會議", 20L, SecurityLevel.LEVEL_4, null, null, 1)).containsExactly(1L);
+        assertThat(page("會議", 20L, SecurityLevel.LEVEL_4, START, 1L, 1)).containsExactly(4L);
+        assertThat(page("會議", 20L, SecurityLevel.LEVEL_4, START.plusDays(3), 4L, 1)).isEmpty();
+    }
+
+    private List<Long> search(String keyword) {
+        return search(keyword, 0L, SecurityLevel.LEVEL_1);
+    }
+
+    private List<Long> search(String keyword, long employeeId, SecurityLevel level) {
+        return segment.search(SearchTokenizer.queryTerms(keyword), employeeId, level);
+    }
+
+    private List<Long> page(String keyword, long employeeId, SecurityLevel level, LocalDateTime afterStart,
+                            Long afterId, int limit) {
+        return segment.searchAfter(SearchTokenizer.queryTerms(keyword), employeeId, level, afterStart, afterId,
+                                   limit);
+    }
+}
@@ -0,0 +1,292 @@
+package com.company.calendar.service.calendar;
+
+import com.company.calendar.dto.FreeBusyDTO;
+import com.company.calendar.dto.FreeSlotDTO;
+import com.company.calendar.dto.FreeSlotRequestDTO;
+import com.company.calendar.dto.TimeRangeDTO;
+import com.company.calendar.enums.SecurityLevel;
+import com.company.calendar.model.Employee;
+import com.company.calendar.model.Event;
+import com.company.calendar.util.RecurrenceRule;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 忙碌時段服務實現類測試
+ * <p>
+ * 驗證創建與被特別授權的事件合併為忙碌時段、重複事件只展開區間內的發生，
+ * 以及不論員工數量都只需一次事件查詢；共同空檔同時考慮必要參與者、地點、工作時間與時區。
+ * </p>
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import(FreeBusyServiceImpl.class)
+class FreeBusyServiceImplTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FreeBusyService freeBusyService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 測試重疊與相接的事件合併、被特別授權的事件計入忙碌、超出區間的部分被截掉
+     */
+    @Test
+    void mergesCreatedAndPermittedEventsPerEmployee() {
+        Employee alice = employee("alice", SecurityLevel.LEVEL_4);
+        Employee bob = employee("bob", SecurityLevel.LEVEL_4);
+        Employee carol = employee("carol", SecurityLevel.LEVEL_1);
+
+        event(alice, MONDAY.plusHours(9), MONDAY.plusHours(10));
+        event(alice, MONDAY.plusHours(9).plusMinutes(30), MONDAY.plusHours(11));
+        event(alice, MONDAY.plusHours(11), MONDAY.plusHours(12));
+        event(alice, MONDAY.minusHours(2), MONDAY.plusHours(1));
+        event(alice, MONDAY.plusDays(8), MONDAY.plusDays(8).plusHours(1));
+        // 機密會議：bob 看不到內容，但被邀請時仍算忙碌
+        event(carol, MONDAY.plusHours(14), MONDAY.plusHours(15), bob, alice);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        List<FreeBusyDTO> freeBusy = freeBusyService.getFreeBusy(
+                List.of(bob.getId(), alice.getId(), bob.getId()), MONDAY, MONDAY.plusDays(7));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(freeBusy).extracting(FreeBusyDTO::getEmployeeId).containsExactly(bob.getId(), alice.getId());
+        assertThat(ranges(freeBusy.get(0))).containsExactly(
+                MONDAY.plusHours(14), MONDAY.plusHours(15));
+        assertThat(ranges(freeBusy.get(1))).containsExactly(
+                MONDAY, MONDAY.plusHours(1),
+                MONDAY.plusHours(9), MONDAY.plusHours(12),
+                MONDAY.plusHours(14), MONDAY.plusHours(15));
+    }
+
+    /**
+     * 測試重複事件只展開區間內的發生，已取消的發生不算忙碌
+     */
+    @Test
+    void expandsRecurringEventsInsideWindow() {
+        Employee alice = employee("alice", SecurityLevel.LEVEL_4);
+        Event standup = new Event("standup", null, MONDAY.minusWeeks(4).plusHours(8),
+                                  MONDAY.minusWeeks(4).plusHours(8).plusMinutes(30), null, alice, SecurityLevel.LEVEL_4);
+        standup.setRecurrence(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR"),
+                              List.of(MONDAY.plusDays(2).plusHours(8)));
+        entityManager.persist(standup);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<FreeBusyDTO> freeBusy = freeBusyService.getFreeBusy(List.of(alice.getId()),
+                                                                 MONDAY, MONDAY.plusDays(7));
+        assertThat(ranges(freeBusy.get(0))).containsExactly(
+                MONDAY.plusHours(8), MONDAY.plusHours(8).plusMinutes(30),
+                MONDAY.plusDays(4).plusHours(8), MONDAY.plusDays(4).plusHours(8).plusMinutes(30));
+    }
+
+    /**
+     * 測試員工不存在、區間無效或過長時拒絕查詢
+     */
+    @Test
+    void rejectsInvalidRequests() {
+        Employee alice = employee("alice", SecurityLevel.LEVEL_4);
+        List<Long> ids = List.of(alice.getId());
+
+        assertThatThrownBy(() -> freeBusyService.getFreeBusy(List.of(alice.getId(), -1L), MONDAY, MONDAY.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("-1");
+        assertThatThrownBy(() -> freeBusyService.getFreeBusy(List.of(), MONDAY, MONDAY.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> freeBusyService.getFreeBusy(ids, MONDAY, MONDAY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> freeBusyService.getFreeBusy(ids, MONDAY, MONDAY.plusYears(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 測試 200 位員工一週的忙碌時段只需一次事件查詢，並輸出耗時供比較
+     */
+    @Test
+    void twoHundredAttendeesForOneWeekUseOneEventQuery() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(employee("employee" + i, SecurityLevel.LEVEL_4));
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            for (int day = 0; day < 5; day++) {
+                for (int slot = 0; slot < 3; slot++) {
+                    LocalDateTime start = MONDAY.plusDays(day).plusHours(9 + slot * 2 + i % 2);
+                    event(employees.get(i), start, start.plusMinutes(90), employees.get((i + 1) % employees.size()));
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> ids = employees.stream().map(Employee::getId).toList();
+
+        for (int i = 0; i < 10; i++) {
+            freeBusyService.getFreeBusy(ids, MONDAY, MONDAY.plusDays(7));
+            entityManager.clear();
+        }
+        statistics.clear();
+        long begin = System.nanoTime();
+        List<FreeBusyDTO> freeBusy = freeBusyService.getFreeBusy(ids, MONDAY, MONDAY.plusDays(7));
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+        System.out.printf("[freebusy] 200 employees x 1 week: %dms%n", elapsedMillis);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(freeBusy).hasSize(200);
+        // 自己的事件與前一位員工邀請的事件錯開一小時，每天合併為一段
+        assertThat(freeBusy).allMatch(employee -> employee.getBusy().size() == 5);
+    }
+
+    /**
+     * 測試必要參與者與地點都有空的最早時段，選擇性參與者結束忙碌後回傳評分較高的時段
+     */
+    @Test
+    void findsEarliestSlotsForRequiredAttendeesAndLocation() {
+        Employee alice = employee("alice", SecurityLevel.LEVEL_4);
+        Employee bob = employee("bob", SecurityLevel.LEVEL_4);
+        Employee carol = employee("carol", SecurityLevel.LEVEL_4);
+        Employee dave = employee("dave", SecurityLevel.LEVEL_4);
+
+        event(alice, MONDAY.plusHours(9), MONDAY.plusHours(10).plusMinutes(30));
+        event(bob, MONDAY.plusHours(10), MONDAY.plusHours(11));
+        event(carol, MONDAY.plusHours(11), MONDAY.plusHours(12));
+        entityManager.persist(new Event("booked", null, MONDAY.plusHours(11), MONDAY.plusHours(11).plusMinutes(30),
+                                        "Room A", dave, SecurityLevel.LEVEL_1));
+        entityManager.flush();
+        entityManager.clear();
+
+        FreeSlotRequestDTO request = slotRequest(List.of(alice.getId(), bob.getId()), MONDAY, MONDAY.plusDays(7));
+        request.setOptionalEmployeeIds(List.of(carol.getId(), alice.getId()));
+        request.setLocation(" Room A ");
+        request.setMaxResults(3);
+
+        statistics.clear();
+        List<FreeSlotDTO> slots = freeBusyService.findFreeSlots(request);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        assertThat(slots).extracting(FreeSlotDTO::getStart).containsExactly(
+                MONDAY.plusHours(11).plusMinutes(30), MONDAY.plusHours(12), MONDAY.plusDays(1).plusHours(9));
+        assertThat(slots.get(0).getEnd()).isEqualTo(MONDAY.plusHours(12).plusMinutes(30));
+        assertThat(slots).extracting(FreeSlotDTO::getScore).containsExactly(0, 1, 1);
+        assertThat(slots.get(1).getAvailableOptionalIds()).containsExactly(carol.getId());
+    }
+
+    /**
+     * 測試工作時間以請求的時區換算，且預設略過週末
+     */
+    @Test
+    void convertsWorkingHoursFromRequestTimeZone() {
+        Employee alice = employee("alice", SecurityLevel.LEVEL_4);
+        LocalDateTime friday = MONDAY.plusDays(4);
+        // 東京 09:00-18:00 即台北 08:00-17:00
+        event(alice, friday.plusHours(8), friday.plusHours(16).plusMinutes(30));
+        entityManager.flush();
+        entityManager.clear();
+
+        FreeSlotRequestDTO request = slotRequest(List.of(alice.getId()), friday, friday.plusDays(7));
+        request.setTimeZone("Asia/Tokyo");
+        request.setMaxResults(1);
+        assertThat(freeBusyService.findFreeSlots(request)).extracting(FreeSlotDTO::getStart)
+                                                          .containsExactly(friday.plusDays(3).plusHours(8));
+
+        request.setIncludeWeekends(true);
+        assertThat(freeBusyService.findFreeSlots(request)).extracting(FreeSlotDTO::getStart)
+                                                          .containsExactly(friday.plusDays(1).plusHours(8));
+    }
+
+    /**
+     * 測試沒有必要參與者、時段長度、回傳數、工作時間或時區無效時拒絕查詢
+     */
+    @Test
+    void rejectsInvalidSlotRequests() {
+        Employee alice = employee("alice", SecurityLevel.LEVEL_4);
+        List<Long> ids = List.of(alice.getId());
+
+        FreeSlotRequestDTO noRequired = slotRequest(List.of(), MONDAY, MONDAY.plusDays(1));
+        noRequired.setOptionalEmployeeIds(ids);
+        FreeSlotRequestDTO noDuration = slotRequest(ids, MONDAY, MONDAY.plusDays(1));
+        noDuration.setDurationMinutes(0);
+        FreeSlotRequestDTO tooMany = slotRequest(ids, MONDAY, MONDAY.plusDays(1));
+        tooMany.setMaxResults(51);
+        FreeSlotRequestDTO overnight = slotRequest(ids, MONDAY, MONDAY.plusDays(1));
+        overnight.setWorkdayStart(LocalTime.of(22, 0));
+        overnight.setWorkdayEnd(LocalTime.of(6, 0));
+        FreeSlotRequestDTO unknownZone = slotRequest(ids, MONDAY, MONDAY.plusDays(1));
+        unknownZone.setTimeZone("Mars/Olympus");
+        FreeSlotRequestDTO missingEmployee = slotRequest(List.of(alice.getId(), -1L), MONDAY, MONDAY.plusDays(1));
+
+        for (FreeSlotRequestDTO request : List.of(noRequired, noDuration, tooMany, overnight, unknownZone,
+                                                  missingEmployee)) {
+            assertThatThrownBy(() -> freeBusyService.findFreeSlots(request))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static FreeSlotRequestDTO slotRequest(List<Long> requiredIds, LocalDateTime start, LocalDateTime end) {
+        FreeSlotRequestDTO request = new FreeSlotRequestDTO();
+        request.setRequiredEmployeeIds(requiredIds);
+        request.setStart(start);
+        request.setEnd(end);
+        request.setDurationMinutes(60);
+        return request;
+    }
+
+    private Employee employee(String username, SecurityLevel level) {
+        return entityManager.persist(new Employee(username, "x", username, username + "@example.com", "IT", level));
+    }
+
+    private void event(Employee creator, LocalDateTime start, LocalDateTime end, Employee... viewers) {
+        Event event = entityManager.persist(new Event("event", null, start, end, null, creator,
+                                                      SecurityLevel.LEVEL_1));
+        for (Employee viewer : viewers) {
+            event.addViewPermission(viewer);
+        }
+    }
+
+    private static List<LocalDateTime> ranges(FreeBusyDTO freeBusy) {
+        List<LocalDateTime> times = new ArrayList<>();
+        for (TimeRangeDTO range : freeBusy.getBusy()) {
+            times.add(range.getStart());
+            times.add(range.getEnd());
+        }
+        return times;
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.calendar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 忙碌時段集合測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class BusyIntervalsTest {
+
+    /**
+     * 測試重疊、包含與相接的區間合併為一段，長度不為正的區間被忽略
+     */
+    @Test
+    void mergesOverlappingAndTouchingIntervals() {
+        BusyIntervals intervals = new BusyIntervals();
+        intervals.add(50, 60);
+        intervals.add(10, 20);
+        intervals.add(15, 30);
+        intervals.add(30, 35);
+        intervals.add(12, 14);
+        intervals.add(40, 40);
+        intervals.add(45, 41);
+        assertThat(intervals.size()).isEqualTo(5);
+        assertThat(intervals.merge()).containsExactly(10, 35, 50, 60);
+        assertThat(new BusyIntervals().merge()).isEmpty();
+    }
+
+    /**
+     * 測試掃描線合併的結果與逐分鐘標記的結果相同
+     */
+    @Test
+    void matchesMinuteByMinuteUnion() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            BusyIntervals intervals = new BusyIntervals();
+            boolean[] busy = new boolean[500];
+            for (int i = 0; i < random.nextInt(40); i++) {
+                int start = random.nextInt(480);
+                int end = start + 1 + random.nextInt(20);
+                intervals.add(start, end);
+                for (int minute = start; minute < end; minute++) {
+                    busy[minute] = true;
+                }
+            }
+            long[] merged = intervals.merge();
+            boolean[] actual = new boolean[500];
+            for (int i = 0; i < merged.length; i += 2) {
+                assertThat(merged[i]).isLessThan(merged[i + 1]);
+                if (i > 0) {
+                    assertThat(merged[i]).isGreaterThan(merged[i - 1]);
+                }
+                for (long minute = merged[i]; minute < merged[i + 1]; minute++) {
+                    actual[(int) minute] = true;
+                }
+            }
+            assertThat(actual).isEqualTo(busy);
+        }
+    }
+
+    /**
+     * 測試時間與微秒數的轉換保留到微秒
+     */
+    @Test
+    void convertsBetweenTimeAndMicros() {
+        LocalDateTime time = LocalDateTime.of(2025, 3, 3, 9, 30, 15, 123_456_000);
+        assertThat(BusyIntervals.toDateTime(BusyIntervals.toMicros(time))).isEqualTo(time);
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000);
+        assertThat(BusyIntervals.toDateTime(BusyIntervals.toMicros(beforeEpoch))).isEqualTo(beforeEpoch);
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.calendar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 共同空檔搜尋測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class FreeSlotFinderTest {
+
+    private static final long MINUTE = 60_000_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    /**
+     * 測試必要參與者的忙碌合併後找出最早的空檔，選擇性參與者結束忙碌後在同一段空檔內再回傳較晚的時段
+     */
+    @Test
+    void returnsEarliestSlotThenBetterScoredSlots() {
+        long[][] required = {
+            {9 * HOUR, 10 * HOUR},
+            {9 * HOUR + 30 * MINUTE, 11 * HOUR, 15 * HOUR, 16 * HOUR}
+        };
+        long[][] optional = {
+            {11 * HOUR, 12 * HOUR + 20 * MINUTE},
+            {},
+            {8 * HOUR, 18 * HOUR}
+        };
+        long[] windows = {9 * HOUR, 18 * HOUR, DAY + 9 * HOUR, DAY + 18 * HOUR};
+
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(required, optional, windows, HOUR, 15 * MINUTE, 4);
+
+        assertThat(slots).extracting(FreeSlotFinder.Slot::getStart).containsExactly(
+                11 * HOUR, 12 * HOUR + 30 * MINUTE, 16 * HOUR, DAY + 9 * HOUR);
+        assertThat(slots.get(0).getAvailableOptional()).containsExactly(1);
+        assertThat(slots.get(1).getAvailableOptional()).containsExactly(0, 1);
+        assertThat(slots.get(2).getAvailableOptional()).containsExactly(0, 1);
+        assertThat(slots.get(3).getAvailableOptional()).containsExactly(0, 1, 2);
+        assertThat(slots.get(1).getEnd()).isEqualTo(13 * HOUR + 30 * MINUTE);
+    }
+
+    /**
+     * 測試沒有工作時段或時段比工作時間長時找不到空檔
+     */
+    @Test
+    void returnsNothingWhenSlotDoesNotFit() {
+        long[][] none = {};
+        assertThat(FreeSlotFinder.find(none, none, new long[0], HOUR, MINUTE, 5)).isEmpty();
+        assertThat(FreeSlotFinder.find(none, none, new long[] {9 * HOUR, 10 * HOUR}, 2 * HOUR, MINUTE, 5)).isEmpty();
+        assertThat(FreeSlotFinder.find(new long[][] {{0, DAY}}, none, new long[] {9 * HOUR, 18 * HOUR}, HOUR,
+                                       MINUTE, 5)).isEmpty();
+    }
+
+    /**
+     * 測試隨機資料的結果與逐一檢查每個對齊時間的結果相同
+     */
+    @Test
+    void matchesStepByStepScan() {
+        Random random = new Random(25);
+        for (int round = 0; round < 300; round++) {
+            long[][] required = randomBusy(random, 1 + random.nextInt(6));
+            long[][] optional = randomBusy(random, random.nextInt(5));
+            BusyIntervals workday = new BusyIntervals();
+            for (int day = 0; day < 3; day++) {
+                long dayStart = day * DAY + (7 + random.nextInt(4)) * HOUR + random.nextInt(60) * MINUTE;
+                workday.add(dayStart, dayStart + (4 + random.nextInt(8)) * HOUR);
+            }
+            long[] windows = workday.merge();
+            long duration = (5 + random.nextInt(180)) * MINUTE;
+            long step = (1 + random.nextInt(30)) * MINUTE;
+            int limit = 1 + random.nextInt(20);
+
+            assertThat(describe(FreeSlotFinder.find(required, optional, windows, duration, step, limit)))
+                    .as("round %d", round)
+                    .isEqualTo(scan(required, optional, windows, duration, step, limit));
+        }
+    }
+
+    private static long[][] randomBusy(Random random, int count) {
+        long[][] lists = new long[count][];
+        for (int i = 0; i < count; i++) {
+            BusyIntervals intervals = new BusyIntervals();
+            int events = random.nextInt(12);
+            for (int j = 0; j < events; j++) {
+                long start = random.nextInt(3 * 24 * 12) * 5 * MINUTE;
+                intervals.add(start, start + (5 + random.nextInt(24) * 5) * MINUTE);
+            }
+            lists[i] = intervals.merge();
+        }
+        return lists;
+    }
+
+    private static List<String> scan(long[][] required, long[][] optional, long[] windows,
+                                     long duration, long step, int limit) {
+        List<String> slots = new ArrayList<>();
+        for (int w = 0; w < windows.length; w += 2) {
+            int bestScore = -1;
+            long first = Math.floorDiv(windows[w] + step - 1, step) * step;
+            for (long start = first; start + duration <= windows[w + 1] && slots.size() < limit; start += step) {
+                // 與前一個對齊時間之間只要有必要忙碌區間，就是另一段空檔
+                if (!isFree(required, Math.max(first, start - step), start + duration)) {
+                    bestScore = -1;
+                }
+                if (!isFree(required, start, start + duration)) {
+                    continue;
+                }
+                List<Integer> available = new ArrayList<>();
+                for (int i = 0; i < optional.length; i++) {
+                    if (isFree(new long[][] {optional[i]}, start, start + duration)) {
+                        available.add(i);
+                    }
+                }
+                if (available.size() > bestScore) {
+                    slots.add(start + "-" + (start + duration) + available);
+                    bestScore = available.size();
+                }
+            }
+        }
+        return slots;
+    }
+
+    private static boolean isFree(long[][] lists, long start, long end) {
+        for (long[] intervals : lists) {
+            for (int i = 0; i < intervals.length; i += 2) {
+                if (intervals[i] < end && intervals[i + 1] > start) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static List<String> describe(List<FreeSlotFinder.Slot> slots) {
+        List<String> described = new ArrayList<>();
+        for (FreeSlotFinder.Slot slot : slots) {
+            described.add(slot.getStart() + "-" + slot.getEnd()
+                          + Arrays.toString(slot.getAvailableOptional()));
+        }
+        return described;
+    }
+}
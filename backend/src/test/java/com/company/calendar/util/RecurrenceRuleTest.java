@@ -0,0 +1,193 @@
+package com.company.calendar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 事件重複規則測試類
+ *
+ * @author YourName
+ * @version 1.0
+ * @since 2025-03-24
+ */
+class RecurrenceRuleTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    /**
+     * 測試解析後輸出標準格式，不支援的部分與無效組合會被拒絕
+     */
+    @Test
+    void parsesSupportedSubsetAndRejectsTheRest() {
+        assertThat(RecurrenceRule.parse("rrule:freq=weekly;byday=we,mo;interval=2;count=10"))
+                .hasToString("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=10");
+        assertThat(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20250331").getUntil())
+                .isEqualTo(LocalDateTime.of(2025, 3, 31, 23, 59, 59));
+
+        for (String invalid : List.of("FREQ=YEARLY", "INTERVAL=2", "FREQ=DAILY;COUNT=0",
+                                      "FREQ=DAILY;COUNT=2;UNTIL=20250101", "FREQ=MONTHLY;BYDAY=MO",
+                                      "FREQ=WEEKLY;BYDAY=1MO", "FREQ=DAILY;BYSETPOS=1", "FREQ=DAILY;INTERVAL=1001")) {
+            assertThatThrownBy(() -> RecurrenceRule.parse(invalid)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        String dates = RecurrenceRule.formatDates(List.of(MONDAY.plusDays(1), MONDAY, MONDAY.plusDays(1)));
+        assertThat(dates).isEqualTo("20250303T090000,20250304T090000");
+        assertThat(RecurrenceRule.parseDates(dates)).containsExactly(MONDAY, MONDAY.plusDays(1));
+        assertThat(RecurrenceRule.formatDates(List.of())).isNull();
+    }
+
+    /**
+     * 測試每兩週的星期一與星期四，COUNT 決定最後一次發生，開始時間須符合 BYDAY
+     */
+    @Test
+    void weeklyByDayWithInterval() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=5");
+        assertThat(starts(rule, MONDAY, List.of(), MONDAY, null)).containsExactly(
+                MONDAY, MONDAY.plusDays(3), MONDAY.plusDays(14), MONDAY.plusDays(17), MONDAY.plusDays(28));
+        assertThat(rule.lastStartBound(MONDAY)).isEqualTo(MONDAY.plusDays(28));
+        assertThat(rule.isOccurrence(MONDAY, MONDAY.plusDays(17))).isTrue();
+        assertThat(rule.isOccurrence(MONDAY, MONDAY.plusDays(7))).isFalse();
+        assertThat(rule.isOccurrence(MONDAY, MONDAY.plusDays(31))).isFalse();
+        assertThatThrownBy(() -> rule.validateStart(MONDAY.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 測試每月31日略過沒有31日的月份，且略過的月份不計入 COUNT
+     */
+    @Test
+    void monthlySkipsMonthsWithoutTheDay() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 31, 14, 30);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=5");
+        assertThat(starts(rule, start, List.of(), start, null)).extracting(LocalDateTime::getMonthValue)
+                                                               .containsExactly(1, 3, 5, 7, 8);
+        assertThat(starts(rule, start, List.of(), LocalDateTime.of(2025, 6, 1, 0, 0), null))
+                .containsExactly(LocalDateTime.of(2025, 7, 31, 14, 30), LocalDateTime.of(2025, 8, 31, 14, 30));
+    }
+
+    /**
+     * 測試 UNTIL 包含當天，例外日期略過該次發生，COUNT 先於例外日期計算
+     */
+    @Test
+    void untilCountAndExceptions() {
+        RecurrenceRule until = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20250306");
+        assertThat(starts(until, MONDAY, List.of(MONDAY.plusDays(1)), MONDAY, null))
+                .containsExactly(MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(3));
+
+        RecurrenceRule count = RecurrenceRule.parse("FREQ=DAILY;COUNT=3");
+        assertThat(starts(count, MONDAY, List.of(MONDAY.plusDays(1)), MONDAY, null))
+                .containsExactly(MONDAY, MONDAY.plusDays(2));
+    }
+
+    /**
+     * 測試從區間開始處跳入的結果與從第一次逐一展開後篩選的結果相同，包含跨越區間開始的發生
+     */
+    @Test
+    void windowSeekMatchesNaiveExpansion() {
+        String[] rules = {
+            "FREQ=DAILY", "FREQ=DAILY;INTERVAL=3", "FREQ=DAILY;INTERVAL=2;BYDAY=MO,TU,SA",
+            "FREQ=WEEKLY", "FREQ=WEEKLY;INTERVAL=3;BYDAY=MO,WE,SU", "FREQ=WEEKLY;BYDAY=MO,FR;COUNT=40",
+            "FREQ=MONTHLY", "FREQ=MONTHLY;INTERVAL=5", "FREQ=DAILY;COUNT=100;INTERVAL=4"
+        };
+        Random random = new Random(7);
+        for (String text : rules) {
+            RecurrenceRule rule = RecurrenceRule.parse(text);
+            for (int i = 0; i < 50; i++) {
+                // 各 BYDAY 規則都包含星期一
+                LocalDateTime start = text.contains("BYDAY") ? MONDAY.plusWeeks(random.nextInt(10))
+                                                             : MONDAY.plusDays(random.nextInt(70));
+                long durationHours = 1 + random.nextInt(60);
+                LocalDateTime from = start.plusHours(random.nextInt(24 * 800) - 24 * 10);
+                LocalDateTime to = from.plusHours(random.nextInt(24 * 40));
+
+                List<LocalDateTime> expected = new ArrayList<>();
+                for (LocalDateTime occurrence : starts(rule, start, start.plusHours(durationHours), List.of(),
+                                                       start, to)) {
+                    if (occurrence.plusHours(durationHours).isAfter(from) || occurrence.equals(from)) {
+                        expected.add(occurrence);
+                    }
+                }
+                assertThat(starts(rule, start, start.plusHours(durationHours), List.of(), from, to))
+                        .as("%s from %s to %s", text, from, to)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    /**
+     * 測試十年的每日重複事件：完整展開次數正確，查詢第九年的一週只走訪七次
+     */
+    @Test
+    void tenYearDailySeriesExpandsLazily() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20341231");
+
+        // 2025-01-01 至 2034-12-31，含 2028 與 2032 兩個閏年
+        assertThat(starts(rule, start, List.of(), start, null)).hasSize(3652);
+        LocalDateTime from = LocalDateTime.of(2033, 6, 6, 0, 0);
+        assertThat(starts(rule, start, List.of(), from, from.plusWeeks(1)))
+                .hasSize(7)
+                .allMatch(occurrence -> occurrence.getYear() == 2033);
+    }
+
+    /**
+     * 測試走訪發生時不建立物件，只有建立迭代器時的固定配置
+     */
+    @Test
+    void iterationDoesNotAllocatePerOccurrence() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        LocalDateTime end = start.plusMinutes(15);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20341231");
+        List<LocalDateTime> exceptions = List.of(start.plusDays(100), start.plusDays(200));
+        long sum = walk(rule, start, end, exceptions);
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        sum += walk(rule, start, end, exceptions);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(sum).isNotZero();
+        assertThat(allocated).isLessThan(4_096);
+    }
+
+    private static long walk(RecurrenceRule rule, LocalDateTime start, LocalDateTime end,
+                             List<LocalDateTime> exceptions) {
+        RecurrenceRule.Occurrences occurrences = rule.occurrences(start, end, exceptions, start, null);
+        long sum = 0;
+        while (occurrences.next()) {
+            sum += occurrences.getStartMicros();
+        }
+        return sum;
+    }
+
+    private static List<LocalDateTime> starts(RecurrenceRule rule, LocalDateTime start,
+                                              List<LocalDateTime> exceptions, LocalDateTime from, LocalDateTime to) {
+        return starts(rule, start, start.plusHours(1), exceptions, from, to);
+    }
+
+    private static List<LocalDateTime> starts(RecurrenceRule rule, LocalDateTime start, LocalDateTime end,
+                                              List<LocalDateTime> exceptions, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        RecurrenceRule.Occurrences occurrences = rule.occurrences(start, end, exceptions, from, to);
+        while (occurrences.next()) {
+            assertThat(occurrences.getEnd()).isEqualTo(occurrences.getStart().plus(Duration.between(start, end)));
+            starts.add(occurrences.getStart());
+        }
+        return starts;
+    }
+}
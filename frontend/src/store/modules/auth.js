@@ -27,10 +27,11 @@ import {
     async login({ commit }, credentials) {
       try {
         const response = await api.post('/api/auth/login', credentials)
-        const { token, employee } = response.data
+        const { token, refreshToken, employee } = response.data
         
         // 存儲token和用戶信息
         localStorage.setItem('token', token)
+        localStorage.setItem('refreshToken', refreshToken)
         commit(SET_AUTH_TOKEN, token)
         commit(SET_CURRENT_USER, employee)
         commit(SET_AUTH_ERROR, null)
@@ -45,12 +46,13 @@ import {
     // 登出
     async logout({ commit }) {
       try {
-        await api.post('/api/auth/logout')
+        await api.post('/api/auth/logout', { refreshToken: localStorage.getItem('refreshToken') })
       } catch (error) {
         console.error('登出API請求失敗:', error)
       } finally {
         // 無論API成功與否，都清除本地身份驗證狀態
         localStorage.removeItem('token')
+        localStorage.removeItem('refreshToken')
         commit(CLEAR_AUTH)
       }
     },
@@ -68,6 +70,7 @@ import {
       } catch (error) {
         console.error('檢查身份驗證失敗:', error)
         localStorage.removeItem('token')
+        localStorage.removeItem('refreshToken')
         commit(CLEAR_AUTH)
         throw error
       }
@@ -90,7 +90,9 @@ import {
     // 更新事件
     async updateEvent({ commit }, { id, eventData }) {
       try {
-        const response = await api.put(`/api/calendar/events/${id}`, eventData)
+        // 帶上讀取時的版本，資料已被其他人修改時後端返回 412
+        const headers = eventData.version != null ? { 'If-Match': `"${eventData.version}"` } : {}
+        const response = await api.put(`/api/calendar/events/${id}`, eventData, { headers })
         commit(UPDATE_EVENT, response.data)
         return response.data
       } catch (error) {
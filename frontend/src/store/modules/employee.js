@@ -87,7 +87,9 @@ import {
     // 更新員工
     async updateEmployee({ commit }, { id, employeeData }) {
       try {
-        const response = await api.put(`/api/employees/${id}`, employeeData)
+        // 帶上讀取時的版本，資料已被其他人修改時後端返回 412
+        const headers = employeeData.version != null ? { 'If-Match': `"${employeeData.version}"` } : {}
+        const response = await api.put(`/api/employees/${id}`, employeeData, { headers })
         commit(UPDATE_EMPLOYEE, response.data)
         return response.data
       } catch (error) {
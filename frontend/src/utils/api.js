@@ -22,16 +22,53 @@ api.interceptors.request.use(
   }
 )
 
+// 進行中的刷新請求，多個同時 401 的請求共用同一次刷新
+let refreshPromise = null
+
+// 以刷新令牌換取新的存取令牌；刷新令牌每次使用後都會輪換
+const refreshAccessToken = () => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken')
+    refreshPromise = (refreshToken
+      ? axios.post(`${api.defaults.baseURL}/api/auth/refresh`, { refreshToken })
+      : Promise.reject(new Error('沒有刷新令牌')))
+      .then(response => {
+        localStorage.setItem('token', response.data.token)
+        localStorage.setItem('refreshToken', response.data.refreshToken)
+        return response.data.token
+      })
+      .finally(() => {
+        refreshPromise = null
+      })
+  }
+  return refreshPromise
+}
+
 // 響應攔截器 - 處理常見錯誤
 api.interceptors.response.use(
   response => {
     return response
   },
-  error => {
-    // 處理 401 未授權錯誤
+  async error => {
+    const original = error.config
+    
+    // 處理 401 未授權錯誤：存取令牌過期時先嘗試刷新一次，再重送原請求
     if (error.response && error.response.status === 401) {
+      const isAuthRequest = original && /\/api\/auth\/(login|refresh)/.test(original.url)
+      if (original && !original._retried && !isAuthRequest) {
+        original._retried = true
+        try {
+          const token = await refreshAccessToken()
+          original.headers['Authorization'] = `Bearer ${token}`
+          return api(original)
+        } catch (refreshError) {
+          // 刷新失敗，繼續走登出流程
+        }
+      }
+      
       // 清除本地存儲的 token
       localStorage.removeItem('token')
+      localStorage.removeItem('refreshToken')
       
       // 如果不是登入頁面，重定向到登入頁
       if (window.location.pathname !== '/login') {
@@ -16,6 +16,7 @@ export const isAuthenticated = () => {
   // 清除身份驗證令牌
   export const clearToken = () => {
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
   }
   
   // 解析JWT令牌獲取信息（無需後端驗證）